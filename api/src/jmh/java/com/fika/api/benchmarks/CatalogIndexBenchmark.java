@@ -0,0 +1,112 @@
+package com.fika.api.benchmarks;
+
+import com.fika.api.ApiApplication;
+import com.fika.api.core.dto.PagedResponse;
+import com.fika.api.features.products.ProductCatalogCache.CatalogFilter;
+import com.fika.api.features.products.ProductCatalogIndex;
+import com.fika.api.features.products.ProductMapper;
+import com.fika.api.features.products.ProductRepository;
+import com.fika.api.features.products.dto.ProductResponse;
+import com.fika.api.features.products.model.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare la liste filtrée du catalogue servie par la requête JPQL
+ * ({@code path=jpql}) et par {@link ProductCatalogIndex} ({@code path=index}),
+ * hors cache de pages, sur H2 en mémoire.
+ * <p>
+ * Lancement :
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="CatalogIndexBenchmark"}
+ * (ajouter {@code -p rows=10000} pour une exécution plus courte).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogIndexBenchmark {
+
+    @Param({ "100000" })
+    private int rows;
+
+    @Param({ "jpql", "index" })
+    private String path;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductMapper productMapper;
+    private ProductCatalogIndex catalogIndex;
+
+    private final CatalogFilter availableDishes = new CatalogFilter(null, Category.PLAT, new BigDecimal("5"),
+            new BigDecimal("15"), true);
+    private final CatalogFilter nameSearch = new CatalogFilter("produit 4242", null, null, null, null);
+    private final Pageable byPrice = PageRequest.of(2, 12, Sort.by("price"));
+    private final Pageable unsorted = PageRequest.of(0, 12);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN", "application.products.index.enabled=true")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        productMapper = context.getBean(ProductMapper.class);
+        catalogIndex = context.getBean(ProductCatalogIndex.class);
+
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO products (id, name, price, description, img_url, category, quantity, available, created_at)
+                SELECT RANDOM_UUID(), 'Produit ' || X, 1 + MOD(X, 20), 'D', 'U',
+                       CASE MOD(X, 3) WHEN 0 THEN 'ENTREE' WHEN 1 THEN 'PLAT' ELSE 'DESSERT' END,
+                       MOD(X, 50), MOD(X, 7) <> 0, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)
+                """, rows);
+        catalogIndex.reload();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PagedResponse<ProductResponse> filteredPageSortedByPrice() {
+        return find(availableDishes, byPrice);
+    }
+
+    @Benchmark
+    public PagedResponse<ProductResponse> nameSearch() {
+        return find(nameSearch, unsorted);
+    }
+
+    private PagedResponse<ProductResponse> find(CatalogFilter filter, Pageable pageable) {
+        if (path.equals("index")) {
+            return catalogIndex.find(filter, pageable, true).orElseThrow();
+        }
+        String name = filter.name() != null ? "%" + filter.name() + "%" : null;
+        return PagedResponse.of(productRepository.findWithFilters(name, filter.category(), filter.minPrice(),
+                filter.maxPrice(), filter.onlyAvailable(), pageable).map(productMapper::toResponse));
+    }
+}
@@ -0,0 +1,81 @@
+package com.fika.api.benchmarks;
+
+import com.fika.api.ApiApplication;
+import com.fika.api.features.inventory.InventoryService;
+import com.fika.api.features.products.ProductRepository;
+import com.fika.api.features.products.model.Category;
+import com.fika.api.features.products.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réservations de stock par seconde sur un seul produit, par 8 threads
+ * simultanés (H2 en mémoire) : débit du décrément atomique de
+ * {@link InventoryService#reserve} sous contention. Le stock initial ne
+ * s'épuise pas pendant la mesure.
+ * <p>
+ * Lancement :
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="InventoryBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class InventoryBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+    private Map<UUID, Integer> quantities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        inventoryService = context.getBean(InventoryService.class);
+
+        UUID productId = context.getBean(ProductRepository.class).save(Product.builder()
+                .name("Kanelbulle du jour")
+                .price(new BigDecimal("3.50"))
+                .description("D")
+                .imgUrl("U")
+                .category(Category.DESSERT)
+                .quantity(Integer.MAX_VALUE)
+                .available(true)
+                .build()).getId();
+        quantities = Map.of(productId, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<UUID, Product> reserveHotProduct() {
+        return inventoryService.reserve(quantities);
+    }
+}
@@ -0,0 +1,96 @@
+package com.fika.api.benchmarks;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare deux fichiers de résultats JMH au format JSON ({@code -rf json}).
+ * <p>
+ * Pour chaque benchmark présent dans les deux fichiers, affiche le score de
+ * référence, le score courant et l'écart en pourcentage. Un écart est marqué
+ * lorsqu'il dépasse la somme des marges d'erreur des deux mesures ; dans le
+ * sens défavorable (moins d'opérations par seconde, ou plus de temps par
+ * opération), il est signalé comme régression.
+ * </p>
+ * <p>
+ * Lancement :
+ * {@code ./mvnw -Pjmh test-compile exec:exec@compare -Djmh.baseline=<référence.json>}
+ * </p>
+ */
+public final class JmhResultComparison {
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private JmhResultComparison() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage : JmhResultComparison <référence.json> <courant.json>");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.err.println("Référence introuvable : " + baselineFile
+                    + " (voir « Référence et comparaison » dans src/jmh/README.md)");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(baselineFile);
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Référence", "Courant", "Écart");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue().get("primaryMetric");
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", after.get("score").asDouble(),
+                        "nouveau");
+                continue;
+            }
+            before = before.get("primaryMetric");
+            double reference = before.get("score").asDouble();
+            double score = after.get("score").asDouble();
+            double change = (score - reference) / reference * 100;
+            boolean significant = Math.abs(score - reference) > error(before) + error(after);
+            boolean higherIsBetter = after.get("scoreUnit").asString().endsWith("/s");
+            String mark = "";
+            if (significant) {
+                boolean worse = higherIsBetter ? score < reference : score > reference;
+                mark = worse ? "  RÉGRESSION" : "  amélioration";
+                regressions += worse ? 1 : 0;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), reference, score, change, mark);
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static double error(JsonNode metric) {
+        double error = metric.get("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    /**
+     * Indexe les résultats par nom de benchmark et paramètres.
+     */
+    private static Map<String, JsonNode> read(File file) {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : JSON.readTree(file)) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asString()
+                    .replace("com.fika.api.benchmarks.", ""));
+            JsonNode params = result.get("params");
+            if (params != null) {
+                Map<String, String> sorted = new TreeMap<>();
+                params.properties().forEach(param -> sorted.put(param.getKey(), param.getValue().asString()));
+                sorted.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
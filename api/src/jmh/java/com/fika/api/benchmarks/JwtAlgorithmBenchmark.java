@@ -0,0 +1,80 @@
+package com.fika.api.benchmarks;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fika.api.core.jwt.JwtKeySet;
+import com.fika.api.core.jwt.JwtService;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de signature et de vérification d'un jeton d'accès selon l'algorithme
+ * de la clé active ({@code HS256} ou {@code ES256}).
+ * <p>
+ * Lancement :
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="JwtAlgorithmBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAlgorithmBenchmark {
+
+    @Param({ "HS256", "ES256" })
+    private String algorithm;
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtKeySet keySet;
+        if (algorithm.equals("ES256")) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair pair = generator.generateKeyPair();
+            keySet = JwtKeySet.of("es-1", List.of(JwtKeySet.ecdsa("es-1", (ECPublicKey) pair.getPublic(),
+                    (ECPrivateKey) pair.getPrivate())), null);
+        } else {
+            keySet = JwtKeySet.hmac("benchmark_secret_key_which_is_long_enough_123456");
+        }
+        jwtService = new JwtService(keySet, 3_600_000L);
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole(Role.CLIENT);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public DecodedJWT verify() {
+        return jwtService.validateAndDecodeToken(token);
+    }
+}
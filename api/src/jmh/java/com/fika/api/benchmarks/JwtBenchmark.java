@@ -0,0 +1,88 @@
+package com.fika.api.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fika.api.core.jwt.JwtKeySet;
+import com.fika.api.core.jwt.JwtService;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jetons signés et vérifiés par seconde, sous charge multi-thread.
+ * <p>
+ * Les variantes {@code perCall} reproduisent l'ancien {@link JwtService}, qui
+ * reconstruisait l'algorithme HMAC et le vérificateur à chaque appel ; les
+ * variantes {@code cached} passent par le service actuel.
+ * </p>
+ * <p>
+ * Lancement :
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="JwtBenchmark"}
+ * (ajouter {@code -t 1} pour une mesure mono-thread).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark_secret_key_which_is_long_enough_123456";
+    private static final long EXPIRATION = 3_600_000L;
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(JwtKeySet.hmac(SECRET), EXPIRATION);
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole(Role.CLIENT);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String signCached() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String signPerCall() {
+        return JWT.create()
+                .withSubject(user.getId().toString())
+                .withClaim("role", user.getRole().name())
+                .withIssuedAt(new Date())
+                .withExpiresAt(new Date(System.currentTimeMillis() + EXPIRATION))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+
+    @Benchmark
+    public DecodedJWT verifyCached() {
+        return jwtService.validateAndDecodeToken(token);
+    }
+
+    @Benchmark
+    public DecodedJWT verifyPerCall() {
+        return JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token);
+    }
+}
@@ -0,0 +1,147 @@
+package com.fika.api.benchmarks;
+
+import com.fika.api.core.dto.PagedResponse;
+import com.fika.api.features.orders.dto.OrderResponse;
+import com.fika.api.features.orders.mapper.OrderItemMapper;
+import com.fika.api.features.orders.mapper.OrderMapper;
+import com.fika.api.features.orders.model.Order;
+import com.fika.api.features.orders.model.OrderItem;
+import com.fika.api.features.orders.model.OrderStatus;
+import com.fika.api.features.products.ProductMapper;
+import com.fika.api.features.products.dto.ProductRequest;
+import com.fika.api.features.products.dto.ProductResponse;
+import com.fika.api.features.products.model.Category;
+import com.fika.api.features.products.model.Product;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions entité vers DTO et sérialisation JSON des réponses, hors base.
+ * <p>
+ * Les commandes portent trois articles ; la page sérialisée par
+ * {@code serializeOrderPage} contient douze commandes, la taille par défaut
+ * des listes de commandes.
+ * </p>
+ * <p>
+ * Lancement :
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="MapperBenchmark -prof gc"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 12;
+
+    private OrderMapper orderMapper;
+    private ProductMapper productMapper;
+    private JsonMapper jsonMapper;
+    private Order order;
+    private Product product;
+    private ProductRequest productRequest;
+    private PagedResponse<OrderResponse> orderPage;
+
+    @Setup
+    public void setUp() {
+        orderMapper = new OrderMapper(new OrderItemMapper());
+        productMapper = new ProductMapper();
+        jsonMapper = JsonMapper.builder().build();
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .firstName("Jean")
+                .lastName("Dupont")
+                .email("jean.dupont@example.com")
+                .role(Role.CLIENT)
+                .build();
+        product = product("Espresso", Category.ENTREE, "2.50");
+        productRequest = new ProductRequest("Espresso", new BigDecimal("2.50"), "Café serré",
+                "https://example.com/espresso.jpg", Category.ENTREE, 10, true);
+        order = order(user, List.of(product, product("Tarte", Category.DESSERT, "4.00"),
+                product("Croque", Category.PLAT, "7.50")));
+
+        List<OrderResponse> content = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            content.add(orderMapper.toResponse(order));
+        }
+        orderPage = new PagedResponse<>(content, 0, PAGE_SIZE, 240L, 20, false);
+    }
+
+    @Benchmark
+    public OrderResponse orderToResponse() {
+        return orderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public ProductResponse productToResponse() {
+        return productMapper.toResponse(product);
+    }
+
+    @Benchmark
+    public Product productToEntity() {
+        return productMapper.toEntity(productRequest);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderPage() {
+        return jsonMapper.writeValueAsBytes(orderPage);
+    }
+
+    private static Order order(User user, List<Product> products) {
+        Order order = Order.builder()
+                .id(UUID.randomUUID())
+                .orderReference("XJ8K")
+                .user(user)
+                .items(new ArrayList<>())
+                .total(new BigDecimal("14.00"))
+                .status(OrderStatus.PENDING)
+                .createdAt(Instant.now())
+                .build();
+        long id = 1;
+        for (Product item : products) {
+            order.addItem(OrderItem.builder()
+                    .id(id++)
+                    .product(item)
+                    .quantity(1)
+                    .priceAtReservation(item.getPrice())
+                    .build());
+        }
+        return order;
+    }
+
+    private static Product product(String name, Category category, String price) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .price(new BigDecimal(price))
+                .description("Description de " + name)
+                .imgUrl("https://example.com/" + name.toLowerCase(Locale.ROOT) + ".jpg")
+                .category(category)
+                .quantity(10)
+                .available(true)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.fika.api.benchmarks;
+
+import com.fika.api.features.orders.OrderReferenceAllocator;
+import com.fika.api.features.orders.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Références de commande distribuées par seconde par
+ * {@link OrderReferenceAllocator}, sous charge multi-thread.
+ * <p>
+ * Le dépôt est simulé sans base : la séquence des blocs est un compteur et
+ * une référence sur {@code inUsePercent} cent est déclarée encore portée par
+ * une commande. Le coût mesuré est donc celui de la réserve locale, du verrou
+ * et de la permutation, pas celui de la requête de vérification d'un bloc
+ * (une par {@code block-size} références).
+ * </p>
+ * <p>
+ * Lancement :
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="OrderReferenceBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class OrderReferenceBenchmark {
+
+    @Param({ "0", "50" })
+    private int inUsePercent;
+
+    private OrderReferenceAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        allocator = new OrderReferenceAllocator(repository(inUsePercent), null, new SimpleMeterRegistry(), 256,
+                Duration.ofHours(24), 388042);
+    }
+
+    @Benchmark
+    public String next() {
+        return allocator.next();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static OrderRepository repository(int inUsePercent) {
+        AtomicLong blocks = new AtomicLong();
+        return (OrderRepository) Proxy.newProxyInstance(OrderRepository.class.getClassLoader(),
+                new Class<?>[] { OrderRepository.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "nextReferenceBlock" -> blocks.getAndIncrement();
+                    case "findReferencesInUse" -> {
+                        Set<String> inUse = new HashSet<>();
+                        for (String code : (Collection<String>) args[0]) {
+                            if (Math.floorMod(code.hashCode(), 100) < inUsePercent) {
+                                inUse.add(code);
+                            }
+                        }
+                        yield inUse;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
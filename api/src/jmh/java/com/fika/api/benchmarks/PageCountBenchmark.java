@@ -0,0 +1,88 @@
+package com.fika.api.benchmarks;
+
+import com.fika.api.ApiApplication;
+import com.fika.api.core.dto.PagedResponse;
+import com.fika.api.features.products.ProductService;
+import com.fika.api.features.products.dto.ProductResponse;
+import com.fika.api.features.products.model.Category;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare le catalogue paginé avec et sans requête de comptage
+ * ({@code count=true} / {@code count=false}) sur une table de produits
+ * volumineuse (1M lignes par défaut, H2 en mémoire). Le cache des pages et
+ * l'index en mémoire du catalogue sont désactivés pour mesurer les requêtes
+ * elles-mêmes.
+ * <p>
+ * Lancement :
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="PageCountBenchmark"}
+ * (ajouter {@code -p rows=100000} pour une exécution plus courte).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageCountBenchmark {
+
+    @Param({ "1000000" })
+    private int rows;
+
+    @Param({ "true", "false" })
+    private boolean count;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private final Pageable pageable = PageRequest.of(0, 12, Sort.by("name"));
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                // En arguments : les propriétés par défaut ci-dessus cèdent
+                // devant application.yml.
+                .run("--application.products.cache.max-pages=0", "--application.products.index.enabled=false");
+        productService = context.getBean(ProductService.class);
+
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO products (id, name, price, description, img_url, category, quantity, available, created_at)
+                SELECT RANDOM_UUID(), 'Produit ' || X, 1 + MOD(X, 20), 'D', 'U',
+                       CASE MOD(X, 3) WHEN 0 THEN 'ENTREE' WHEN 1 THEN 'PLAT' ELSE 'DESSERT' END,
+                       MOD(X, 50), MOD(X, 7) <> 0, CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)
+                """, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PagedResponse<ProductResponse> filteredCatalogPage() {
+        return productService.getAllProducts(null, Category.PLAT, null, null, true, pageable, count);
+    }
+}
@@ -0,0 +1,149 @@
+package com.fika.api.benchmarks;
+
+import com.fika.api.core.config.RateLimitFilter;
+import com.fika.api.core.config.RateLimitPolicyProperties;
+import com.fika.api.core.config.RateLimitPolicyProperties.KeyType;
+import com.fika.api.core.config.RateLimitPolicyProperties.Policy;
+import com.fika.api.core.config.RateLimitPolicyRegistry;
+import com.fika.api.core.config.RateLimitStore;
+import com.fika.api.core.jwt.VerifiedTokenCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requêtes acceptées et refusées par seconde par {@link RateLimitFilter}.
+ * <p>
+ * {@code accept} et {@code reject} passent par le filtre actuel ; les
+ * variantes {@code legacy} reproduisent l'ancien : clé {@code "api:" + ip},
+ * seaux en cache par clé textuelle, corps 429 formaté avec
+ * {@code String.format} à chaque refus, sans l'enveloppe de
+ * {@code OncePerRequestFilter}, ce qui les avantage légèrement. La réponse
+ * simulée est vidée à chaque appel.
+ * </p>
+ * <p>
+ * Lancement :
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="RateLimitBenchmark -prof gc"}
+ * ({@code -prof gc} affiche les octets alloués par opération).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitBenchmark {
+
+    private static final long UNLIMITED = 1_000_000_000_000L;
+    private static final FilterChain CHAIN = (request, response) -> {
+    };
+
+    private RateLimitFilter filter;
+    private MockHttpServletRequest acceptRequest;
+    private MockHttpServletRequest rejectRequest;
+    private MockHttpServletResponse response;
+    private Cache<String, Bucket> legacyBuckets;
+
+    @Setup
+    public void setUp() throws Exception {
+        RateLimitPolicyRegistry registry = new RateLimitPolicyRegistry(new RateLimitPolicyProperties(null, List.of(
+                new Policy("open", "/api/v1/open/**", null, null, KeyType.IP, UNLIMITED,
+                        UNLIMITED, Duration.ofHours(1)),
+                new Policy("closed", "/api/v1/closed/**", null, null, KeyType.IP, 1, 1, Duration.ofHours(1)))),
+                new DefaultResourceLoader());
+        RateLimitStore store = new RateLimitStore(null, new SimpleMeterRegistry(), false, "unused",
+                Duration.ofSeconds(1), 0, Duration.ofSeconds(1), true);
+        filter = new RateLimitFilter(registry, store, new VerifiedTokenCache(null, new SimpleMeterRegistry(), 1));
+
+        acceptRequest = request("/api/v1/open/products");
+        rejectRequest = request("/api/v1/closed/products");
+        response = new MockHttpServletResponse();
+        filter.doFilter(rejectRequest, response, CHAIN);
+
+        legacyBuckets = Caffeine.newBuilder().expireAfterWrite(1, TimeUnit.HOURS).build();
+        legacyBuckets.put("closed:" + rejectRequest.getRemoteAddr(), legacyBucket(1));
+        legacyBuckets.put("open:" + acceptRequest.getRemoteAddr(), legacyBucket(UNLIMITED));
+    }
+
+    @Benchmark
+    public int accept() throws Exception {
+        response.reset();
+        filter.doFilter(acceptRequest, response, CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int reject() throws Exception {
+        response.reset();
+        filter.doFilter(rejectRequest, response, CHAIN);
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int acceptLegacy() throws Exception {
+        response.reset();
+        Bucket bucket = legacyBuckets.get("open:" + acceptRequest.getRemoteAddr(), key -> legacyBucket(1));
+        if (!bucket.tryConsume(1)) {
+            legacyReject();
+        }
+        return response.getStatus();
+    }
+
+    @Benchmark
+    public int rejectLegacy() throws Exception {
+        response.reset();
+        Bucket bucket = legacyBuckets.get("closed:" + rejectRequest.getRemoteAddr(), key -> legacyBucket(1));
+        if (!bucket.tryConsume(1)) {
+            legacyReject();
+        }
+        return response.getStatus();
+    }
+
+    private void legacyReject() throws Exception {
+        String timestamp = LocalDateTime.now().toString();
+        response.setStatus(429);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(String.format(
+                "{\"timestamp\": \"%s\", \"status\": 429, \"error\": \"Too Many Requests\", \"message\": \"Trop de requêtes. Veuillez ralentir.\"}",
+                timestamp));
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+
+    private static Bucket legacyBucket(long capacity) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(capacity)
+                        .refillIntervally(capacity, Duration.ofHours(1))
+                        .initialTokens(capacity)
+                        .build())
+                .build();
+    }
+}
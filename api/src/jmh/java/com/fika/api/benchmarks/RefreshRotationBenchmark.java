@@ -0,0 +1,119 @@
+package com.fika.api.benchmarks;
+
+import com.fika.api.ApiApplication;
+import com.fika.api.core.jwt.JwtService;
+import com.fika.api.features.auth.AuthService;
+import com.fika.api.features.auth.RefreshTokenRepository;
+import com.fika.api.features.auth.RefreshTokenService;
+import com.fika.api.features.auth.dto.LoginRequest;
+import com.fika.api.features.auth.dto.TokenRefreshRequest;
+import com.fika.api.features.auth.model.RefreshToken;
+import com.fika.api.features.users.UserRepository;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rotations de jeton de rafraîchissement par seconde, sur H2 en mémoire.
+ * <p>
+ * {@code refreshInPlace} passe par {@link AuthService#refreshToken} (lecture
+ * jointe puis {@code UPDATE} conditionnel) ; {@code refreshDeleteInsert}
+ * reproduit l'ancienne rotation : lecture du jeton, chargement de
+ * l'utilisateur, puis {@code delete}, {@code flush} et {@code save}. Les deux
+ * variantes signent le nouveau jeton d'accès.
+ * </p>
+ * <p>
+ * Lancement :
+ * {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.args="RefreshRotationBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshRotationBenchmark {
+
+    private static final LoginRequest LOGIN = new LoginRequest("benchmark@example.com", "password123");
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+    private RefreshTokenRepository refreshTokenRepository;
+    private UserRepository userRepository;
+    private JwtService jwtService;
+    private TransactionTemplate transactionTemplate;
+    private String refreshToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        authService = context.getBean(AuthService.class);
+        refreshTokenRepository = context.getBean(RefreshTokenRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jwtService = context.getBean(JwtService.class);
+
+        userRepository.save(User.builder()
+                .firstName("Jean")
+                .lastName("Dupont")
+                .email(LOGIN.email())
+                .password(context.getBean(PasswordEncoder.class).encode(LOGIN.password()))
+                .role(Role.CLIENT)
+                .build());
+        refreshToken = authService.login(LOGIN).refreshToken();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String refreshInPlace() {
+        refreshToken = authService.refreshToken(new TokenRefreshRequest(refreshToken)).refreshToken();
+        return refreshToken;
+    }
+
+    @Benchmark
+    public String refreshDeleteInsert() {
+        refreshToken = transactionTemplate.execute(status -> {
+            RefreshToken current = refreshTokenRepository
+                    .findByTokenHash(RefreshTokenService.digest(refreshToken)).orElseThrow();
+            User user = userRepository.findById(current.getUser().getId()).orElseThrow();
+            jwtService.generateToken(user);
+            refreshTokenRepository.delete(current);
+            refreshTokenRepository.flush();
+            String token = UUID.randomUUID().toString();
+            refreshTokenRepository.save(RefreshToken.builder()
+                    .user(user)
+                    .tokenHash(RefreshTokenService.digest(token))
+                    .expiryDate(Instant.now().plusSeconds(3600))
+                    .build());
+            return token;
+        });
+        return refreshToken;
+    }
+}
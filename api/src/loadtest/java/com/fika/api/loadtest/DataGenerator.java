@@ -0,0 +1,267 @@
+package com.fika.api.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remplit la base par insertions JDBC groupées, sans passer par JPA.
+ * <p>
+ * Le schéma doit exister : démarrer l'API une fois sur la base cible
+ * (Hibernate crée les tables) avant de lancer la génération. Les données
+ * sont déterministes pour une graine donnée, à l'exception des identifiants.
+ * </p>
+ * <p>
+ * Tous les utilisateurs générés ({@code loadtest-<n>@example.com}) partagent
+ * le mot de passe {@link #PASSWORD}, haché une seule fois. Les
+ * {@link #HOT_PRODUCTS} premiers produits ont un stock très élevé : les
+ * scénarios de commande s'y concentrent pour reproduire la contention des
+ * plats du jour. Les commandes générées sont presque toutes clôturées et
+ * anciennes, comme l'historique d'un service en production ; quelques-unes
+ * restent en attente pour l'écran cuisine.
+ * </p>
+ * <p>
+ * PostgreSQL : ajouter {@code reWriteBatchedInserts=true} à l'URL JDBC, sans
+ * quoi chaque ligne d'un lot reste une instruction distincte.
+ * </p>
+ */
+final class DataGenerator {
+
+    static final String PASSWORD = "loadtest123";
+    static final int HOT_PRODUCTS = 5;
+
+    private static final String EMAIL_PATTERN = "loadtest-%d@example.com";
+    private static final String ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final String[] CATEGORIES = { "ENTREE", "PLAT", "DESSERT" };
+    private static final int BATCH_SIZE = 5_000;
+    private static final int PENDING_ORDERS = 200;
+    private static final Duration HISTORY = Duration.ofDays(365);
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final int threads;
+    private final long seed;
+
+    DataGenerator(String jdbcUrl, String username, String password, int threads, long seed) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    static String email(int index) {
+        return EMAIL_PATTERN.formatted(index);
+    }
+
+    void generate(int users, int products, long orders) throws Exception {
+        long start = System.nanoTime();
+        List<UUID> userIds = insertUsers(users);
+        log("%d utilisateurs", users, start);
+        List<Product> catalog = insertProducts(products);
+        log("%d produits", products, start);
+        insertOrders(orders, userIds, catalog);
+        log("%d commandes", orders, start);
+    }
+
+    private List<UUID> insertUsers(int count) throws SQLException {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<UUID> ids = new ArrayList<>(count);
+        try (Connection connection = connect();
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO users (id, first_name, last_name, email, password, role, created_at) "
+                                + "VALUES (?, ?, ?, ?, ?, 'CLIENT', ?)")) {
+            for (int i = 0; i < count; i++) {
+                UUID id = UUID.randomUUID();
+                ids.add(id);
+                insert.setObject(1, id);
+                insert.setString(2, "Client");
+                insert.setString(3, "N" + i);
+                insert.setString(4, email(i));
+                insert.setString(5, hash);
+                insert.setTimestamp(6, now);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    flush(connection, insert);
+                }
+            }
+            flush(connection, insert);
+        }
+        return ids;
+    }
+
+    private List<Product> insertProducts(int count) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Product> catalog = new ArrayList<>(count);
+        try (Connection connection = connect();
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO products (id, name, price, description, img_url, category, quantity, available, "
+                                + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, ?)")) {
+            for (int i = 0; i < count; i++) {
+                Product product = new Product(UUID.randomUUID(),
+                        BigDecimal.valueOf(150 + random.nextInt(2_500), 2));
+                catalog.add(product);
+                String category = CATEGORIES[i % CATEGORIES.length];
+                insert.setObject(1, product.id());
+                insert.setString(2, "Produit " + i);
+                insert.setBigDecimal(3, product.price());
+                insert.setString(4, "Produit de test de charge n°" + i + " ("
+                        + category.toLowerCase(Locale.ROOT) + ").");
+                insert.setString(5, "https://example.com/products/" + i + ".jpg");
+                insert.setString(6, category);
+                insert.setInt(7, i < HOT_PRODUCTS ? 100_000_000 : 10_000);
+                insert.setTimestamp(8, now);
+                insert.addBatch();
+            }
+            flush(connection, insert);
+        }
+        return catalog;
+    }
+
+    /**
+     * Commandes réparties entre {@code threads} connexions, chacune sur sa
+     * propre plage et avec son propre générateur aléatoire.
+     */
+    private void insertOrders(long count, List<UUID> userIds, List<Product> catalog) throws Exception {
+        AtomicLong inserted = new AtomicLong();
+        long step = Math.max(1, count / 20);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> parts = new ArrayList<>();
+            long perThread = (count + threads - 1) / threads;
+            for (int t = 0; t < threads; t++) {
+                long from = t * perThread;
+                long to = Math.min(count, from + perThread);
+                SplittableRandom random = new SplittableRandom(seed + 31L * (t + 1));
+                parts.add(executor.submit(() -> {
+                    insertOrders(from, to, userIds, catalog, random, inserted, step);
+                    return null;
+                }));
+            }
+            for (Future<?> part : parts) {
+                part.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void insertOrders(long from, long to, List<UUID> userIds, List<Product> catalog,
+            SplittableRandom random, AtomicLong inserted, long step) throws SQLException {
+        Instant now = Instant.now();
+        try (Connection connection = connect();
+                PreparedStatement order = connection.prepareStatement(
+                        "INSERT INTO orders (id, order_reference, user_id, total, status, created_at, updated_at) "
+                                + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+                PreparedStatement item = connection.prepareStatement(
+                        "INSERT INTO order_items (order_id, product_id, quantity, price_at_reservation) "
+                                + "VALUES (?, ?, ?, ?)")) {
+            for (long n = from; n < to; n++) {
+                UUID orderId = UUID.randomUUID();
+                BigDecimal total = BigDecimal.ZERO;
+                int lines = 1 + random.nextInt(3);
+                for (int l = 0; l < lines; l++) {
+                    Product product = pick(catalog, random);
+                    int quantity = 1 + random.nextInt(2);
+                    total = total.add(product.price().multiply(BigDecimal.valueOf(quantity)));
+                    item.setObject(1, orderId);
+                    item.setObject(2, product.id());
+                    item.setInt(3, quantity);
+                    item.setBigDecimal(4, product.price());
+                    item.addBatch();
+                }
+
+                boolean pending = n < PENDING_ORDERS;
+                Instant createdAt = pending
+                        ? now.minusSeconds(random.nextInt(3_600))
+                        : now.minus(Duration.ofDays(1)).minusSeconds(random.nextLong(HISTORY.toSeconds()));
+                order.setObject(1, orderId);
+                order.setString(2, reference(random));
+                order.setObject(3, userIds.get(random.nextInt(userIds.size())));
+                order.setBigDecimal(4, total);
+                order.setString(5, pending ? "PENDING" : random.nextInt(50) == 0 ? "CANCELLED" : "COMPLETED");
+                order.setTimestamp(6, Timestamp.from(createdAt));
+                order.setTimestamp(7, Timestamp.from(createdAt.plusSeconds(900)));
+                order.addBatch();
+
+                if ((n - from + 1) % BATCH_SIZE == 0) {
+                    // Les commandes d'abord : les articles les référencent.
+                    order.executeBatch();
+                    flush(connection, item);
+                }
+                if (inserted.incrementAndGet() % step == 0) {
+                    System.out.printf("  %,d commandes%n", inserted.get());
+                }
+            }
+            order.executeBatch();
+            flush(connection, item);
+        }
+    }
+
+    /**
+     * Sept lignes de commande sur dix portent sur un produit « chaud ».
+     */
+    private static Product pick(List<Product> catalog, SplittableRandom random) {
+        if (random.nextInt(10) < 7) {
+            return catalog.get(random.nextInt(Math.min(HOT_PRODUCTS, catalog.size())));
+        }
+        return catalog.get(random.nextInt(catalog.size()));
+    }
+
+    private static String reference(SplittableRandom random) {
+        char[] code = new char[4];
+        for (int i = 0; i < code.length; i++) {
+            code[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(code);
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(jdbcUrl, username, password);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static void flush(Connection connection, Statement statement) throws SQLException {
+        statement.executeBatch();
+        connection.commit();
+    }
+
+    /**
+     * Vérifie que le schéma a été créé par l'API.
+     */
+    void checkSchema() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT COUNT(*) FROM order_items WHERE 1 = 0").close();
+            connection.rollback();
+        }
+    }
+
+    private static void log(String what, long count, long start) {
+        System.out.printf("%s insérés (%ds écoulées)%n", what.formatted(count),
+                Duration.ofNanos(System.nanoTime() - start).toSeconds());
+    }
+
+    private record Product(UUID id, BigDecimal price) {
+    }
+}
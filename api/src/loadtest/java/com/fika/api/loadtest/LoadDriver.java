@@ -0,0 +1,354 @@
+package com.fika.api.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clients virtuels simulant un coup de feu du midi contre une API démarrée.
+ * <p>
+ * Chaque client boucle jusqu'à l'échéance : il tire un scénario selon les
+ * poids ci-dessous, l'exécute, puis marque une pause aléatoire de moyenne
+ * {@code think}. Les clients démarrent progressivement pendant
+ * {@code rampUp}.
+ * </p>
+ * <ul>
+ * <li>45 % consultation du catalogue : une page filtrée, puis une fiche ;</li>
+ * <li>25 % commande, sept articles sur dix sur les produits « chauds » ;</li>
+ * <li>10 % connexion, 3 % inscription ;</li>
+ * <li>5 % consultation de ses commandes ;</li>
+ * <li>10 % écran cuisine (commandes en attente), 2 % passage d'une commande
+ * créée pendant le test au statut {@code READY}.</li>
+ * </ul>
+ * <p>
+ * Chaque client se connecte avec son propre compte généré
+ * ({@link DataGenerator#email(int)}) à sa première commande ; les scénarios
+ * cuisine utilisent le compte administrateur. Un jeton expiré (401) déclenche
+ * une nouvelle connexion.
+ * </p>
+ */
+final class LoadDriver {
+
+    private static final String[] CATEGORIES = { "ENTREE", "PLAT", "DESSERT" };
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final int clients;
+    private final int accounts;
+    private final Duration duration;
+    private final Duration rampUp;
+    private final Duration think;
+    private final String adminEmail;
+    private final String adminPassword;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            // Comme un navigateur sur Tomcat sans TLS : pas de tentative h2c.
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    private final ConcurrentLinkedQueue<String> pendingOrders = new ConcurrentLinkedQueue<>();
+    private final List<String> products = new ArrayList<>();
+    private final List<String> hotProducts = new ArrayList<>();
+    private volatile String adminToken;
+
+    LoadDriver(URI baseUri, int clients, int accounts, Duration duration, Duration rampUp, Duration think,
+            String adminEmail, String adminPassword) {
+        this.baseUri = baseUri;
+        this.clients = clients;
+        this.accounts = accounts;
+        this.duration = duration;
+        this.rampUp = rampUp;
+        this.think = think;
+        this.adminEmail = adminEmail;
+        this.adminPassword = adminPassword;
+    }
+
+    void run() throws Exception {
+        loadCatalog();
+        adminToken = login(adminEmail, adminPassword);
+        System.out.printf("%d produits (%d chauds), %d clients pendant %ds%n", products.size(), hotProducts.size(),
+                clients, duration.toSeconds());
+
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                long delay = rampUp.toNanos() * i / clients;
+                int client = i;
+                executor.submit(() -> {
+                    sleep(delay);
+                    new Client(client).loop(deadline);
+                    return null;
+                });
+            }
+        }
+        report(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private final class Client {
+
+        private final int account;
+        private String token;
+
+        private Client(int index) {
+            this.account = index % accounts;
+        }
+
+        private void loop(long deadline) throws InterruptedException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                try {
+                    int scenario = random.nextInt(100);
+                    if (scenario < 45) {
+                        browse(random);
+                    } else if (scenario < 70) {
+                        order(random);
+                    } else if (scenario < 80) {
+                        token = login(DataGenerator.email(account), DataGenerator.PASSWORD);
+                    } else if (scenario < 83) {
+                        register();
+                    } else if (scenario < 88) {
+                        authenticated("GET /api/v1/orders/my-order", "GET",
+                                "/api/v1/orders/my-order?size=5&count=false", null);
+                    } else if (scenario < 98) {
+                        kitchen("GET /api/v1/orders/filter", "GET",
+                                "/api/v1/orders/filter?status=PENDING&size=20&count=false");
+                    } else {
+                        String id = pendingOrders.poll();
+                        if (id != null) {
+                            kitchen("PATCH /api/v1/orders/{id}/status", "PATCH",
+                                    "/api/v1/orders/" + id + "/status?status=READY");
+                        }
+                    }
+                } catch (IOException e) {
+                    // Déjà compté comme échec de transport.
+                }
+                sleep(think.isZero() ? 0 : random.nextLong(2 * think.toNanos()));
+            }
+        }
+
+        private void browse(ThreadLocalRandom random) throws IOException, InterruptedException {
+            String path = "/api/v1/products?size=12&count=false&page=" + random.nextInt(5);
+            if (random.nextBoolean()) {
+                path += "&category=" + CATEGORIES[random.nextInt(CATEGORIES.length)];
+            }
+            call("GET /api/v1/products", request(path).GET(), null);
+            String id = products.get(random.nextInt(products.size()));
+            call("GET /api/v1/products/{id}", request("/api/v1/products/" + id).GET(), null);
+        }
+
+        private void order(ThreadLocalRandom random) throws IOException, InterruptedException {
+            StringBuilder items = new StringBuilder();
+            int lines = 1 + random.nextInt(3);
+            for (int i = 0; i < lines; i++) {
+                List<String> source = random.nextInt(10) < 7 && !hotProducts.isEmpty() ? hotProducts : products;
+                items.append(i == 0 ? "" : ",")
+                        .append("{\"productId\":\"").append(source.get(random.nextInt(source.size())))
+                        .append("\",\"quantity\":").append(1 + random.nextInt(2)).append('}');
+            }
+            HttpResponse<String> response = authenticated("POST /api/v1/orders", "POST", "/api/v1/orders",
+                    "{\"items\":[" + items + "]}");
+            if (response != null && response.statusCode() == 201) {
+                pendingOrders.offer(json.readTree(response.body()).get("id").asString());
+            }
+        }
+
+        private void register() throws IOException, InterruptedException {
+            String body = "{\"firstName\":\"Nouveau\",\"lastName\":\"Client\",\"email\":\"loadtest-new-"
+                    + UUID.randomUUID() + "@example.com\",\"password\":\"" + DataGenerator.PASSWORD + "\"}";
+            call("POST /api/v1/auth/register", request("/api/v1/auth/register")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)), null);
+        }
+
+        private HttpResponse<String> authenticated(String label, String method, String path, String body)
+                throws IOException, InterruptedException {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                if (token == null) {
+                    token = login(DataGenerator.email(account), DataGenerator.PASSWORD);
+                    if (token == null) {
+                        return null;
+                    }
+                }
+                HttpResponse<String> response = call(label, request(path, method, body), token);
+                if (response == null || response.statusCode() != 401) {
+                    return response;
+                }
+                token = null;
+            }
+            return null;
+        }
+    }
+
+    private void kitchen(String label, String method, String path) throws IOException, InterruptedException {
+        String current = adminToken;
+        HttpResponse<String> response = call(label, request(path, method, null), current);
+        if (response != null && response.statusCode() == 401) {
+            synchronized (this) {
+                if (adminToken.equals(current)) {
+                    String renewed = login(adminEmail, adminPassword);
+                    if (renewed != null) {
+                        adminToken = renewed;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Le jeton d'accès, ou {@code null} si la connexion a échoué.
+     */
+    private String login(String email, String password) throws IOException, InterruptedException {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\",\"device\":\"loadtest\"}";
+        HttpResponse<String> response = call("POST /api/v1/auth/login", request("/api/v1/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), null);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        return json.readTree(response.body()).get("token").asString();
+    }
+
+    /**
+     * Lit tout le catalogue par pages ; les produits « chauds » sont les
+     * premiers générés.
+     */
+    private void loadCatalog() throws IOException, InterruptedException {
+        for (int page = 0; ; page++) {
+            HttpResponse<String> response = http.send(request("/api/v1/products?size=100&count=false&page=" + page)
+                    .GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Catalogue illisible (" + response.statusCode() + ") : "
+                        + response.body());
+            }
+            JsonNode body = json.readTree(response.body());
+            for (JsonNode product : body.get("content")) {
+                String id = product.get("id").asString();
+                products.add(id);
+                String name = product.get("name").asString();
+                for (int i = 0; i < DataGenerator.HOT_PRODUCTS; i++) {
+                    if (name.equals("Produit " + i)) {
+                        hotProducts.add(id);
+                    }
+                }
+            }
+            if (body.get("last").asBoolean()) {
+                break;
+            }
+        }
+        if (products.isEmpty()) {
+            throw new IllegalStateException("Catalogue vide : lancer d'abord la génération des données");
+        }
+    }
+
+    private HttpResponse<String> call(String label, HttpRequest.Builder builder, String token)
+            throws IOException, InterruptedException {
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(label, ignored -> new Endpoint());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            endpoint.record(response.statusCode(), System.nanoTime() - start);
+            return response;
+        } catch (IOException e) {
+            endpoint.failures.increment();
+            throw e;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest.Builder request(String path, String method, String body) {
+        HttpRequest.Builder builder = request(path);
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private void report(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        System.out.printf("%nDurée mesurée : %.1fs (montée en charge comprise)%n%n", seconds);
+        System.out.printf("%-36s %9s %9s %7s %7s %7s %7s %9s %9s %9s %9s%n", "Endpoint", "Requêtes", "req/s",
+                "2xx %", "429", "503", "Erreurs", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        LatencyHistogram all = new LatencyHistogram();
+        long total = 0;
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            LatencyHistogram latencies = endpoint.latencies;
+            long count = latencies.count();
+            total += count;
+            System.out.printf("%-36s %9d %9.1f %7.1f %7d %7d %7d %9.1f %9.1f %9.1f %9.1f%n", entry.getKey(), count,
+                    count / seconds, count == 0 ? 0 : 100.0 * endpoint.ok.sum() / count, endpoint.limited.sum(),
+                    endpoint.shed.sum(), endpoint.errors.sum() + endpoint.failures.sum(),
+                    millis(latencies.percentile(50)), millis(latencies.percentile(99)),
+                    millis(latencies.percentile(99.9)), millis(latencies.max()));
+            latencies.addTo(all);
+        }
+        System.out.printf("%-36s %9d %9.1f %7s %7s %7s %7s %9.1f %9.1f %9.1f %9.1f%n", "Total", total,
+                total / seconds, "", "", "", "", millis(all.percentile(50)), millis(all.percentile(99)),
+                millis(all.percentile(99.9)), millis(all.max()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static void sleep(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    /**
+     * Mesures d'un endpoint : latences de toutes les réponses reçues, et
+     * décompte par issue. Les échecs de transport n'ont pas de latence.
+     */
+    private static final class Endpoint {
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder limited = new LongAdder();
+        private final LongAdder shed = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        private void record(int status, long nanos) {
+            latencies.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+            if (status >= 200 && status < 300) {
+                ok.increment();
+            } else if (status == 429) {
+                limited.increment();
+            } else if (status == 503) {
+                shed.increment();
+            } else {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.fika.api.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Point d'entrée du test de charge.
+ * <ul>
+ * <li>{@code seed} : génère les données de test directement en base
+ * ({@link DataGenerator}) ;</li>
+ * <li>{@code run} : simule des clients contre une API démarrée
+ * ({@link LoadDriver}).</li>
+ * </ul>
+ * <p>
+ * Lancement : {@code ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="run --clients 1000"}
+ * </p>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("seed") || args[0].equals("run"))) {
+            usage();
+        }
+        Map<String, String> options = options(args);
+        if (args[0].equals("seed")) {
+            DataGenerator generator = new DataGenerator(
+                    option(options, "jdbc-url", "jdbc:postgresql://localhost:5432/fikadb?reWriteBatchedInserts=true"),
+                    option(options, "jdbc-user", System.getenv("DB_USERNAME")),
+                    option(options, "jdbc-password", System.getenv("DB_PASSWORD")),
+                    Integer.parseInt(option(options, "threads",
+                            String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                    Long.parseLong(option(options, "seed", "42")));
+            generator.checkSchema();
+            generator.generate(
+                    Integer.parseInt(option(options, "users", "100000")),
+                    Integer.parseInt(option(options, "products", "500")),
+                    Long.parseLong(option(options, "orders", "10000000")));
+        } else {
+            new LoadDriver(
+                    URI.create(option(options, "base-url", "http://localhost:8080")),
+                    Integer.parseInt(option(options, "clients", "1000")),
+                    Integer.parseInt(option(options, "users", "100000")),
+                    duration(option(options, "duration", "5m")),
+                    duration(option(options, "ramp-up", "30s")),
+                    duration(option(options, "think", "1s")),
+                    option(options, "admin-email", "marin@example.com"),
+                    option(options, "admin-password", "password123")).run();
+        }
+    }
+
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                usage();
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Durée au format {@code 500ms}, {@code 30s}, {@code 5m} ou {@code 1h}.
+     */
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Durée invalide : " + value);
+        };
+    }
+
+    private static void usage() {
+        System.err.println("""
+                Usage :
+                  seed [--jdbc-url <url>] [--jdbc-user <u>] [--jdbc-password <p>] [--users 100000]
+                       [--products 500] [--orders 10000000] [--threads <n>] [--seed 42]
+                  run  [--base-url http://localhost:8080] [--clients 1000] [--duration 5m] [--ramp-up 30s]
+                       [--think 1s] [--users 100000] [--admin-email <e>] [--admin-password <p>]""");
+        System.exit(2);
+    }
+}
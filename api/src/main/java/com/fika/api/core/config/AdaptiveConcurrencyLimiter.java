@@ -0,0 +1,169 @@
+package com.fika.api.core.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite globale du nombre de requêtes en cours, ajustée selon la latence
+ * observée (algorithme à gradient).
+ * <p>
+ * Deux moyennes mobiles de la latence sont tenues : une courte, qui suit la
+ * charge actuelle, et une longue, qui sert de référence. Tant que la latence
+ * courte reste sous {@code tolerance} fois la référence, la limite croît d'un
+ * peu plus que sa racine carrée ; au-delà, elle décroît en proportion de
+ * l'écart, jusqu'à la moitié de sa valeur. La référence se rapproche de la
+ * latence courte quand celle-ci chute franchement, pour ne pas rester bloquée
+ * sur une période de saturation.
+ * </p>
+ * <p>
+ * Chaque priorité n'accède qu'à une part de la limite : les requêtes
+ * {@link Priority#BACKGROUND} sont refusées les premières, les
+ * {@link Priority#CRITICAL} en dernier.
+ * </p>
+ * <p>
+ * Métriques : {@code load-shedding.limit}, {@code load-shedding.in-flight} et
+ * {@code load-shedding.rejected} (par priorité).
+ * </p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_ALPHA = 0.1;
+    private static final double LONG_ALPHA = 0.002;
+
+    public enum Priority {
+        /** Création de commande, changement de statut en cuisine. */
+        CRITICAL(1.0),
+        /** Autres requêtes authentifiées. */
+        NORMAL(0.9),
+        /** Requêtes anonymes, essentiellement la consultation du catalogue. */
+        BACKGROUND(0.6);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * @param tolerance Rapport toléré entre la latence courte et la référence
+     *                  avant de réduire la limite (par exemple {@code 1.5}).
+     * @param smoothing Part de la nouvelle estimation appliquée à chaque
+     *                  mesure, entre {@code 0} et {@code 1}.
+     */
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry, int initialLimit, int minLimit, int maxLimit,
+            double tolerance, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limites incohérentes : " + minLimit + " <= " + initialLimit
+                    + " <= " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+
+        meterRegistry.gauge("load-shedding.limit", this, AdaptiveConcurrencyLimiter::limit);
+        meterRegistry.gauge("load-shedding.in-flight", inFlight, AtomicInteger::get);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("load-shedding.rejected")
+                    .description("Requêtes refusées car la limite de concurrence était atteinte")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Réserve une place si la part de la limite accordée à la priorité n'est
+     * pas atteinte. Toute réservation réussie doit être suivie d'un appel à
+     * {@link #release(long)} ou {@link #release()}.
+     *
+     * @return {@code true} si la requête peut passer.
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.share));
+        for (int current = inFlight.get(); current < allowed; current = inFlight.get()) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        rejected.get(priority).increment();
+        return false;
+    }
+
+    /**
+     * Libère une place et ajuste la limite selon la durée de la requête.
+     */
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        // Mesure ignorée si une autre est en cours : l'ajustement reste
+        // approximatif mais n'ajoute aucune attente sur le chemin de requête.
+        if (latencyNanos > 0 && lock.tryLock()) {
+            try {
+                update(latencyNanos, current);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Libère une place sans mesure, pour une requête dont la durée ne reflète
+     * pas la charge (flux SSE, par exemple).
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double rtt, int inFlightAtRelease) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        shortRtt += (rtt - shortRtt) * SHORT_ALPHA;
+        longRtt += (rtt - longRtt) * LONG_ALPHA;
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        // Peu de requêtes en cours : la latence ne dit rien de la limite, qui
+        // ne doit pas croître sans avoir été approchée.
+        if (gradient == 1.0 && inFlightAtRelease < estimatedLimit / 2) {
+            return;
+        }
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - smoothing) + target * smoothing));
+        limit = (int) estimatedLimit;
+    }
+}
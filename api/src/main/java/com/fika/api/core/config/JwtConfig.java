@@ -0,0 +1,32 @@
+package com.fika.api.core.config;
+
+import com.fika.api.core.jwt.JwtKeySet;
+import com.fika.api.core.jwt.JwtSigningProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuration des clés de signature JWT.
+ * <p>
+ * Sans {@code application.security.jwt.signing.keys}, les jetons sont signés en
+ * HS256 avec {@code application.security.jwt.secret-key}, comme auparavant.
+ * Lorsque ce secret reste défini à côté de nouvelles clés, il est conservé en
+ * vérification seule pour que les jetons déjà émis restent valides.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(JwtSigningProperties.class)
+public class JwtConfig {
+
+    @Bean
+    public JwtKeySet jwtKeySet(JwtSigningProperties properties,
+            @Value("${application.security.jwt.secret-key:}") String legacySecret) {
+        List<JwtSigningProperties.Key> keys = properties.keys() != null ? properties.keys() : List.of();
+        return JwtKeySet.of(properties.activeKid(), keys.stream().map(JwtKeySet::fromProperties).toList(),
+                legacySecret);
+    }
+}
@@ -0,0 +1,33 @@
+package com.fika.api.core.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration du délestage global.
+ * <p>
+ * Séparée de {@link SecurityConfig}, qui reçoit {@link LoadSheddingFilter} :
+ * déclarée là, la limite ferait dépendre la configuration de sécurité
+ * d'elle-même.
+ * </p>
+ */
+@Configuration
+public class LoadSheddingConfig {
+
+    /**
+     * Limite de concurrence globale appliquée par {@link LoadSheddingFilter},
+     * ajustée selon la latence des requêtes.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+            @Value("${application.load-shedding.initial-limit}") int initialLimit,
+            @Value("${application.load-shedding.min-limit}") int minLimit,
+            @Value("${application.load-shedding.max-limit}") int maxLimit,
+            @Value("${application.load-shedding.tolerance}") double tolerance,
+            @Value("${application.load-shedding.smoothing}") double smoothing) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, initialLimit, minLimit, maxLimit, tolerance,
+                smoothing);
+    }
+}
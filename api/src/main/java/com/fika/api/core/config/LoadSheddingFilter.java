@@ -0,0 +1,103 @@
+package com.fika.api.core.config;
+
+import com.fika.api.core.config.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Délestage global : au-delà de la limite de concurrence de
+ * {@link AdaptiveConcurrencyLimiter}, les requêtes sont refusées en 503 avec
+ * un {@code Retry-After}, avant d'atteindre le pool de connexions.
+ * <p>
+ * Placé après {@link RateLimitFilter} : l'appelant est déjà authentifié, ce
+ * qui fixe sa priorité. La création de commande et les changements de statut
+ * en cuisine passent en priorité, puis les autres requêtes authentifiées, puis
+ * les requêtes anonymes (consultation du catalogue). Les endpoints
+ * d'administration ({@code /actuator}) ne sont jamais délestés.
+ * </p>
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final String ORDERS = "/api/v1/orders";
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final boolean enabled;
+    private final int retryAfterSeconds;
+    private final PreRenderedErrorBody body = PreRenderedErrorBody.serviceUnavailable(Clock.systemDefaultZone());
+
+    public LoadSheddingFilter(AdaptiveConcurrencyLimiter limiter,
+            @Value("${application.load-shedding.enabled}") boolean enabled,
+            @Value("${application.load-shedding.retry-after}") Duration retryAfter) {
+        this.limiter = limiter;
+        this.enabled = enabled;
+        this.retryAfterSeconds = (int) Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws IOException, ServletException {
+
+        if (!limiter.tryAcquire(priority(request))) {
+            sendErrorResponse(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean measured = false;
+        try {
+            filterChain.doFilter(request, response);
+            measured = !request.isAsyncStarted() && response.getStatus() < 500;
+        } finally {
+            if (measured) {
+                limiter.release(System.nanoTime() - start);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+
+    private static Priority priority(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        if ("POST".equals(method) && path.equals(ORDERS)) {
+            return Priority.CRITICAL;
+        }
+        if ("PATCH".equals(method) && path.startsWith(ORDERS + "/")
+                && (path.endsWith("/status") || path.endsWith("/cancel"))) {
+            return Priority.CRITICAL;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? Priority.NORMAL : Priority.BACKGROUND;
+    }
+
+    private void sendErrorResponse(HttpServletResponse response) throws IOException {
+        byte[] payload = body.bytes();
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setIntHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(payload.length);
+        response.getOutputStream().write(payload);
+    }
+}
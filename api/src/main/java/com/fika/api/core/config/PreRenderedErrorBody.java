@@ -0,0 +1,60 @@
+package com.fika.api.core.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Corps JSON d'une réponse d'erreur écrite par un filtre, au format de
+ * {@link com.fika.api.core.exceptions.ErrorResponse}.
+ * <p>
+ * Le corps n'est rendu qu'une fois par seconde, horodatage à la seconde
+ * compris : les refus d'une même seconde réutilisent les mêmes octets.
+ * L'horodatage est écrit avec le format ISO de Jackson pour
+ * {@link LocalDateTime}, secondes toujours présentes, comme les erreurs de
+ * {@link com.fika.api.core.exceptions.GlobalExceptionHandler}.
+ * </p>
+ */
+final class PreRenderedErrorBody {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final Clock clock;
+    private final String template;
+    private volatile Rendered rendered = new Rendered(Long.MIN_VALUE, null);
+
+    /**
+     * @param error   Libellé de l'erreur, sans caractère à échapper en JSON.
+     * @param message Message de l'erreur, sans caractère à échapper en JSON.
+     */
+    PreRenderedErrorBody(Clock clock, int status, String error, String message) {
+        this.clock = clock;
+        this.template = "{\"timestamp\": \"%s\", \"status\": " + status + ", \"error\": \"" + error
+                + "\", \"message\": \"" + message + "\"}";
+    }
+
+    static PreRenderedErrorBody tooManyRequests(Clock clock) {
+        return new PreRenderedErrorBody(clock, 429, "Too Many Requests", "Trop de requêtes. Veuillez ralentir.");
+    }
+
+    static PreRenderedErrorBody serviceUnavailable(Clock clock) {
+        return new PreRenderedErrorBody(clock, 503, "Service indisponible",
+                "Serveur surchargé. Veuillez réessayer dans un instant.");
+    }
+
+    byte[] bytes() {
+        long second = Math.floorDiv(clock.millis(), 1000);
+        Rendered current = rendered;
+        if (current.second() != second) {
+            LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), clock.getZone());
+            current = new Rendered(second, template.formatted(TIMESTAMP.format(timestamp)).getBytes(StandardCharsets.UTF_8));
+            rendered = current;
+        }
+        return current.bytes();
+    }
+
+    private record Rendered(long second, byte[] bytes) {
+    }
+}
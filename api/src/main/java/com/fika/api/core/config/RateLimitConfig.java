@@ -0,0 +1,23 @@
+package com.fika.api.core.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Configuration des politiques de limitation de débit.
+ * <p>
+ * Sans politique déclarée, aucune route n'est limitée.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitPolicyProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitPolicyRegistry rateLimitPolicyRegistry(RateLimitPolicyProperties properties,
+            ResourceLoader resourceLoader) {
+        return new RateLimitPolicyRegistry(properties, resourceLoader);
+    }
+}
@@ -1,31 +1,73 @@
 package com.fika.api.core.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-
+import com.fika.api.core.config.RateLimitPolicyProperties.KeyType;
+import com.fika.api.core.jwt.VerifiedTokenCache;
+import com.fika.api.features.users.model.Role;
+import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Applique les politiques de {@link RateLimitPolicyRegistry} à chaque requête.
+ * <p>
+ * Placé après {@link com.fika.api.core.jwt.JwtFilter} : l'utilisateur et son
+ * rôle sont connus, ce qui permet les politiques par utilisateur ou par rôle.
+ * Un appelant anonyme est limité par adresse IP.
+ * </p>
+ * <p>
+ * Un jeton d'accès pas encore vérifié coûte une vérification de signature :
+ * {@link #beforeAuthentication()}, placé avant le filtre JWT, traite son
+ * porteur comme un anonyme et consomme le seau par IP de la politique
+ * anonyme avant toute vérification. Une rafale de jetons forgés ou expirés
+ * est ainsi refusée sans être vérifiée. Un jeton déjà dans
+ * {@link VerifiedTokenCache} n'y est pas décompté : un utilisateur légitime
+ * ne paie ce passage qu'une fois par jeton.
+ * </p>
+ * <p>
+ * Sous un afflux, le refus doit rester le chemin le moins coûteux : le seau
+ * est retrouvé sans construire de clé, et la réponse 429 est écrite depuis
+ * des octets pré-encodés ({@link PreRenderedErrorBody}), avec un
+ * {@code Retry-After} tiré du prochain remplissage du seau.
+ * </p>
+ */
 @Component
+@RequiredArgsConstructor
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final Cache<String, Bucket> cache;
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+    private static final String BEARER = "Bearer ";
+    private static final String ANONYMOUS_CHARGED = RateLimitFilter.class.getName() + ".ANONYMOUS_CHARGED";
+    private static final Map<String, Role> ROLES = Arrays.stream(Role.values())
+            .collect(Collectors.toUnmodifiableMap(role -> "ROLE_" + role.name(), role -> role));
+
+    private final RateLimitPolicyRegistry policies;
+    private final RateLimitStore store;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PreRenderedErrorBody body = PreRenderedErrorBody.tooManyRequests(Clock.systemDefaultZone());
+    private final Filter beforeAuthentication = new BeforeAuthentication();
 
-    public RateLimitFilter() {
-        this.cache = Caffeine.newBuilder()
-                .expireAfterWrite(1, TimeUnit.HOURS)
-                .build();
+    /**
+     * Passe à placer avant le filtre JWT, pour les jetons pas encore vérifiés.
+     */
+    public Filter beforeAuthentication() {
+        return beforeAuthentication;
     }
 
     @Override
@@ -34,25 +76,20 @@ public class RateLimitFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain)
             throws IOException, ServletException {
 
-        String ip = request.getRemoteAddr();
-        String path = request.getRequestURI();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Role role = role(authentication);
+        if (role == null && request.getAttribute(ANONYMOUS_CHARGED) != null) {
+            // Jeton refusé : le seau anonyme a déjà été décompté avant la vérification.
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RateLimitPolicies.Entry policy = policies.current()
+                .match(request.getMethod(), request.getRequestURI(), role != null ? role.name() : null);
 
-        if (path.startsWith("/api/v1/auth/login")) {
-            Bucket bucket = cache.get("login:" + ip, this::createNewAuthBucket);
-            if (!bucket.tryConsume(1)) {
-                sendErrorResponse(response);
-                return;
-            }
-        } else if (path.startsWith("/api/v1/auth/register")) {
-            Bucket bucket = cache.get("register:" + ip, this::createNewAuthBucket);
-            if (!bucket.tryConsume(1)) {
-                sendErrorResponse(response);
-                return;
-            }
-        } else if (path.startsWith("/api/v1")) {
-            Bucket bucket = cache.get("api:" + ip, this::createNewApiBucket);
-            if (!bucket.tryConsume(1)) {
-                sendErrorResponse(response);
+        if (policy != null) {
+            long nanosToWait = store.tryConsume(policy, subject(policy, request, authentication, role));
+            if (nanosToWait > 0) {
+                sendErrorResponse(response, nanosToWait);
                 return;
             }
         }
@@ -60,33 +97,68 @@ public class RateLimitFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private void sendErrorResponse(HttpServletResponse response) throws IOException {
-        String timestamp = java.time.LocalDateTime.now().toString();
-        response.setStatus(429);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-        response.getWriter().write(String.format(
-                "{\"timestamp\": \"%s\", \"status\": 429, \"error\": \"Too Many Requests\", \"message\": \"Trop de requêtes. Veuillez ralentir.\"}",
-                timestamp));
+    /**
+     * Décompte le porteur d'un jeton inconnu comme un anonyme, par adresse IP.
+     */
+    private final class BeforeAuthentication extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request,
+                @NonNull HttpServletResponse response,
+                @NonNull FilterChain filterChain)
+                throws IOException, ServletException {
+
+            String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (header != null && header.startsWith(BEARER)
+                    && !verifiedTokenCache.isVerified(header.substring(BEARER.length()))) {
+                RateLimitPolicies.Entry policy = policies.current()
+                        .match(request.getMethod(), request.getRequestURI(), null);
+                if (policy != null) {
+                    request.setAttribute(ANONYMOUS_CHARGED, Boolean.TRUE);
+                    long nanosToWait = store.tryConsume(policy, request.getRemoteAddr());
+                    if (nanosToWait > 0) {
+                        sendErrorResponse(response, nanosToWait);
+                        return;
+                    }
+                }
+            }
+
+            filterChain.doFilter(request, response);
+        }
     }
 
-    private Bucket createNewAuthBucket(String key) {
-        return Bucket.builder()
-                .addLimit(Bandwidth.builder()
-                        .capacity(10)
-                        .refillIntervally(10, Duration.ofMinutes(1))
-                        .initialTokens(10)
-                        .build())
-                .build();
+    private static Object subject(RateLimitPolicies.Entry policy, HttpServletRequest request,
+            Authentication authentication, Role role) {
+        if (role != null) {
+            if (policy.key() == KeyType.USER && authentication.getPrincipal() instanceof UUID userId) {
+                return userId;
+            }
+            if (policy.key() == KeyType.ROLE) {
+                return role;
+            }
+        }
+        return request.getRemoteAddr();
     }
 
-    private Bucket createNewApiBucket(String key) {
-        return Bucket.builder()
-                .addLimit(Bandwidth.builder()
-                        .capacity(30)
-                        .refillIntervally(30, Duration.ofMinutes(1))
-                        .initialTokens(30)
-                        .build())
-                .build();
+    private static Role role(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            Role role = ROLES.get(authority.getAuthority());
+            if (role != null) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, long nanosToWait) throws IOException {
+        byte[] payload = body.bytes();
+        response.setStatus(429);
+        response.setIntHeader(HttpHeaders.RETRY_AFTER, (int) Math.max(1, Math.ceilDiv(nanosToWait, 1_000_000_000L)));
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(payload.length);
+        response.getOutputStream().write(payload);
     }
 }
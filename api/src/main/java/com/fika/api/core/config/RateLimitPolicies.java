@@ -0,0 +1,265 @@
+package com.fika.api.core.config;
+
+import com.fika.api.core.config.RateLimitPolicyProperties.KeyType;
+import com.fika.api.core.config.RateLimitPolicyProperties.Policy;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Politiques de limitation compilées en arbre préfixe de segments de chemin.
+ * <p>
+ * Chaque nœud indexe ses enfants littéraux dans une table de hachage
+ * sondée directement sur la portion du chemin, sans extraire le segment : la
+ * recherche parcourt le chemin une fois, sans allocation, et ne revient
+ * en arrière que lorsqu'une branche littérale n'aboutit pas et qu'un joker
+ * existe au même niveau. À un même nœud, un segment littéral l'emporte sur
+ * {@code *}, qui l'emporte sur {@code **} ; à motif égal, la première
+ * politique déclarée dont les méthodes et rôles correspondent s'applique.
+ * </p>
+ * <p>
+ * Immuable : un rechargement construit une nouvelle instance.
+ * </p>
+ */
+public final class RateLimitPolicies {
+
+    private final Node root = new Node();
+    private final List<Entry> entries;
+
+    private RateLimitPolicies(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+        for (Entry entry : entries) {
+            insert(entry);
+        }
+        root.freeze();
+    }
+
+    /**
+     * Valide et compile les politiques.
+     *
+     * @throws IllegalArgumentException si une politique est incomplète ou si
+     *                                  deux politiques portent le même nom.
+     */
+    public static RateLimitPolicies compile(List<Policy> policies) {
+        List<Entry> entries = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (Policy policy : policies != null ? policies : List.<Policy>of()) {
+            validate(policy);
+            if (!names.add(policy.name())) {
+                throw new IllegalArgumentException("Politique de limitation en double : " + policy.name());
+            }
+            entries.add(Entry.of(policy));
+        }
+        return new RateLimitPolicies(entries);
+    }
+
+    public List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Politique applicable à une requête.
+     *
+     * @param role Rôle de l'appelant, {@code null} s'il est anonyme.
+     * @return La politique, ou {@code null} si la requête n'est pas limitée.
+     */
+    public Entry match(String method, String path, String role) {
+        return match(root, path, path.startsWith("/") ? 1 : 0, method, role);
+    }
+
+    private Entry match(Node node, String path, int from, String method, String role) {
+        while (from < path.length() && path.charAt(from) == '/') {
+            from++;
+        }
+        if (from >= path.length()) {
+            Entry entry = select(node.terminal, method, role);
+            return entry != null ? entry : select(node.rest, method, role);
+        }
+        int end = path.indexOf('/', from);
+        if (end < 0) {
+            end = path.length();
+        }
+        Node literal = node.child(path, from, end);
+        if (literal != null) {
+            Entry entry = match(literal, path, end, method, role);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        if (node.wildcard != null) {
+            Entry entry = match(node.wildcard, path, end, method, role);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        return select(node.rest, method, role);
+    }
+
+    private static Entry select(List<Entry> candidates, String method, String role) {
+        for (Entry entry : candidates) {
+            if (entry.appliesTo(method, role)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void insert(Entry entry) {
+        Node node = root;
+        String[] segments = entry.policy().pattern().split("/");
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException(
+                            "** doit terminer le motif : " + entry.policy().pattern());
+                }
+                node.rest.add(entry);
+                return;
+            }
+            if (segment.equals("*")) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+        node.terminal.add(entry);
+    }
+
+    private static void validate(Policy policy) {
+        if (policy.name() == null || policy.name().isBlank()) {
+            throw new IllegalArgumentException("Politique de limitation sans nom");
+        }
+        if (policy.pattern() == null || !policy.pattern().startsWith("/")) {
+            throw new IllegalArgumentException("Motif invalide pour " + policy.name() + " : " + policy.pattern());
+        }
+        if (policy.capacity() <= 0 || policy.refillTokens() <= 0 || policy.refillPeriod() == null
+                || policy.refillPeriod().isNegative() || policy.refillPeriod().isZero()) {
+            throw new IllegalArgumentException("Capacité et remplissage doivent être positifs : " + policy.name());
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Entry> terminal = new ArrayList<>();
+        private final List<Entry> rest = new ArrayList<>();
+        private Node wildcard;
+        private String[] keys;
+        private Node[] values;
+        private int mask;
+
+        /**
+         * Recopie les enfants dans une table à adressage ouvert, de taille
+         * double du nombre d'enfants.
+         */
+        void freeze() {
+            if (!children.isEmpty()) {
+                int size = Integer.highestOneBit(children.size() * 2 - 1) << 1;
+                keys = new String[size];
+                values = new Node[size];
+                mask = size - 1;
+                for (Map.Entry<String, Node> child : children.entrySet()) {
+                    int i = spread(child.getKey().hashCode()) & mask;
+                    while (keys[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = child.getKey();
+                    values[i] = child.getValue();
+                    child.getValue().freeze();
+                }
+            }
+            if (wildcard != null) {
+                wildcard.freeze();
+            }
+        }
+
+        /**
+         * Enfant dont le segment est {@code path[from, end)} ; le hachage est
+         * celui de {@link String#hashCode()} calculé sur la portion.
+         */
+        Node child(String path, int from, int end) {
+            if (keys == null) {
+                return null;
+            }
+            int hash = 0;
+            for (int i = from; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            int length = end - from;
+            for (int i = spread(hash) & mask; keys[i] != null; i = (i + 1) & mask) {
+                String key = keys[i];
+                if (key.length() == length && path.regionMatches(from, key, 0, length)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Politique compilée.
+     *
+     * @param policy        Politique telle que configurée.
+     * @param key           Clé du seau ({@link KeyType#IP} par défaut).
+     * @param methods       Méthodes en majuscules ; vide pour toutes.
+     * @param roles         Rôles en majuscules ; vide pour tous.
+     * @param configuration Configuration Bucket4j du seau.
+     * @param bucketPrefix  Préfixe des clés de seau : nom et empreinte des
+     *                      limites, pour qu'une limite modifiée au
+     *                      rechargement démarre avec des seaux neufs.
+     */
+    public record Entry(Policy policy, KeyType key, Set<String> methods, Set<String> roles,
+            BucketConfiguration configuration, String bucketPrefix) {
+
+        static Entry of(Policy policy) {
+            BucketConfiguration configuration = BucketConfiguration.builder()
+                    .addLimit(Bandwidth.builder()
+                            .capacity(policy.capacity())
+                            .refillIntervally(policy.refillTokens(), policy.refillPeriod())
+                            .initialTokens(policy.capacity())
+                            .build())
+                    .build();
+            int fingerprint = Objects.hash(policy.capacity(), policy.refillTokens(), policy.refillPeriod());
+            return new Entry(policy,
+                    policy.key() != null ? policy.key() : KeyType.IP,
+                    upperCase(policy.methods()),
+                    upperCase(policy.roles()),
+                    configuration,
+                    policy.name() + "#" + Integer.toHexString(fingerprint) + ":");
+        }
+
+        boolean appliesTo(String method, String role) {
+            return (methods.isEmpty() || methods.contains(method))
+                    && (roles.isEmpty() || (role != null && roles.contains(role)));
+        }
+
+        private static Set<String> upperCase(List<String> values) {
+            if (values == null) {
+                return Set.of();
+            }
+            Set<String> result = new HashSet<>();
+            for (String value : values) {
+                result.add(value.toUpperCase(Locale.ROOT));
+            }
+            return Set.copyOf(result);
+        }
+    }
+}
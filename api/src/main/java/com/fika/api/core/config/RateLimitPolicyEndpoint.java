@@ -0,0 +1,39 @@
+package com.fika.api.core.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Point d'administration {@code /actuator/ratelimit} : {@code GET} liste les
+ * politiques en vigueur, {@code POST} relit {@code policies-location} sans
+ * redémarrage et oublie les seaux des politiques retirées.
+ */
+@Component
+@Endpoint(id = "ratelimit")
+@RequiredArgsConstructor
+public class RateLimitPolicyEndpoint {
+
+    private final RateLimitPolicyRegistry registry;
+    private final RateLimitStore store;
+
+    @ReadOperation
+    public List<RateLimitPolicyProperties.Policy> policies() {
+        return policies(registry.current());
+    }
+
+    @WriteOperation
+    public List<RateLimitPolicyProperties.Policy> reload() {
+        RateLimitPolicies reloaded = registry.reload();
+        store.retain(reloaded);
+        return policies(reloaded);
+    }
+
+    private static List<RateLimitPolicyProperties.Policy> policies(RateLimitPolicies policies) {
+        return policies.entries().stream().map(RateLimitPolicies.Entry::policy).toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.fika.api.core.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Politiques de limitation de débit ({@code application.rate-limit}).
+ *
+ * @param policiesLocation Fichier YAML optionnel (ex.
+ *                         {@code file:/etc/fika/rate-limits.yml}) contenant
+ *                         les politiques sous la même clé ; il est relu par
+ *                         {@code POST /actuator/ratelimit}.
+ * @param policies         Politiques utilisées quand aucun fichier n'est
+ *                         configuré.
+ */
+@ConfigurationProperties("application.rate-limit")
+public record RateLimitPolicyProperties(String policiesLocation, List<Policy> policies) {
+
+    /**
+     * Une politique : les requêtes correspondant au motif et aux méthodes
+     * consomment un jeton du seau de leur clé.
+     *
+     * @param name         Nom de la politique, préfixe des clés de seau.
+     * @param pattern      Motif de chemin : segments littéraux, {@code *} pour
+     *                     un segment, {@code **} en fin de motif pour zéro ou
+     *                     plusieurs segments.
+     * @param methods      Méthodes HTTP concernées ; toutes si vide.
+     * @param roles        Rôles concernés ; tous les appelants, anonymes
+     *                     compris, si vide.
+     * @param key          Clé du seau : adresse IP, utilisateur ou rôle.
+     *                     Un appelant anonyme est toujours limité par IP.
+     * @param capacity     Taille du seau, c'est-à-dire la rafale autorisée.
+     * @param refillTokens Jetons ajoutés à chaque période.
+     * @param refillPeriod Période de remplissage.
+     */
+    public record Policy(String name, String pattern, List<String> methods, List<String> roles, KeyType key,
+            long capacity, long refillTokens, Duration refillPeriod) {
+    }
+
+    public enum KeyType {
+        IP,
+        USER,
+        ROLE
+    }
+}
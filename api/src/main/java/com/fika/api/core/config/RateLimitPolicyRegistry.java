@@ -0,0 +1,74 @@
+package com.fika.api.core.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Politiques de limitation en vigueur.
+ * <p>
+ * Sans {@code policies-location}, les politiques viennent de la configuration
+ * de l'application et ne changent pas. Avec un fichier, celui-ci est lu au
+ * démarrage puis à chaque {@link #reload()} : la nouvelle version n'est
+ * publiée que si elle est valide, les requêtes en cours gardent l'ancienne.
+ * </p>
+ */
+@Slf4j
+public class RateLimitPolicyRegistry {
+
+    private static final String PREFIX = "application.rate-limit";
+
+    private final RateLimitPolicyProperties properties;
+    private final ResourceLoader resourceLoader;
+    private volatile RateLimitPolicies current;
+
+    public RateLimitPolicyRegistry(RateLimitPolicyProperties properties, ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.current = load();
+    }
+
+    public RateLimitPolicies current() {
+        return current;
+    }
+
+    /**
+     * Relit et recompile les politiques.
+     *
+     * @throws IllegalArgumentException si les nouvelles politiques sont
+     *                                  invalides ; les anciennes restent
+     *                                  en vigueur.
+     */
+    public RateLimitPolicies reload() {
+        RateLimitPolicies reloaded = load();
+        current = reloaded;
+        log.info("Politiques de limitation rechargées : {}", reloaded.entries().size());
+        return reloaded;
+    }
+
+    private RateLimitPolicies load() {
+        String location = properties.policiesLocation();
+        if (location == null || location.isBlank()) {
+            return RateLimitPolicies.compile(properties.policies());
+        }
+        Resource resource = resourceLoader.getResource(location);
+        try {
+            List<PropertySource<?>> sources = new YamlPropertySourceLoader().load(location, resource);
+            List<RateLimitPolicyProperties.Policy> policies = new Binder(ConfigurationPropertySources.from(sources))
+                    .bind(PREFIX, RateLimitPolicyProperties.class)
+                    .map(RateLimitPolicyProperties::policies)
+                    .orElse(List.of());
+            return RateLimitPolicies.compile(policies);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Politiques de limitation illisibles : " + location, e);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.fika.api.core.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.jdbc.BucketTableSettings;
+import io.github.bucket4j.distributed.jdbc.PrimaryKeyMapper;
+import io.github.bucket4j.distributed.jdbc.SQLProxyConfiguration;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import io.github.bucket4j.postgresql.PostgreSQLSelectForUpdateBasedProxyManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Seaux de limitation de débit, locaux ou partagés entre instances.
+ * <p>
+ * Par défaut chaque instance garde ses seaux en mémoire : derrière un
+ * répartiteur de charge, la limite réelle est alors multipliée par le nombre
+ * d'instances. Avec {@code distributed.enabled}, l'état des seaux est stocké
+ * dans la table {@code distributed.table} de la base PostgreSQL existante
+ * (verrou {@code SELECT ... FOR UPDATE} par clé) et la limite devient
+ * globale.
+ * </p>
+ * <p>
+ * Chemin rapide : une instance peut consommer jusqu'à {@code local-tokens}
+ * jetons d'un seau sans aller en base, et se synchronise au plus tard après
+ * {@code local-sync-interval}. Les clés chaudes ne coûtent donc pas un aller-
+ * retour par requête, au prix d'un dépassement borné de
+ * {@code local-tokens} par instance.
+ * </p>
+ * <p>
+ * Si la base ne répond pas dans {@code request-timeout} ou échoue, la requête
+ * est acceptée ({@code fail-open: true}) ou refusée ({@code fail-open:
+ * false}, avec un {@code Retry-After} d'une seconde). Les échecs sont
+ * comptés dans {@code rate-limit.store.failures}.
+ * </p>
+ * <p>
+ * Le stockage partagé a son propre pool de {@code pool-size} connexions, dont
+ * l'attente est bornée par {@code request-timeout} : {@code withRequestTimeout}
+ * ne couvre pas l'obtention d'une connexion, et un pool applicatif saturé
+ * bloquerait sinon chaque requête filtrée jusqu'au délai de Hikari.
+ * </p>
+ * <p>
+ * Les seaux sont rangés par politique puis par sujet (adresse IP, identifiant
+ * d'utilisateur ou rôle) : la recherche d'un seau n'alloue aucune clé. La clé
+ * textuelle du stockage partagé n'est construite qu'à la création du seau.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RateLimitStore {
+
+    private static final long FAIL_CLOSED_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_CONNECTION_TIMEOUT_MILLIS = 250;
+
+    private final ConcurrentMap<String, Cache<Object, Bucket>> buckets = new ConcurrentHashMap<>();
+    private final PostgreSQLSelectForUpdateBasedProxyManager<String> proxyManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final DelayParameters delayParameters;
+    private final boolean failOpen;
+    private final Counter failures;
+    private final HikariDataSource ownPool;
+
+    @Autowired
+    public RateLimitStore(DataSourceProperties dataSourceProperties,
+            MeterRegistry meterRegistry,
+            @Value("${application.rate-limit.distributed.enabled}") boolean distributed,
+            @Value("${application.rate-limit.distributed.table}") String table,
+            @Value("${application.rate-limit.distributed.request-timeout}") Duration requestTimeout,
+            @Value("${application.rate-limit.distributed.pool-size}") int poolSize,
+            @Value("${application.rate-limit.distributed.local-tokens}") long localTokens,
+            @Value("${application.rate-limit.distributed.local-sync-interval}") Duration localSyncInterval,
+            @Value("${application.rate-limit.distributed.fail-open}") boolean failOpen) {
+        this(distributed ? pool(dataSourceProperties, poolSize, requestTimeout) : null, true, meterRegistry,
+                distributed, table, requestTimeout, localTokens, localSyncInterval, failOpen);
+    }
+
+    /**
+     * Stockage sur une source de données fournie, qui n'est pas fermée avec le
+     * stockage.
+     */
+    public RateLimitStore(DataSource dataSource,
+            MeterRegistry meterRegistry,
+            boolean distributed,
+            String table,
+            Duration requestTimeout,
+            long localTokens,
+            Duration localSyncInterval,
+            boolean failOpen) {
+        this(dataSource, false, meterRegistry, distributed, table, requestTimeout, localTokens, localSyncInterval,
+                failOpen);
+    }
+
+    private RateLimitStore(DataSource dataSource,
+            boolean ownsDataSource,
+            MeterRegistry meterRegistry,
+            boolean distributed,
+            String table,
+            Duration requestTimeout,
+            long localTokens,
+            Duration localSyncInterval,
+            boolean failOpen) {
+        this.ownPool = ownsDataSource && dataSource instanceof HikariDataSource pool ? pool : null;
+        this.table = table;
+        this.failOpen = failOpen;
+        this.delayParameters = localTokens > 0 ? new DelayParameters(localTokens, localSyncInterval) : null;
+        this.failures = Counter.builder("rate-limit.store.failures")
+                .description("Appels au stockage partagé des seaux en échec ou hors délai")
+                .register(meterRegistry);
+        if (distributed) {
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.proxyManager = new PostgreSQLSelectForUpdateBasedProxyManager<>(SQLProxyConfiguration.builder()
+                    .withClientSideConfig(ClientSideConfig.getDefault().withRequestTimeout(requestTimeout))
+                    .withTableSettings(BucketTableSettings.customSettings(table, "id", "state"))
+                    .withPrimaryKeyMapper(PrimaryKeyMapper.STRING)
+                    .build(dataSource));
+        } else {
+            this.jdbcTemplate = null;
+            this.proxyManager = null;
+        }
+    }
+
+    /**
+     * Crée la table des seaux partagés si elle n'existe pas encore.
+     */
+    @PostConstruct
+    void createTable() {
+        if (proxyManager != null) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table
+                    + " (id VARCHAR(255) PRIMARY KEY, state BYTEA)");
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (ownPool != null) {
+            ownPool.close();
+        }
+    }
+
+    /**
+     * Pool dédié au stockage partagé, sur la même base que l'application.
+     * Hikari n'accepte pas d'attente inférieure à 250 ms.
+     */
+    static HikariDataSource pool(DataSourceProperties properties, int poolSize, Duration requestTimeout) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("rate-limit");
+        pool.setMaximumPoolSize(poolSize);
+        pool.setConnectionTimeout(Math.max(MIN_CONNECTION_TIMEOUT_MILLIS, requestTimeout.toMillis()));
+        return pool;
+    }
+
+    /**
+     * Consomme un jeton du seau du sujet pour cette politique, créé s'il
+     * n'existe pas encore.
+     *
+     * @param subject Adresse IP ({@link String}), utilisateur ({@link UUID}) ou
+     *                rôle ({@link Enum}) : des types distincts, pour qu'aucun
+     *                sujet n'en masque un autre.
+     * @return {@code 0} si la requête peut passer, sinon le délai en
+     *         nanosecondes avant que le seau ait de nouveau un jeton.
+     */
+    public long tryConsume(RateLimitPolicies.Entry policy, Object subject) {
+        Cache<Object, Bucket> policyBuckets = buckets.get(policy.bucketPrefix());
+        if (policyBuckets == null) {
+            policyBuckets = buckets.computeIfAbsent(policy.bucketPrefix(), prefix -> Caffeine.newBuilder()
+                    .expireAfterAccess(1, TimeUnit.HOURS)
+                    .build());
+        }
+        Bucket bucket = policyBuckets.getIfPresent(subject);
+        if (bucket == null) {
+            bucket = policyBuckets.get(subject, s -> createBucket(policy, s));
+        }
+        try {
+            if (proxyManager == null) {
+                // Seau local : l'acceptation n'alloue rien, l'estimation du
+                // délai n'est calculée qu'en cas de refus.
+                if (bucket.tryConsume(1)) {
+                    return 0;
+                }
+                return Math.max(1, bucket.estimateAbilityToConsume(1).getNanosToWaitForRefill());
+            }
+            // Seau partagé : un seul aller-retour, délai compris.
+            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+            return probe.isConsumed() ? 0 : Math.max(1, probe.getNanosToWaitForRefill());
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.debug("Stockage des seaux indisponible pour {} : {}", policy.bucketPrefix(), e.getMessage());
+            return failOpen ? 0 : FAIL_CLOSED_RETRY_NANOS;
+        }
+    }
+
+    /**
+     * Oublie les seaux des politiques qui ne sont plus en vigueur après un
+     * rechargement. Une politique dont les limites changent a un nouveau
+     * préfixe : ses anciens seaux sont aussi oubliés.
+     */
+    public void retain(RateLimitPolicies policies) {
+        Set<String> prefixes = policies.entries().stream()
+                .map(RateLimitPolicies.Entry::bucketPrefix)
+                .collect(Collectors.toSet());
+        buckets.keySet().retainAll(prefixes);
+    }
+
+    private Bucket createBucket(RateLimitPolicies.Entry policy, Object subject) {
+        BucketConfiguration configuration = policy.configuration();
+        if (proxyManager == null) {
+            LocalBucketBuilder builder = Bucket.builder();
+            for (Bandwidth bandwidth : configuration.getBandwidths()) {
+                builder.addLimit(bandwidth);
+            }
+            return builder.build();
+        }
+        var builder = proxyManager.builder();
+        if (delayParameters != null) {
+            builder = builder.withOptimization(Optimizations.delaying(delayParameters));
+        }
+        return builder.build(policy.bucketPrefix() + kind(subject) + subject, () -> configuration);
+    }
+
+    private static String kind(Object subject) {
+        if (subject instanceof UUID) {
+            return "user:";
+        }
+        return subject instanceof Enum<?> ? "role:" : "ip:";
+    }
+}
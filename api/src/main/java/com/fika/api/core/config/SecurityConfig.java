@@ -2,7 +2,10 @@ package com.fika.api.core.config;
 
 import com.fika.api.core.exceptions.JwtExceptionHandler;
 import com.fika.api.core.jwt.JwtFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -20,6 +23,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -28,6 +33,7 @@ public class SecurityConfig {
 
         private final JwtFilter jwtFilter;
         private final RateLimitFilter rateLimitFilter;
+        private final LoadSheddingFilter loadSheddingFilter;
         private final JwtExceptionHandler jwtExceptionHandler;
 
         @Bean
@@ -39,14 +45,22 @@ public class SecurityConfig {
                                 .authenticationEntryPoint(jwtExceptionHandler)
                                 .accessDeniedHandler(jwtExceptionHandler))
                 .authorizeHttpRequests(auth -> auth
+                                // Les flux SSE reprennent sur un dispatch ASYNC : la requête
+                                // initiale a déjà été authentifiée et autorisée.
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers("/api/v1/auth/**").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                                 .requestMatchers(HttpMethod.GET,"/api/v1/products/**").permitAll()
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html", "/swagger-resources/**", "/webjars/**").permitAll()
                                 .anyRequest().authenticated())
                 .sessionManagement(session -> session
                                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterAfter(jwtFilter, RateLimitFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter.beforeAuthentication(), JwtFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtFilter.class)
+                .addFilterAfter(loadSheddingFilter, RateLimitFilter.class);
 
                 return http.build();
         }
@@ -63,8 +77,18 @@ public class SecurityConfig {
                 return source;
         }
 
+        /**
+         * BCrypt exécuté sur un exécuteur borné ({@link BoundedPasswordEncoder}) pour
+         * qu'un afflux de connexions ne monopolise pas les threads de requête.
+         */
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+        public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                        @Value("${application.security.password.bcrypt-strength}") int strength,
+                        @Value("${application.security.password.threads}") int threads,
+                        @Value("${application.security.password.queue-capacity}") int queueCapacity,
+                        @Value("${application.security.password.max-wait}") Duration maxWait,
+                        @Value("${application.security.password.retry-after}") Duration retryAfter) {
+                return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry, threads,
+                                queueCapacity, maxWait, retryAfter);
         }
 }
@@ -0,0 +1,24 @@
+package com.fika.api.core.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Réponse paginée par curseur (keyset), alternative à {@link PagedResponse}
+ * pour les listes longues : aucun {@code COUNT(*)} n'est exécuté et le coût
+ * d'une page ne dépend pas de sa profondeur.
+ */
+@Schema(description = "Structure de réponse paginée par curseur")
+public record CursorResponse<T>(
+        @Schema(description = "Liste des éléments de la page actuelle") List<T> content,
+
+        @Schema(description = "Taille de la page demandée", example = "12") int size,
+
+        @Schema(description = "Curseur opaque à renvoyer pour obtenir la page suivante (null sur la dernière page)", example = "MjAyNi0wMS0wMVQxMjowMDowMFp8NTUwZTg0MDAtZTI5Yi00MWQ0LWE3MTYtNDQ2NjU1NDQwMDAw") String nextCursor,
+
+        @Schema(description = "Indique s'il s'agit de la dernière page", example = "false") boolean last) {
+    public static <T> CursorResponse<T> of(List<T> content, int size, String nextCursor) {
+        return new CursorResponse<>(content, size, nextCursor, nextCursor == null);
+    }
+}
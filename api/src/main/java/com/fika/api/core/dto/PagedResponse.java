@@ -1,10 +1,20 @@
 package com.fika.api.core.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
+/**
+ * Réponse paginée standardisée.
+ * <p>
+ * Construite depuis une {@link Slice} (requête {@code count=false}), elle ne
+ * porte ni {@code totalElements} ni {@code totalPages} : la page suivante est
+ * détectée en lisant un élément de plus, sans requête de comptage.
+ * </p>
+ */
 @Schema(description = "Structure de réponse paginée standardisée")
 public record PagedResponse<T>(
         @Schema(description = "Liste des éléments de la page actuelle") List<T> content,
@@ -13,9 +23,9 @@ public record PagedResponse<T>(
 
         @Schema(description = "Taille de la page", example = "10") int pageSize,
 
-        @Schema(description = "Nombre total d'éléments en base", example = "100") long totalElements,
+        @Schema(description = "Nombre total d'éléments en base (absent si count=false)", example = "100") @JsonInclude(JsonInclude.Include.NON_NULL) Long totalElements,
 
-        @Schema(description = "Nombre total de pages", example = "10") int totalPages,
+        @Schema(description = "Nombre total de pages (absent si count=false)", example = "10") @JsonInclude(JsonInclude.Include.NON_NULL) Integer totalPages,
 
         @Schema(description = "Indique s'il s'agit de la dernière page", example = "false") boolean last) {
     public static <T> PagedResponse<T> of(Page<T> page) {
@@ -27,4 +37,21 @@ public record PagedResponse<T>(
                 page.getTotalPages(),
                 page.isLast());
     }
+
+    /**
+     * @param slice Une page sans comptage, ou une {@link Page} complète.
+     * @return La réponse, avec les totaux uniquement s'ils sont connus.
+     */
+    public static <T> PagedResponse<T> of(Slice<T> slice) {
+        if (slice instanceof Page<T> page) {
+            return of(page);
+        }
+        return new PagedResponse<>(
+                slice.getContent(),
+                slice.getNumber(),
+                slice.getSize(),
+                null,
+                null,
+                slice.isLast());
+    }
 }
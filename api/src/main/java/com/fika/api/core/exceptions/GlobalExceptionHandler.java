@@ -1,10 +1,15 @@
 package com.fika.api.core.exceptions;
 
+import com.fika.api.core.exceptions.auth.PasswordHashingUnavailableException;
+import com.fika.api.core.exceptions.auth.SessionNotFoundException;
 import com.fika.api.core.exceptions.order.OrderNotFoundException;
+import com.fika.api.core.exceptions.order.OrderReferenceExhaustedException;
+import com.fika.api.core.exceptions.pagination.InvalidCursorException;
 import com.fika.api.core.exceptions.user.EmailAlreadyExistsException;
 import com.fika.api.core.exceptions.user.UserNotFoundException;
 import com.fika.api.core.exceptions.product.InsufficientProductQuantityException;
 import com.fika.api.core.exceptions.product.ProductNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -90,6 +95,75 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Gère l'exception lorsqu'une session à révoquer n'est pas trouvée.
+     *
+     * @param ex L'exception SessionNotFoundException levée.
+     * @return Une réponse HTTP 404 (Not Found) avec les détails de l'erreur.
+     */
+    @ExceptionHandler(SessionNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleSessionNotFound(SessionNotFoundException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.NOT_FOUND.value(),
+                "Session introuvable",
+                ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Gère l'exception lorsqu'aucune référence de commande n'est disponible.
+     *
+     * @param ex L'exception OrderReferenceExhaustedException levée.
+     * @return Une réponse HTTP 503 (Service Unavailable) avec les détails de
+     *         l'erreur.
+     */
+    @ExceptionHandler(OrderReferenceExhaustedException.class)
+    public ResponseEntity<ErrorResponse> handleOrderReferenceExhausted(OrderReferenceExhaustedException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service indisponible",
+                ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    /**
+     * Gère l'exception lorsque l'exécuteur de hachage des mots de passe est
+     * saturé. L'en-tête {@code Retry-After} indique au client quand réessayer.
+     *
+     * @param ex L'exception PasswordHashingUnavailableException levée.
+     * @return Une réponse HTTP 503 (Service Unavailable) avec les détails de
+     *         l'erreur.
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailable(PasswordHashingUnavailableException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service indisponible",
+                ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorResponse);
+    }
+
+    /**
+     * Gère l'exception lorsqu'un curseur de pagination ne peut pas être décodé.
+     *
+     * @param ex L'exception InvalidCursorException levée.
+     * @return Une réponse HTTP 400 (Bad Request) avec les détails de l'erreur.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Pagination invalide",
+                ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Gère l'exception lorsqu'un utilisateur tente d'utiliser un email déjà
      * existant.
@@ -0,0 +1,23 @@
+package com.fika.api.core.exceptions.auth;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception levée lorsque l'exécuteur de hachage des mots de passe est saturé :
+ * la requête est refusée immédiatement plutôt que d'attendre un cœur libre.
+ */
+@Getter
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    /**
+     * Délai conseillé au client avant de réessayer.
+     */
+    private final Duration retryAfter;
+
+    public PasswordHashingUnavailableException(Duration retryAfter) {
+        super("Trop de connexions simultanées, veuillez réessayer dans quelques instants.");
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,13 @@
+package com.fika.api.core.exceptions.auth;
+
+import java.util.UUID;
+
+/**
+ * Exception levée lorsqu'une session (jeton de rafraîchissement d'un appareil)
+ * n'existe pas ou n'appartient pas à l'utilisateur connecté.
+ */
+public class SessionNotFoundException extends RuntimeException {
+    public SessionNotFoundException(UUID id) {
+        super(String.format("Session avec l'id %s n'existe pas", id));
+    }
+}
@@ -0,0 +1,12 @@
+package com.fika.api.core.exceptions.order;
+
+/**
+ * Exception levée lorsqu'aucune référence de commande libre n'a pu être
+ * trouvée : toutes les références candidates appartiennent encore à des
+ * commandes actives ou récemment clôturées.
+ */
+public class OrderReferenceExhaustedException extends RuntimeException {
+    public OrderReferenceExhaustedException(int scanned) {
+        super(String.format("Aucune référence de commande disponible après examen de %d références.", scanned));
+    }
+}
@@ -0,0 +1,7 @@
+package com.fika.api.core.exceptions.pagination;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("Le curseur de pagination est invalide ou a été altéré.");
+    }
+}
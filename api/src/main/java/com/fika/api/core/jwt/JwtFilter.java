@@ -1,6 +1,5 @@
 package com.fika.api.core.jwt;
 
-import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,7 +20,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -40,24 +39,15 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
-        DecodedJWT decodedJWT = jwtService.validateAndDecodeToken(jwt);
+        JwtPrincipal principal = verifiedTokenCache.resolve(jwt);
 
-        if (decodedJWT != null) {
-            String sub = decodedJWT.getSubject();
-            String role = decodedJWT.getClaim("role").asString();
-            if (sub != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                try {
-                    java.util.UUID userId = java.util.UUID.fromString(sub);
-                    List<SimpleGrantedAuthority> authorities = Collections
-                            .singletonList(new SimpleGrantedAuthority("ROLE_" + role));
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userId, null, authorities);
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            List<SimpleGrantedAuthority> authorities = Collections
+                    .singletonList(new SimpleGrantedAuthority("ROLE_" + principal.role()));
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    principal.userId(), null, authorities);
 
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                } catch (IllegalArgumentException e) {
-                    logger.warn("Invalid UUID format in JWT subject: " + sub);
-                }
-            }
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,217 @@
+package com.fika.api.core.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jeu de clés de signature des jetons d'accès.
+ * <p>
+ * Une seule clé, l'active, signe les nouveaux jetons ; chacun porte son
+ * identifiant dans l'en-tête {@code kid}. Les clés précédentes ne servent plus
+ * qu'à vérifier les jetons qu'elles ont signés, jusqu'à leur expiration : une
+ * rotation ne déconnecte donc personne. Les clés ES256 sont publiées au format
+ * JWKS pour que d'autres services vérifient les jetons sans connaître aucun
+ * secret. Le vérificateur de chaque clé est construit une seule fois.
+ * </p>
+ */
+public final class JwtKeySet {
+
+    static final String HS256 = "HS256";
+    static final String ES256 = "ES256";
+
+    /**
+     * Une clé du jeu.
+     *
+     * @param kid       Identifiant de la clé.
+     * @param algorithm Nom JWA de l'algorithme.
+     * @param signer    Algorithme de signature, {@code null} pour une clé de
+     *                  vérification seule.
+     * @param verifier  Vérificateur des jetons signés par cette clé.
+     * @param publicKey Clé publique à publier, {@code null} pour un secret
+     *                  partagé.
+     */
+    public record SigningKey(String kid, String algorithm, Algorithm signer, JWTVerifier verifier,
+            ECPublicKey publicKey) {
+    }
+
+    private final SigningKey active;
+    private final Map<String, SigningKey> keys;
+    private final SigningKey withoutKid;
+
+    private JwtKeySet(SigningKey active, Map<String, SigningKey> keys, SigningKey withoutKid) {
+        this.active = active;
+        this.keys = keys;
+        this.withoutKid = withoutKid;
+    }
+
+    /**
+     * Construit le jeu de clés.
+     *
+     * @param activeKid    Identifiant de la clé qui signe.
+     * @param keys         Toutes les clés connues, active comprise.
+     * @param legacySecret Ancien secret HS256 unique, ou {@code null}. Il
+     *                     reste accepté en vérification, y compris pour les
+     *                     jetons émis sans {@code kid}.
+     * @return Le jeu de clés.
+     * @throws IllegalStateException si la clé active est inconnue ou ne peut
+     *                               pas signer.
+     */
+    public static JwtKeySet of(String activeKid, List<SigningKey> keys, String legacySecret) {
+        Map<String, SigningKey> byKid = new LinkedHashMap<>();
+        SigningKey legacy = null;
+        if (legacySecret != null && !legacySecret.isBlank()) {
+            legacy = hmac(legacyKid(legacySecret), legacySecret);
+            byKid.put(legacy.kid(), legacy);
+        }
+        for (SigningKey key : keys) {
+            byKid.put(key.kid(), key);
+        }
+
+        String kid = activeKid != null ? activeKid : legacy != null ? legacy.kid() : null;
+        SigningKey active = byKid.get(kid);
+        if (active == null || active.signer() == null) {
+            throw new IllegalStateException("Aucune clé de signature JWT active utilisable (kid=" + kid + ")");
+        }
+        return new JwtKeySet(active, Map.copyOf(byKid), legacy);
+    }
+
+    /**
+     * Jeu réduit à un secret HS256 unique, identifié par une empreinte du
+     * secret : toutes les instances partageant le secret publient le même
+     * {@code kid}.
+     */
+    public static JwtKeySet hmac(String secret) {
+        return of(null, List.of(), secret);
+    }
+
+    /**
+     * Construit une clé HS256.
+     */
+    public static SigningKey hmac(String kid, String secret) {
+        Algorithm algorithm = Algorithm.HMAC256(secret);
+        return new SigningKey(kid, HS256, algorithm, JWT.require(algorithm).build(), null);
+    }
+
+    /**
+     * Construit une clé ES256 (P-256).
+     *
+     * @param privateKey Clé privée, {@code null} pour une clé de vérification
+     *                   seule.
+     */
+    public static SigningKey ecdsa(String kid, ECPublicKey publicKey, ECPrivateKey privateKey) {
+        Algorithm verifying = Algorithm.ECDSA256(publicKey, null);
+        Algorithm signing = privateKey != null ? Algorithm.ECDSA256(publicKey, privateKey) : null;
+        return new SigningKey(kid, ES256, signing, JWT.require(verifying).build(), publicKey);
+    }
+
+    /**
+     * Construit une clé depuis la configuration.
+     *
+     * @throws IllegalStateException si l'algorithme est inconnu ou la clé
+     *                               illisible.
+     */
+    public static SigningKey fromProperties(JwtSigningProperties.Key key) {
+        String algorithm = key.algorithm() != null ? key.algorithm().toUpperCase() : HS256;
+        return switch (algorithm) {
+            case HS256 -> hmac(key.kid(), key.secret());
+            case ES256 -> {
+                try {
+                    KeyFactory factory = KeyFactory.getInstance("EC");
+                    ECPublicKey publicKey = (ECPublicKey) factory.generatePublic(
+                            new X509EncodedKeySpec(base64(key.publicKey())));
+                    ECPrivateKey privateKey = key.privateKey() != null && !key.privateKey().isBlank()
+                            ? (ECPrivateKey) factory.generatePrivate(new PKCS8EncodedKeySpec(base64(key.privateKey())))
+                            : null;
+                    yield ecdsa(key.kid(), publicKey, privateKey);
+                } catch (GeneralSecurityException | IllegalArgumentException e) {
+                    throw new IllegalStateException("Clé JWT ES256 illisible (kid=" + key.kid() + ")", e);
+                }
+            }
+            default -> throw new IllegalStateException("Algorithme JWT non supporté : " + key.algorithm());
+        };
+    }
+
+    /**
+     * @return La clé qui signe les nouveaux jetons.
+     */
+    public SigningKey active() {
+        return active;
+    }
+
+    /**
+     * Retrouve le vérificateur d'un jeton d'après son en-tête {@code kid}.
+     *
+     * @param kid L'identifiant lu dans le jeton, ou {@code null}.
+     * @return Le vérificateur, ou {@code null} si la clé est inconnue.
+     */
+    public JWTVerifier verifierFor(String kid) {
+        SigningKey key = kid != null ? keys.get(kid) : withoutKid;
+        return key != null ? key.verifier() : null;
+    }
+
+    /**
+     * Clés publiques au format JWKS (RFC 7517). Les secrets partagés ne sont
+     * jamais publiés.
+     *
+     * @return Le document {@code {"keys": [...]}}.
+     */
+    public Map<String, List<Map<String, String>>> jwks() {
+        List<Map<String, String>> published = keys.values().stream()
+                .filter(key -> key.publicKey() != null)
+                .map(key -> Map.of(
+                        "kty", "EC",
+                        "crv", "P-256",
+                        "use", "sig",
+                        "alg", key.algorithm(),
+                        "kid", key.kid(),
+                        "x", coordinate(key.publicKey().getW().getAffineX()),
+                        "y", coordinate(key.publicKey().getW().getAffineY())))
+                .toList();
+        return Map.of("keys", published);
+    }
+
+    private static String legacyKid(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return "hs256-" + HexFormat.of().formatHex(digest, 0, 4);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    /**
+     * Coordonnée d'un point P-256 sur 32 octets, en Base64 URL sans remplissage.
+     */
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static byte[] base64(String value) {
+        String body = Arrays.stream(value.split("\n"))
+                .filter(line -> !line.startsWith("-----"))
+                .reduce("", String::concat)
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+}
@@ -0,0 +1,12 @@
+package com.fika.api.core.jwt;
+
+import java.util.UUID;
+
+/**
+ * Identité portée par un jeton d'accès vérifié.
+ *
+ * @param userId Identifiant de l'utilisateur (claim {@code sub}).
+ * @param role   Rôle de l'utilisateur (claim {@code role}).
+ */
+public record JwtPrincipal(UUID userId, String role) {
+}
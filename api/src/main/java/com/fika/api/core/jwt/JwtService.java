@@ -2,7 +2,6 @@ package com.fika.api.core.jwt;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.fika.api.features.users.model.User;
@@ -18,15 +17,23 @@ import java.util.Date;
  * Ce service permet de créer des jetons d'accès contenant les informations de
  * l'utilisateur (email, rôle) et de les valider lors des requêtes entrantes.
  * </p>
+ * <p>
+ * Les jetons sont signés par la clé active du {@link JwtKeySet} et portent son
+ * identifiant ({@code kid}) ; la vérification choisit la clé d'après cet
+ * en-tête. Algorithmes et vérificateurs sont construits une seule fois :
+ * immuables, ils sont partagés sans verrou entre les requêtes.
+ * </p>
  */
 @Service
 public class JwtService {
 
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
+    private final JwtKeySet keySet;
+    private final long jwtExpiration;
 
-    @Value("${application.security.jwt.expiration}")
-    private long jwtExpiration;
+    public JwtService(JwtKeySet keySet, @Value("${application.security.jwt.expiration}") long jwtExpiration) {
+        this.keySet = keySet;
+        this.jwtExpiration = jwtExpiration;
+    }
 
     /**
      * Génère un nouveau jeton d'accès (Access Token) pour un utilisateur.
@@ -35,25 +42,28 @@ public class JwtService {
      * @return Le jeton JWT sous forme de chaîne de caractères.
      */
     public String generateToken(User user) {
+        JwtKeySet.SigningKey key = keySet.active();
         return JWT.create()
+                .withKeyId(key.kid())
                 .withSubject(user.getId().toString())
                 .withClaim("role", user.getRole().name())
                 .withIssuedAt(new Date())
                 .withExpiresAt(new Date(System.currentTimeMillis() + jwtExpiration))
-                .sign(Algorithm.HMAC256(secretKey));
+                .sign(key.signer());
     }
 
     /**
      * Valide un jeton JWT et retourne son contenu décodé.
      *
      * @param token Le jeton à vérifier.
-     * @return Un {@link DecodedJWT} si le jeton est valide, sinon {@code null}.
+     * @return Un {@link DecodedJWT} si le jeton est valide, sinon {@code null}
+     *         (y compris si sa clé est inconnue).
      */
     public DecodedJWT validateAndDecodeToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-            JWTVerifier verifier = JWT.require(algorithm).build();
-            return verifier.verify(token);
+            DecodedJWT decodedJWT = JWT.decode(token);
+            JWTVerifier verifier = keySet.verifierFor(decodedJWT.getKeyId());
+            return verifier != null ? verifier.verify(decodedJWT) : null;
         } catch (JWTVerificationException exception) {
             return null;
         }
@@ -0,0 +1,30 @@
+package com.fika.api.core.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Clés de signature des jetons d'accès
+ * ({@code application.security.jwt.signing}).
+ *
+ * @param activeKid Identifiant de la clé signant les nouveaux jetons.
+ * @param keys      Clés connues : la clé active et les clés précédentes,
+ *                  conservées pour vérifier les jetons encore valides.
+ */
+@ConfigurationProperties("application.security.jwt.signing")
+public record JwtSigningProperties(String activeKid, List<Key> keys) {
+
+    /**
+     * Une clé de signature.
+     *
+     * @param kid        Identifiant publié dans l'en-tête {@code kid}.
+     * @param algorithm  {@code HS256} ou {@code ES256}.
+     * @param secret     Secret partagé (HS256).
+     * @param privateKey Clé privée PKCS#8 encodée en Base64 (ES256) ; absente
+     *                   pour une clé qui ne sert plus qu'à vérifier.
+     * @param publicKey  Clé publique X.509 encodée en Base64 (ES256).
+     */
+    public record Key(String kid, String algorithm, String secret, String privateKey, String publicKey) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.fika.api.core.jwt;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Cache des jetons d'accès déjà vérifiés.
+ * <p>
+ * Un client mobile présente le même jeton à chaque requête pendant toute sa
+ * durée de validité. La première présentation passe par
+ * {@link JwtService#validateAndDecodeToken} ; les suivantes sont résolues par
+ * l'empreinte SHA-256 du jeton, sans vérifier la signature ni relire le JSON.
+ * Une entrée expire au plus tard à l'{@code exp} du jeton, et le cache est
+ * borné en nombre d'entrées. Les jetons refusés ne sont jamais mis en cache.
+ * </p>
+ * <p>
+ * Le jeton brut n'est pas conservé en mémoire. Lors d'une rotation des clés de
+ * signature, {@link #clear()} oblige chaque jeton à être revérifié.
+ * </p>
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final Cache<TokenDigest, Verified> verified;
+
+    public VerifiedTokenCache(JwtService jwtService, MeterRegistry meterRegistry,
+            @Value("${application.security.jwt.verified-cache.max-size}") long maxSize) {
+        this.jwtService = jwtService;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<TokenDigest, Verified>creating(
+                        (digest, entry) -> Duration.ofMillis(
+                                Math.max(0, entry.expiresAtMillis() - System.currentTimeMillis()))))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt.verified-tokens");
+    }
+
+    /**
+     * Résout l'identité portée par un jeton d'accès.
+     *
+     * @param token Le jeton présenté dans l'en-tête {@code Authorization}.
+     * @return L'identité, ou {@code null} si le jeton est invalide, expiré ou
+     *         si son sujet n'est pas un UUID.
+     */
+    public JwtPrincipal resolve(String token) {
+        TokenDigest digest = TokenDigest.of(token);
+        Verified cached = verified.getIfPresent(digest);
+        if (cached != null) {
+            return cached.principal();
+        }
+
+        DecodedJWT decodedJWT = jwtService.validateAndDecodeToken(token);
+        if (decodedJWT == null || decodedJWT.getSubject() == null) {
+            return null;
+        }
+        JwtPrincipal principal;
+        try {
+            principal = new JwtPrincipal(UUID.fromString(decodedJWT.getSubject()),
+                    decodedJWT.getClaim("role").asString());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid UUID format in JWT subject: {}", decodedJWT.getSubject());
+            return null;
+        }
+
+        Date expiresAt = decodedJWT.getExpiresAt();
+        if (expiresAt != null) {
+            verified.put(digest, new Verified(principal, expiresAt.getTime()));
+        }
+        return principal;
+    }
+
+    /**
+     * Indique si un jeton a déjà été vérifié, sans le vérifier.
+     */
+    public boolean isVerified(String token) {
+        return verified.getIfPresent(TokenDigest.of(token)) != null;
+    }
+
+    /**
+     * Vide le cache, par exemple après une rotation des clés de signature.
+     *
+     * @return Le nombre d'entrées supprimées.
+     */
+    public long clear() {
+        long size = verified.estimatedSize();
+        verified.invalidateAll();
+        verified.cleanUp();
+        return size;
+    }
+
+    private record Verified(JwtPrincipal principal, long expiresAtMillis) {
+    }
+
+    /**
+     * Empreinte SHA-256 d'un jeton, stockée sur quatre {@code long}.
+     */
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        private static TokenDigest of(String token) {
+            try {
+                ByteBuffer hash = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII)));
+                return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 indisponible", e);
+            }
+        }
+    }
+}
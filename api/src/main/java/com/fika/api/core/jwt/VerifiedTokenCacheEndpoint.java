@@ -0,0 +1,25 @@
+package com.fika.api.core.jwt;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Point d'administration {@code DELETE /actuator/jwtcache} vidant le
+ * {@link VerifiedTokenCache} lors d'une rotation des clés de signature.
+ */
+@Component
+@Endpoint(id = "jwtcache")
+@RequiredArgsConstructor
+public class VerifiedTokenCacheEndpoint {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @DeleteOperation
+    public Map<String, Long> clear() {
+        return Map.of("evicted", verifiedTokenCache.clear());
+    }
+}
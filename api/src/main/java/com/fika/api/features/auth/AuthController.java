@@ -2,6 +2,7 @@ package com.fika.api.features.auth;
 
 import com.fika.api.features.auth.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -34,7 +35,11 @@ public class AuthController {
         @Operation(summary = "Connexion (Public)", description = "Authentifie un utilisateur et renvoie un Access Token (JSON) et un Refresh Token (Cookie HttpOnly).")
         @ApiResponse(responseCode = "200", description = "Authentification réussie")
         @ApiResponse(responseCode = "401", description = "Identifiants invalides", content = @Content(schema = @Schema(implementation = com.fika.api.core.exceptions.ErrorResponse.class)))
-        public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
+        public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest,
+                        @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.USER_AGENT, required = false) String userAgent) {
+                if (loginRequest.device() == null && userAgent != null) {
+                        loginRequest = new LoginRequest(loginRequest.email(), loginRequest.password(), userAgent);
+                }
                 LoginResponse loginResponse = authService.login(loginRequest);
                 ResponseCookie refreshTokenCookie = cookieUtil.createRefreshTokenCookie(loginResponse.refreshToken());
                 return ResponseEntity.ok()
@@ -59,7 +64,7 @@ public class AuthController {
         @Operation(summary = "Rafraîchir le token (Public/Cookie)", description = "Utilise le Refresh Token (cookie) pour obtenir un nouveau Access Token (JSON).")
         @ApiResponse(responseCode = "200", description = "Nouveaux tokens générés (Access en JSON, Refresh en Cookie)")
         public ResponseEntity<TokenRefreshResponse> refreshToken(
-                        @io.swagger.v3.oas.annotations.Parameter(hidden = true) @CookieValue(name = "refreshToken") String refreshToken) {
+                        @Parameter(hidden = true) @CookieValue(name = "refreshToken") String refreshToken) {
                 TokenRefreshRequest request = new TokenRefreshRequest(refreshToken);
                 TokenRefreshResponse refreshResponse = authService.refreshToken(request);
 
@@ -74,7 +79,7 @@ public class AuthController {
         @Operation(summary = "Déconnexion (Authentifié)", description = "Invalide le Refresh Token en base et supprime le cookie.")
         @ApiResponse(responseCode = "204", description = "Déconnexion réussie")
         public ResponseEntity<Void> logout(
-                        @io.swagger.v3.oas.annotations.Parameter(hidden = true) @CookieValue(name = "refreshToken") String refreshToken) {
+                        @Parameter(hidden = true) @CookieValue(name = "refreshToken") String refreshToken) {
                 TokenRefreshRequest request = new TokenRefreshRequest(refreshToken);
                 authService.logout(request);
                 ResponseCookie deleteRefreshToken = cookieUtil.deleteRefreshTokenCookie();
@@ -11,10 +11,12 @@ import com.fika.api.features.users.dto.UserRequest;
 import com.fika.api.features.users.model.User;
 import com.fika.api.features.users.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service gérant la logique métier liée à l'authentification.
@@ -31,9 +33,25 @@ public class AuthService {
     private final UserService userService;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${application.security.password.rehash-on-login}")
+    private boolean rehashOnLogin;
 
     /**
      * Authentifie un utilisateur en vérifiant son email et son mot de passe.
+     * <p>
+     * Si le hachage stocké a été produit avec un coût BCrypt inférieur au coût
+     * configuré, le mot de passe est ré-haché de façon transparente. La session
+     * ouverte est propre à l'appareil : les autres appareils restent connectés.
+     * </p>
+     * <p>
+     * Aucune transaction n'est ouverte pendant la vérification et le hachage :
+     * une connexion en attente du pool BCrypt ne retient pas de connexion JDBC.
+     * L'utilisateur est lu dans la transaction courte du repository, puis le
+     * nouveau hachage et le jeton de rafraîchissement sont écrits dans une
+     * seconde transaction courte.
+     * </p>
      *
      * @param loginRequest Les informations de connexion fournies par l'utilisateur.
      * @return Une réponse contenant les détails de l'utilisateur et les jetons
@@ -41,7 +59,6 @@ public class AuthService {
      * @throws BadCredentialsException Si l'email n'existe pas ou si le mot de passe
      *                                 est incorrect.
      */
-    @Transactional
     public LoginResponse login(LoginRequest loginRequest) {
         User user = userRepository.findByEmail(loginRequest.email())
                 .orElseThrow(() -> {
@@ -50,8 +67,18 @@ public class AuthService {
         if (!passwordEncoder.matches(loginRequest.password(), user.getPassword())) {
             throw new BadCredentialsException("Email ou mot de passe incorrect");
         }
+        String rehashed = rehashOnLogin && passwordEncoder.upgradeEncoding(user.getPassword())
+                ? passwordEncoder.encode(loginRequest.password())
+                : null;
+        RefreshToken refreshToken = transactionTemplate.execute(status -> {
+            // Une connexion concurrente a pu ré-hacher entre-temps : sa valeur est conservée.
+            if (rehashed != null
+                    && userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), rehashed) > 0) {
+                user.setPassword(rehashed);
+            }
+            return refreshTokenService.createRefreshToken(user, loginRequest.device());
+        });
         String token = jwtService.generateToken(user);
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
         return authMapper.toResponse(user, token, refreshToken.getToken());
     }
 
@@ -62,8 +89,8 @@ public class AuthService {
      *                        l'utilisateur.
      * @return Une réponse contenant les détails de l'utilisateur créé et les jetons
      *         d'authentification.
+     * @see UserService#createUser(UserRequest)
      */
-    @Transactional
     public LoginResponse register(RegisterRequest registerRequest) {
         UserRequest userRequest = new UserRequest(
                 registerRequest.firstName(),
@@ -84,7 +111,8 @@ public class AuthService {
      * Renouvelle un jeton d'accès (JWT) à partir d'un jeton de rafraîchissement.
      * <p>
      * Vérifie la validité du jeton de rafraîchissement et génère un nouveau JWT
-     * pour l'utilisateur associé.
+     * pour l'utilisateur associé. Le jeton et son utilisateur sont lus en une
+     * requête, puis le jeton est remplacé sur place.
      * </p>
      *
      * @param request Le DTO contenant le jeton de rafraîchissement.
@@ -97,10 +125,9 @@ public class AuthService {
         String requestRefreshToken = request.refreshToken();
         return refreshTokenService.findByToken(requestRefreshToken)
                 .map(refreshTokenService::verifyExpiration)
-                .map(RefreshToken::getUser)
-                .map(user -> {
-                    String token = jwtService.generateToken(user);
-                    RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user);
+                .map(current -> {
+                    RefreshToken newRefreshToken = refreshTokenService.rotate(current);
+                    String token = jwtService.generateToken(newRefreshToken.getUser());
                     return new TokenRefreshResponse(token, newRefreshToken.getToken());
                 })
                 .orElseThrow(() -> new RefreshTokenNotFoundException("Le jeton de rafraîchissement est introuvable."));
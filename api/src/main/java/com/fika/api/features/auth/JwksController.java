@@ -0,0 +1,37 @@
+package com.fika.api.features.auth;
+
+import com.fika.api.core.jwt.JwtKeySet;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publication des clés publiques de vérification des jetons d'accès.
+ * <p>
+ * Les services tiers et les nœuds en bordure vérifient les jetons localement à
+ * partir de ce document, en choisissant la clé d'après l'en-tête {@code kid}.
+ * </p>
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentification", description = "Endpoints pour l'inscription et la connexion")
+public class JwksController {
+
+    private final JwtKeySet jwtKeySet;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "Clés publiques JWT (Public)", description = "Jeu de clés JWKS (RFC 7517) des clés asymétriques actives et précédentes. Les secrets HS256 ne sont jamais publiés.")
+    public ResponseEntity<Map<String, List<Map<String, String>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwtKeySet.jwks());
+    }
+}
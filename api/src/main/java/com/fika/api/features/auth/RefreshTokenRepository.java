@@ -1,11 +1,18 @@
 package com.fika.api.features.auth;
 
 import com.fika.api.features.auth.model.RefreshToken;
-import com.fika.api.features.users.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Interface de dépôt (Repository) pour l'entité {@link RefreshToken}.
@@ -16,7 +23,82 @@ import java.util.Optional;
  */
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, java.util.UUID> {
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
 
-    Optional<RefreshToken> findByUser(User user);
+    /**
+     * Charge un jeton, par son empreinte, et son utilisateur en une seule
+     * requête.
+     */
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findWithUserByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    /**
+     * Remplace sur place la valeur et l'expiration du jeton d'un utilisateur
+     * sur un appareil.
+     *
+     * @return Le nombre de lignes modifiées : 0 si l'appareil n'a pas encore
+     *         de session.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.tokenHash = :tokenHash, t.expiryDate = :expiryDate, t.lastUsedAt = :now "
+            + "WHERE t.user.id = :userId AND t.deviceLabel = :deviceLabel")
+    int replaceForDevice(@Param("userId") UUID userId, @Param("deviceLabel") String deviceLabel,
+            @Param("tokenHash") byte[] tokenHash, @Param("expiryDate") Instant expiryDate, @Param("now") Instant now);
+
+    /**
+     * Fait tourner un jeton présenté par le client. La condition sur l'ancienne
+     * valeur garantit qu'un même jeton ne peut être échangé qu'une fois.
+     *
+     * @return Le nombre de lignes modifiées : 0 si le jeton a déjà été échangé.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.tokenHash = :newHash, t.expiryDate = :expiryDate, t.lastUsedAt = :now "
+            + "WHERE t.tokenHash = :currentHash")
+    int rotate(@Param("currentHash") byte[] currentHash, @Param("newHash") byte[] newHash,
+            @Param("expiryDate") Instant expiryDate, @Param("now") Instant now);
+
+    /**
+     * Sessions non expirées d'un utilisateur, de la plus récemment utilisée à
+     * la plus ancienne.
+     */
+    @Query("SELECT t FROM RefreshToken t WHERE t.user.id = :userId AND t.expiryDate > :now "
+            + "ORDER BY t.lastUsedAt DESC NULLS LAST")
+    List<RefreshToken> findActiveSessions(@Param("userId") UUID userId, @Param("now") Instant now);
+
+    /**
+     * Identifiants des sessions d'un utilisateur, de la plus récemment utilisée
+     * à la plus ancienne.
+     */
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.user.id = :userId ORDER BY t.lastUsedAt DESC NULLS LAST")
+    List<UUID> findSessionIdsByRecentUse(@Param("userId") UUID userId);
+
+    /**
+     * Révoque une session de l'utilisateur.
+     *
+     * @return 1 si la session existait et appartenait à l'utilisateur, 0 sinon.
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id = :id AND t.user.id = :userId")
+    int deleteSession(@Param("userId") UUID userId, @Param("id") UUID id);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Sélectionne un lot de jetons expirés, par l'index sur la date
+     * d'expiration.
+     */
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.expiryDate < :now")
+    List<UUID> findExpiredIds(@Param("now") Instant now, Limit limit);
+
+    /**
+     * Supprime un lot de jetons expirés. La condition sur l'expiration est
+     * revérifiée : un jeton remplacé sur place entre-temps est conservé.
+     *
+     * @return Le nombre de jetons supprimés.
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id IN :ids AND t.expiryDate < :now")
+    int deleteExpired(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
 }
@@ -0,0 +1,124 @@
+package com.fika.api.features.auth;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Migrations de la table {@code refresh_tokens} que {@code ddl-auto: update}
+ * ne sait pas faire.
+ * <p>
+ * Hibernate ajoute les colonnes et index manquants, mais ne supprime ni
+ * colonne ni contrainte. Au démarrage :
+ * </p>
+ * <ul>
+ * <li>si la colonne {@code token} (jeton en clair) existe encore, l'empreinte
+ * de chaque jeton est calculée par lots de {@value #BATCH_SIZE}, une
+ * transaction par lot, puis la colonne est supprimée avec son index unique
+ * une fois tous les jetons migrés : les sessions en cours restent valides et
+ * la base ne contient plus aucun jeton utilisable ;</li>
+ * <li>la contrainte d'unicité sur {@code user_id}, héritée de l'ancienne
+ * relation un-à-un, est supprimée pour permettre une session par
+ * appareil.</li>
+ * </ul>
+ * <p>
+ * Chaque étape ne s'exécute que si l'ancien schéma est détecté.
+ * </p>
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class RefreshTokenSchemaMigration {
+
+    static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void migrate() {
+        hashLegacyTokens();
+        dropUniqueUserConstraint();
+    }
+
+    private void hashLegacyTokens() {
+        if (!hasLegacyColumn()) {
+            return;
+        }
+        int migrated = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> hashBatch());
+            migrated += batch;
+        } while (batch == BATCH_SIZE);
+        boolean dropped = transactionTemplate.execute(status -> {
+            if (countLegacyTokens() > 0) {
+                return false;
+            }
+            jdbcTemplate.execute("ALTER TABLE refresh_tokens DROP COLUMN token");
+            return true;
+        });
+        log.info("Jetons de rafraîchissement migrés vers token_hash : {}", migrated);
+        if (!dropped) {
+            log.warn("Jetons en clair ajoutés pendant la migration : colonne token conservée jusqu'au prochain démarrage");
+        }
+    }
+
+    /**
+     * Calcule l'empreinte d'au plus {@link #BATCH_SIZE} jetons encore en
+     * clair.
+     *
+     * @return Le nombre de jetons migrés.
+     */
+    private int hashBatch() {
+        List<LegacyToken> legacy = jdbcTemplate.query(
+                "SELECT id, token FROM refresh_tokens WHERE token_hash IS NULL AND token IS NOT NULL LIMIT ?",
+                (rs, rowNum) -> new LegacyToken(rs.getObject("id", UUID.class), rs.getString("token")),
+                BATCH_SIZE);
+        jdbcTemplate.batchUpdate("UPDATE refresh_tokens SET token_hash = ? WHERE id = ?", legacy, BATCH_SIZE,
+                (ps, token) -> {
+                    ps.setBytes(1, RefreshTokenService.digest(token.value()));
+                    ps.setObject(2, token.id());
+                });
+        return legacy.size();
+    }
+
+    private int countLegacyTokens() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE token_hash IS NULL AND token IS NOT NULL", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private void dropUniqueUserConstraint() {
+        List<String> constraints = jdbcTemplate.queryForList("""
+                SELECT tc.constraint_name FROM information_schema.table_constraints tc
+                JOIN information_schema.key_column_usage kcu
+                  ON kcu.constraint_name = tc.constraint_name AND kcu.table_name = tc.table_name
+                WHERE LOWER(tc.table_name) = 'refresh_tokens' AND tc.constraint_type = 'UNIQUE'
+                  AND LOWER(kcu.column_name) = 'user_id'
+                """, String.class);
+        for (String constraint : constraints) {
+            jdbcTemplate.execute("ALTER TABLE refresh_tokens DROP CONSTRAINT " + constraint);
+            log.info("Contrainte d'unicité {} sur refresh_tokens.user_id supprimée", constraint);
+        }
+    }
+
+    private boolean hasLegacyColumn() {
+        Integer columns = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE LOWER(table_name) = 'refresh_tokens' AND LOWER(column_name) = 'token'
+                """, Integer.class);
+        return columns != null && columns > 0;
+    }
+
+    private record LegacyToken(UUID id, String value) {
+    }
+}
@@ -1,8 +1,10 @@
 package com.fika.api.features.auth;
 
 import com.fika.api.core.exceptions.auth.RefreshTokenExpiredException;
+import com.fika.api.core.exceptions.auth.RefreshTokenNotFoundException;
+import com.fika.api.core.exceptions.auth.SessionNotFoundException;
+import com.fika.api.features.auth.dto.SessionResponse;
 import com.fika.api.features.auth.model.RefreshToken;
-import com.fika.api.features.users.UserRepository;
 import com.fika.api.features.users.model.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,7 +12,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -18,42 +25,117 @@ import java.util.UUID;
  * Tokens).
  * <p>
  * Ce service permet de créer, vérifier l'expiration et supprimer les jetons
- * stockés en base de données pour assurer la sécurité des sessions.
+ * stockés en base de données pour assurer la sécurité des sessions. Un
+ * utilisateur a une session, donc un jeton, par appareil.
  * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
+    static final String UNKNOWN_DEVICE = "Appareil inconnu";
+    private static final int MAX_DEVICE_LABEL = 100;
+
     @Value("${application.security.jwt.refresh-token.expiration}")
     private long refreshTokenDurationMs;
 
+    @Value("${application.security.jwt.refresh-token.max-sessions}")
+    private int maxSessions;
+
     private final RefreshTokenRepository refreshTokenRepository;
-    private final UserRepository userRepository;
 
     /**
-     * Crée un nouveau jeton de rafraîchissement pour un utilisateur donné.
-     * <p>
-     * Supprime tout jeton existant pour cet utilisateur avant d'en créer un nouveau
-     * (rotation de jeton).
-     * </p>
+     * Crée un nouveau jeton de rafraîchissement pour un utilisateur, sur un
+     * appareil non identifié.
      *
      * @param user L'utilisateur pour lequel créer le jeton.
-     * @return Le RefreshToken créé et sauvegardé.
+     * @return Le RefreshToken créé ou mis à jour.
+     * @see #createRefreshToken(User, String)
      */
     @Transactional
     public RefreshToken createRefreshToken(User user) {
-        refreshTokenRepository.findByUser(user).ifPresent(token -> {
-            refreshTokenRepository.delete(token);
-            refreshTokenRepository.flush();
-        });
+        return createRefreshToken(user, null);
+    }
 
+    /**
+     * Crée un nouveau jeton de rafraîchissement pour un utilisateur sur un
+     * appareil donné.
+     * <p>
+     * Chaque appareil a sa propre session : se connecter sur la tablette ne
+     * déconnecte plus le téléphone. Si l'appareil a déjà une session, sa valeur
+     * et son expiration sont remplacées sur place par une seule requête
+     * {@code UPDATE} (rotation de jeton). Sinon une session est créée et, au-delà
+     * de {@code max-sessions}, les sessions les moins récemment utilisées sont
+     * révoquées.
+     * </p>
+     * <p>
+     * Sans libellé, l'appareil ne peut pas être reconnu : le libellé par défaut
+     * reçoit un suffixe tiré du jeton et la session est toujours créée, pour que
+     * deux clients anonymes ne s'écrasent pas mutuellement leur jeton.
+     * </p>
+     *
+     * @param user        L'utilisateur pour lequel créer le jeton.
+     * @param deviceLabel Libellé de l'appareil, {@code null} si inconnu.
+     * @return Le RefreshToken créé ou mis à jour. En cas de mise à jour,
+     *         l'instance renvoyée n'est pas attachée au contexte de persistance.
+     */
+    @Transactional
+    public RefreshToken createRefreshToken(User user, String deviceLabel) {
+        String token = UUID.randomUUID().toString();
+        byte[] tokenHash = digest(token);
+        boolean identified = deviceLabel != null && !deviceLabel.isBlank();
+        String label = identified ? deviceLabel(deviceLabel) : unknownDeviceLabel(tokenHash);
+        Instant now = Instant.now();
+        Instant expiryDate = now.plusMillis(refreshTokenDurationMs);
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
+                .token(token)
+                .tokenHash(tokenHash)
+                .deviceLabel(label)
+                .expiryDate(expiryDate)
+                .lastUsedAt(now)
+                .build();
+        if (identified && refreshTokenRepository.replaceForDevice(user.getId(), label, tokenHash, expiryDate, now) > 0) {
+            return refreshToken;
+        }
+
+        RefreshToken saved = refreshTokenRepository.save(refreshToken);
+        List<UUID> sessions = refreshTokenRepository.findSessionIdsByRecentUse(user.getId());
+        if (sessions.size() > maxSessions) {
+            refreshTokenRepository.deleteAllByIdInBatch(sessions.subList(maxSessions, sessions.size()));
+        }
+        return saved;
+    }
+
+    /**
+     * Remplace un jeton présenté par le client par une nouvelle valeur.
+     * <p>
+     * La mise à jour est conditionnée par l'ancienne valeur : si deux requêtes
+     * présentent le même jeton, seule la première obtient un nouveau jeton.
+     * </p>
+     *
+     * @param current Le jeton présenté, chargé avec son utilisateur.
+     * @return Le nouveau jeton, non attaché au contexte de persistance.
+     * @throws RefreshTokenNotFoundException Si le jeton a déjà été échangé.
+     */
+    @Transactional
+    public RefreshToken rotate(RefreshToken current) {
+        String token = UUID.randomUUID().toString();
+        byte[] tokenHash = digest(token);
+        Instant now = Instant.now();
+        Instant expiryDate = now.plusMillis(refreshTokenDurationMs);
+        if (refreshTokenRepository.rotate(current.getTokenHash(), tokenHash, expiryDate, now) == 0) {
+            throw new RefreshTokenNotFoundException("Le jeton de rafraîchissement est introuvable.");
+        }
+        return RefreshToken.builder()
+                .id(current.getId())
+                .user(current.getUser())
+                .token(token)
+                .tokenHash(tokenHash)
+                .deviceLabel(current.getDeviceLabel())
+                .expiryDate(expiryDate)
+                .lastUsedAt(now)
                 .build();
-        return refreshTokenRepository.save(refreshToken);
     }
 
     /**
@@ -77,23 +159,61 @@ public class RefreshTokenService {
     }
 
     /**
-     * Supprime tous les jetons de rafraîchissement associés à un ID utilisateur.
+     * Supprime tous les jetons de rafraîchissement associés à un ID utilisateur
+     * (toutes ses sessions).
      *
      * @param userId UUID de l'utilisateur.
      */
     @Transactional
     public void deleteByUserId(UUID userId) {
-        userRepository.findById(userId).flatMap(refreshTokenRepository::findByUser).ifPresent(refreshTokenRepository::delete);
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    /**
+     * Liste les sessions non expirées d'un utilisateur, de la plus récemment
+     * utilisée à la plus ancienne.
+     *
+     * @param userId UUID de l'utilisateur.
+     * @return Les sessions de l'utilisateur.
+     */
+    @Transactional(readOnly = true)
+    public List<SessionResponse> getSessions(UUID userId) {
+        return refreshTokenRepository.findActiveSessions(userId, Instant.now()).stream()
+                .map(session -> new SessionResponse(session.getId(), session.getDeviceLabel(),
+                        session.getLastUsedAt(), session.getExpiryDate()))
+                .toList();
+    }
+
+    /**
+     * Révoque la session d'un appareil, en une seule requête.
+     *
+     * @param userId    UUID de l'utilisateur connecté.
+     * @param sessionId UUID de la session à révoquer.
+     * @throws SessionNotFoundException Si la session n'existe pas ou appartient à
+     *                                  un autre utilisateur.
+     */
+    @Transactional
+    public void revokeSession(UUID userId, UUID sessionId) {
+        if (refreshTokenRepository.deleteSession(userId, sessionId) == 0) {
+            throw new SessionNotFoundException(sessionId);
+        }
     }
 
     /**
      * Recherche un jeton de rafraîchissement par sa valeur textuelle.
+     * <p>
+     * La recherche porte sur l'empreinte du jeton ; l'utilisateur associé est
+     * chargé dans la même requête.
+     * </p>
      *
      * @param token La chaîne de caractères du jeton.
      * @return Un Optional contenant le RefreshToken s'il est trouvé.
      */
     public java.util.Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        return refreshTokenRepository.findWithUserByTokenHash(digest(token)).map(refreshToken -> {
+            refreshToken.setToken(token);
+            return refreshToken;
+        });
     }
 
     /**
@@ -105,4 +225,27 @@ public class RefreshTokenService {
     public void deleteToken(RefreshToken refreshToken) {
         refreshTokenRepository.delete(refreshToken);
     }
+
+    /**
+     * Calcule l'empreinte stockée d'un jeton de rafraîchissement.
+     *
+     * @param token La valeur en clair du jeton.
+     * @return L'empreinte SHA-256 (32 octets).
+     */
+    public static byte[] digest(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private static String unknownDeviceLabel(byte[] tokenHash) {
+        return UNKNOWN_DEVICE + " (" + HexFormat.of().formatHex(tokenHash, 0, 4) + ")";
+    }
+
+    private static String deviceLabel(String deviceLabel) {
+        String label = deviceLabel.strip();
+        return label.length() > MAX_DEVICE_LABEL ? label.substring(0, MAX_DEVICE_LABEL) : label;
+    }
 }
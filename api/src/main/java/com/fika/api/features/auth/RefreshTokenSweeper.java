@@ -0,0 +1,133 @@
+package com.fika.api.features.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purge périodique des jetons de rafraîchissement expirés.
+ * <p>
+ * {@link RefreshTokenService#verifyExpiration} ne supprime un jeton expiré que
+ * lorsqu'il est présenté : ceux des utilisateurs qui ne reviennent pas
+ * resteraient en base indéfiniment. La purge supprime les jetons expirés par
+ * lots de {@code batch-size} lignes, chaque lot dans sa propre transaction,
+ * avec une pause entre deux lots pour ne jamais tenir de verrous longtemps.
+ * </p>
+ * <p>
+ * Métriques : {@code auth.refresh-tokens.reclaimed} (jetons supprimés) et
+ * {@code auth.refresh-tokens.sweep} (durée d'une purge complète).
+ * </p>
+ */
+@Slf4j
+@Component
+public class RefreshTokenSweeper {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int batchSize;
+    private final Duration pause;
+    private final Counter reclaimed;
+    private final Timer sweepTimer;
+    private ScheduledExecutorService scheduler;
+
+    public RefreshTokenSweeper(RefreshTokenRepository refreshTokenRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${application.security.jwt.refresh-token.sweeper.enabled}") boolean enabled,
+            @Value("${application.security.jwt.refresh-token.sweeper.interval}") Duration interval,
+            @Value("${application.security.jwt.refresh-token.sweeper.batch-size}") int batchSize,
+            @Value("${application.security.jwt.refresh-token.sweeper.pause}") Duration pause) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.reclaimed = Counter.builder("auth.refresh-tokens.reclaimed")
+                .description("Jetons de rafraîchissement expirés supprimés par la purge")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("auth.refresh-tokens.sweep")
+                .description("Durée d'une purge des jetons de rafraîchissement expirés")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Planifie la purge au démarrage.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("refresh-token-sweeper").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::sweepQuietly, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Supprime tous les jetons expirés à l'instant de l'appel, lot par lot.
+     *
+     * @return Le nombre de jetons supprimés.
+     */
+    public long sweep() {
+        Instant now = Instant.now();
+        Timer.Sample sample = Timer.start();
+        long total = 0;
+        try {
+            while (true) {
+                Integer deleted = transactionTemplate.execute(status -> {
+                    List<UUID> ids = refreshTokenRepository.findExpiredIds(now, Limit.of(batchSize));
+                    return ids.isEmpty() ? 0 : refreshTokenRepository.deleteExpired(ids, now);
+                });
+                total += deleted;
+                reclaimed.increment(deleted);
+                if (deleted < batchSize) {
+                    break;
+                }
+                Thread.sleep(pause.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sample.stop(sweepTimer);
+        }
+        return total;
+    }
+
+    private void sweepQuietly() {
+        try {
+            long deleted = sweep();
+            if (deleted > 0) {
+                log.info("Jetons de rafraîchissement expirés supprimés : {}", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Purge des jetons de rafraîchissement impossible : {}", e.getMessage());
+        }
+    }
+}
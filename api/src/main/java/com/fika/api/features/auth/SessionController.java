@@ -0,0 +1,54 @@
+package com.fika.api.features.auth;
+
+import com.fika.api.features.auth.dto.SessionResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Contrôleur REST des sessions de l'utilisateur connecté (API v1).
+ * <p>
+ * Chaque appareil connecté a sa propre session. L'utilisateur peut les lister
+ * et déconnecter un appareil à distance. Toutes les routes sont préfixées par
+ * /api/v1/users/me/sessions.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/users/me/sessions")
+@RequiredArgsConstructor
+@Tag(name = "Sessions", description = "Appareils connectés de l'utilisateur")
+public class SessionController {
+
+    private final RefreshTokenService refreshTokenService;
+
+    @GetMapping
+    @Operation(summary = "Mes sessions (Authentifié)", description = "Liste les appareils connectés, du plus récemment utilisé au plus ancien.")
+    @ApiResponse(responseCode = "200", description = "Sessions récupérées")
+    @ApiResponse(responseCode = "401", description = "Non authentifié")
+    public List<SessionResponse> getSessions(@AuthenticationPrincipal UUID userId) {
+        return refreshTokenService.getSessions(userId);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Révoquer une session (Authentifié)", description = "Déconnecte un appareil : son jeton de rafraîchissement est supprimé.")
+    @ApiResponse(responseCode = "204", description = "Session révoquée")
+    @ApiResponse(responseCode = "404", description = "Session introuvable")
+    public void revokeSession(@AuthenticationPrincipal UUID userId,
+            @Parameter(description = "ID de la session à révoquer") @PathVariable UUID id) {
+        refreshTokenService.revokeSession(userId, id);
+    }
+}
@@ -2,8 +2,14 @@ package com.fika.api.features.auth.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public record LoginRequest(
         @Schema(description = "Email de l'utilisateur", example = "marin@example.com") @NotBlank(message = "L'email est obligatoire")String email,
-        @Schema(description = "Mot de passe de l'utilisateur", example = "password123") @NotBlank(message = "Le mot de passe est obligatoire")String password
-) {}
\ No newline at end of file
+        @Schema(description = "Mot de passe de l'utilisateur", example = "password123") @NotBlank(message = "Le mot de passe est obligatoire")String password,
+        @Schema(description = "Libellé de l'appareil (facultatif, User-Agent par défaut)", example = "iPhone de Marin") @Size(max = 100, message = "Le libellé de l'appareil ne doit pas dépasser 100 caractères")String device
+) {
+    public LoginRequest(String email, String password) {
+        this(email, password, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.fika.api.features.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record SessionResponse(
+        @Schema(description = "Identifiant de la session", example = "550e8400-e29b-41d4-a716-446655440000") UUID id,
+        @Schema(description = "Libellé de l'appareil", example = "iPhone de Marin") String device,
+        @Schema(description = "Dernière utilisation de la session") Instant lastUsedAt,
+        @Schema(description = "Expiration de la session") Instant expiresAt) {
+}
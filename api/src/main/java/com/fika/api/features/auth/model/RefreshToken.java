@@ -13,11 +13,20 @@ import java.util.UUID;
  * <p>
  * Ce jeton permet de renouveler un jeton d'accès (JWT) sans que l'utilisateur
  * n'ait à
- * se reconnecter manuellement. Il est lié à un utilisateur spécifique.
+ * se reconnecter manuellement. Chaque jeton correspond à une session : un
+ * utilisateur en possède un par appareil connecté.
+ * </p>
+ * <p>
+ * Seule l'empreinte SHA-256 du jeton est stockée : une copie de la base ne
+ * contient aucune session utilisable, et l'index unique porte sur une clé de
+ * 32 octets. La valeur en clair n'est connue qu'à l'émission, ou lorsqu'elle
+ * vient d'être présentée par le client.
  * </p>
  */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiryDate"),
+        @Index(name = "idx_refresh_tokens_user_expiry", columnList = "user_id, expiryDate") })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,13 +37,36 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(nullable = false, unique = true)
+    /**
+     * Empreinte SHA-256 du jeton. La colonne reste nullable pour que
+     * {@code ddl-auto: update} puisse l'ajouter à une table existante ; elle est
+     * renseignée par {@code RefreshTokenSchemaMigration}.
+     */
+    @Column(name = "token_hash", unique = true, length = 32)
+    private byte[] tokenHash;
+
+    /**
+     * Valeur en clair, jamais persistée.
+     */
+    @Transient
     private String token;
 
     @Column(nullable = false)
     private Instant expiryDate;
 
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private User user;
+
+    /**
+     * Libellé de l'appareil (fourni à la connexion, ou User-Agent).
+     */
+    @Column(length = 100)
+    private String deviceLabel;
+
+    /**
+     * Dernière émission ou rotation du jeton, pour évincer la session la moins
+     * récemment utilisée.
+     */
+    private Instant lastUsedAt;
 }
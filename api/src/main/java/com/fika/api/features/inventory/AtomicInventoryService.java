@@ -0,0 +1,102 @@
+package com.fika.api.features.inventory;
+
+import com.fika.api.core.exceptions.product.InsufficientProductQuantityException;
+import com.fika.api.core.exceptions.product.ProductNotFoundException;
+import com.fika.api.features.products.ProductCatalogCache;
+import com.fika.api.features.products.ProductCatalogIndex;
+import com.fika.api.features.products.ProductRepository;
+import com.fika.api.features.products.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Gestion du stock par décrémentations atomiques conditionnelles.
+ * <p>
+ * Le stock n'est jamais calculé en Java puis réécrit : la base applique
+ * {@code quantity = quantity - ? WHERE quantity >= ?}, ce qui rend la survente
+ * impossible même lorsque des centaines de commandes visent le même produit.
+ * Le verrou de ligne n'est posé qu'au moment de cette mise à jour.
+ * </p>
+ * <p>
+ * Chaque changement de stock invalide les entrées correspondantes du
+ * {@link ProductCatalogCache} et est reporté dans le {@link ProductCatalogIndex}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class AtomicInventoryService implements InventoryService {
+
+    private final ProductRepository productRepository;
+    private final ProductCatalogCache catalogCache;
+    private final ProductCatalogIndex catalogIndex;
+
+    @Override
+    @Transactional
+    public Map<UUID, Product> reserve(Map<UUID, Integer> quantities) {
+        Map<UUID, Product> products = loadProducts(quantities);
+
+        for (Map.Entry<UUID, Integer> requested : quantities.entrySet()) {
+            Product product = products.get(requested.getKey());
+            if (product == null) {
+                throw new ProductNotFoundException(requested.getKey().toString());
+            }
+            if (product.getQuantity() < requested.getValue()) {
+                throw new InsufficientProductQuantityException(product.getName(), product.getQuantity(),
+                        requested.getValue());
+            }
+        }
+
+        if (productRepository.decrementStock(quantities) != quantities.size()) {
+            throw stockConflict(quantities);
+        }
+        products.values().forEach(catalogCache::evictStock);
+        catalogIndex.decrementStock(quantities);
+        return products;
+    }
+
+    @Override
+    @Transactional
+    public Product setStock(UUID productId, int quantity) {
+        if (productRepository.setStock(productId, quantity) == 0) {
+            throw new ProductNotFoundException(productId);
+        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException(productId));
+        catalogCache.evictStock(product);
+        catalogIndex.put(product);
+        return product;
+    }
+
+    /**
+     * Construit l'erreur renvoyée lorsqu'une commande concurrente a consommé le
+     * stock entre la lecture des produits et la décrémentation.
+     *
+     * @param quantities Quantités demandées par produit.
+     * @return L'exception décrivant le premier produit devenu insuffisant.
+     */
+    private RuntimeException stockConflict(Map<UUID, Integer> quantities) {
+        Map<UUID, Product> current = loadProducts(quantities);
+        for (Map.Entry<UUID, Integer> requested : quantities.entrySet()) {
+            Product product = current.get(requested.getKey());
+            if (product == null) {
+                return new ProductNotFoundException(requested.getKey().toString());
+            }
+            if (product.getQuantity() < requested.getValue()) {
+                return new InsufficientProductQuantityException(product.getName(), product.getQuantity(),
+                        requested.getValue());
+            }
+        }
+        return new IllegalStateException("Le stock a été modifié pendant la commande, veuillez réessayer.");
+    }
+
+    private Map<UUID, Product> loadProducts(Map<UUID, Integer> quantities) {
+        return productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+}
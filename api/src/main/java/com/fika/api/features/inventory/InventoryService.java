@@ -0,0 +1,41 @@
+package com.fika.api.features.inventory;
+
+import com.fika.api.core.exceptions.product.InsufficientProductQuantityException;
+import com.fika.api.core.exceptions.product.ProductNotFoundException;
+import com.fika.api.features.products.model.Product;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Point d'entrée unique pour toute modification du stock des produits.
+ * <p>
+ * Les implémentations doivent garantir qu'aucune vente concurrente ne peut
+ * faire passer un stock sous zéro, sans verrouiller les produits pendant toute
+ * la durée de la transaction appelante.
+ * </p>
+ */
+public interface InventoryService {
+
+    /**
+     * Réserve le stock nécessaire à une commande.
+     *
+     * @param quantities Quantité demandée par identifiant de produit.
+     * @return Les produits concernés, indexés par identifiant, tels qu'ils étaient
+     *         avant la réservation (prix et nom servent à construire la commande).
+     * @throws ProductNotFoundException              si un produit n'existe pas.
+     * @throws InsufficientProductQuantityException si un stock ne couvre pas la
+     *                                              quantité demandée.
+     */
+    Map<UUID, Product> reserve(Map<UUID, Integer> quantities);
+
+    /**
+     * Remplace le stock d'un produit (inventaire manuel par un administrateur).
+     *
+     * @param productId L'identifiant du produit.
+     * @param quantity  La nouvelle quantité en stock.
+     * @return Le produit relu après la mise à jour.
+     * @throws ProductNotFoundException si le produit n'existe pas.
+     */
+    Product setStock(UUID productId, int quantity);
+}
@@ -1,5 +1,6 @@
 package com.fika.api.features.orders;
 
+import com.fika.api.core.dto.CursorResponse;
 import com.fika.api.core.dto.PagedResponse;
 import com.fika.api.features.orders.dto.OrderRequest;
 import com.fika.api.features.orders.dto.OrderResponse;
@@ -12,11 +13,13 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Objects;
 import java.util.UUID;
@@ -32,23 +35,56 @@ public class OrderController {
     @GetMapping()
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Lister toutes les commandes (Admin ONLY)", description = "Récupère l'intégralité des commandes passées sur la plateforme.")
-    public PagedResponse<OrderResponse> getAllOrders(@ParameterObject @PageableDefault(size = 12) Pageable pageable) {
-        return orderService.getAllOrders(pageable);
+    public PagedResponse<OrderResponse> getAllOrders(@ParameterObject @PageableDefault(size = 12) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return orderService.getAllOrders(pageable, count);
     }
 
     @GetMapping("/filter")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Lister les commandes par statut (Admin ONLY)", description = "Filtre les commandes selon le statut passé en paramètre (PENDING, READY, etc.).")
     public PagedResponse<OrderResponse> getOrdersByStatus(@RequestParam OrderStatus status,
-            @ParameterObject @PageableDefault(size = 12) Pageable pageable) {
-        return orderService.getOrdersByStatus(status, pageable);
+            @ParameterObject @PageableDefault(size = 12) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return orderService.getOrdersByStatus(status, pageable, count);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Flux temps réel des commandes (Admin ONLY)", description = "Server-Sent Events : CREATED et STATUS_CHANGED, avec rejeu des événements manqués via l'en-tête Last-Event-ID.")
+    public SseEmitter streamOrders(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return orderService.streamOrders(lastEventId);
     }
 
     @GetMapping("/my-order")
     @Operation(summary = "Récupérer mes commandes (Authentifié)")
     public PagedResponse<OrderResponse> getMyOrder(@AuthenticationPrincipal UUID userId,
-            @ParameterObject @PageableDefault(size = 12) Pageable pageable) {
-        return orderService.getOrderByUserId(userId, pageable);
+            @ParameterObject @PageableDefault(size = 12) Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return orderService.getOrderByUserId(userId, pageable, count);
+    }
+
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Parcourir toutes les commandes par curseur (Admin ONLY)", description = "Variante sans comptage de la liste des commandes : renvoyer nextCursor pour obtenir la page suivante.")
+    public CursorResponse<OrderResponse> scrollAllOrders(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size) {
+        return orderService.scrollAllOrders(cursor, size);
+    }
+
+    @GetMapping("/filter/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Parcourir les commandes par statut et par curseur (Admin ONLY)")
+    public CursorResponse<OrderResponse> scrollOrdersByStatus(@RequestParam OrderStatus status,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "12") int size) {
+        return orderService.scrollOrdersByStatus(status, cursor, size);
+    }
+
+    @GetMapping("/my-order/scroll")
+    @Operation(summary = "Parcourir mes commandes par curseur (Authentifié)")
+    public CursorResponse<OrderResponse> scrollMyOrders(@AuthenticationPrincipal UUID userId,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "12") int size) {
+        return orderService.scrollOrdersByUserId(userId, cursor, size);
     }
 
     @GetMapping("/{id}")
@@ -75,6 +111,12 @@ public class OrderController {
         return orderService.changeOrderStatus(id, status);
     }
 
+    @GetMapping(value = "/latest/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Flux temps réel de ma commande (Authentifié)", description = "Server-Sent Events : un événement CURRENT avec la commande en cours à la connexion, puis chaque création ou changement de statut de mes commandes.")
+    public SseEmitter streamLatestOrder(@AuthenticationPrincipal UUID userId) {
+        return orderService.streamLatestOrder(userId);
+    }
+
     @GetMapping("/latest")
     @Operation(summary = "Dernière commande active (Authentifié)", description = "Récupère la commande en cours (PENDING ou READY) la plus récente de l'utilisateur.")
     public OrderResponse getLatestOrder(@AuthenticationPrincipal UUID userId) {
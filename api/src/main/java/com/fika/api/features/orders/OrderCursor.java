@@ -0,0 +1,62 @@
+package com.fika.api.features.orders;
+
+import com.fika.api.core.exceptions.pagination.InvalidCursorException;
+import com.fika.api.features.orders.model.Order;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Position dans une liste de commandes triée sur {@code (createdAt, id)}.
+ * <p>
+ * Le client ne manipule que la forme encodée (Base64 URL) : la clé de tri est
+ * un détail d'implémentation qui peut évoluer sans casser l'API.
+ * </p>
+ *
+ * @param createdAt Date de création de la dernière commande renvoyée.
+ * @param id        Identifiant de cette commande, pour départager les égalités.
+ */
+record OrderCursor(Instant createdAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    static OrderCursor of(Order order) {
+        return new OrderCursor(order.getCreatedAt(), order.getId());
+    }
+
+    /**
+     * Décode un curseur reçu du client.
+     *
+     * @param token Le curseur opaque, ou {@code null} pour la première page.
+     * @return La position correspondante.
+     * @throws InvalidCursorException si le curseur ne peut pas être décodé.
+     */
+    static KeysetScrollPosition decode(String token) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            OrderCursor cursor = new OrderCursor(Instant.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+            return cursor.toScrollPosition();
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    KeysetScrollPosition toScrollPosition() {
+        return ScrollPosition.forward(Map.of("createdAt", createdAt, "id", id));
+    }
+}
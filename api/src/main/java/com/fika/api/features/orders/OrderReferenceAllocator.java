@@ -0,0 +1,178 @@
+package com.fika.api.features.orders;
+
+import com.fika.api.core.exceptions.order.OrderReferenceExhaustedException;
+import com.fika.api.features.orders.model.OrderStatus;
+import com.fika.api.features.orders.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Distributeur des références courtes de commande (ex: XJ8K).
+ * <p>
+ * L'espace des références (32 caractères sur 4 positions, soit 2^20 codes) est
+ * parcouru selon une permutation fixe : la position {@code n} donne toujours le
+ * même code et deux positions d'un même cycle ne donnent jamais le même code.
+ * Les positions sont réservées par blocs via la séquence
+ * {@code order_reference_seq}, ce qui les rend disjointes entre instances et
+ * insensibles aux rollbacks.
+ * </p>
+ * <p>
+ * Chaque bloc est vérifié en une seule requête : les codes encore portés par
+ * une commande active, ou clôturée (COMPLETED, CANCELLED) depuis moins de
+ * {@code application.orders.reference.recycle-after}, sont écartés. Les autres
+ * sont recyclés. La base n'est donc sollicitée qu'une fois par bloc et non plus
+ * à chaque commande.
+ * </p>
+ */
+@Component
+public class OrderReferenceAllocator {
+
+    static final String ALPHABET = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    static final int CODE_LENGTH = 4;
+    static final int CODE_SPACE = 1 << 20;
+
+    private static final List<OrderStatus> RELEASED_STATUSES = List.of(OrderStatus.COMPLETED, OrderStatus.CANCELLED);
+    private static final int MAX_BLOCKS_PER_REFILL = 64;
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int blockSize;
+    private final Duration recycleAfter;
+    private final int seed;
+
+    private final Deque<String> pool = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Counter refills;
+    private final Counter skipped;
+    private final Counter exhausted;
+
+    public OrderReferenceAllocator(OrderRepository orderRepository,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${application.orders.reference.block-size}") int blockSize,
+            @Value("${application.orders.reference.recycle-after}") Duration recycleAfter,
+            @Value("${application.orders.reference.seed}") int seed) {
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+        this.recycleAfter = recycleAfter;
+        this.seed = seed;
+        this.refills = Counter.builder("orders.reference.pool.refills")
+                .description("Nombre de fois où la réserve locale de références a été vide")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("orders.reference.pool.skipped")
+                .description("Références écartées car encore portées par une commande")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("orders.reference.pool.exhausted")
+                .description("Échecs d'allocation faute de référence libre")
+                .register(meterRegistry);
+        Gauge.builder("orders.reference.pool.size", this, OrderReferenceAllocator::available)
+                .description("Références disponibles dans la réserve locale")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Crée la séquence des blocs si elle n'existe pas encore (le schéma est
+     * généré par Hibernate, qui ne connaît pas cette séquence).
+     */
+    @PostConstruct
+    void createSequence() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS order_reference_seq START WITH 0 MINVALUE 0");
+    }
+
+    /**
+     * Fournit une référence libre.
+     *
+     * @return Une référence de 4 caractères qu'aucune commande active ne porte.
+     * @throws OrderReferenceExhaustedException si aucune référence n'a pu être
+     *                                          libérée.
+     */
+    public String next() {
+        lock.lock();
+        try {
+            if (pool.isEmpty()) {
+                refill();
+            }
+            return pool.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Le nombre de références encore disponibles localement.
+     */
+    int available() {
+        lock.lock();
+        try {
+            return pool.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Réserve de nouveaux blocs jusqu'à obtenir au moins une référence libre.
+     */
+    private void refill() {
+        refills.increment();
+        Instant releasedBefore = Instant.now().minus(recycleAfter);
+        for (int attempt = 0; attempt < MAX_BLOCKS_PER_REFILL; attempt++) {
+            long first = orderRepository.nextReferenceBlock() * blockSize;
+            List<String> candidates = new ArrayList<>(blockSize);
+            for (int i = 0; i < blockSize; i++) {
+                candidates.add(encode(permute(Math.floorMod(first + i, CODE_SPACE))));
+            }
+
+            Set<String> inUse = orderRepository.findReferencesInUse(candidates, RELEASED_STATUSES, releasedBefore);
+            skipped.increment(inUse.size());
+            candidates.stream().filter(code -> !inUse.contains(code)).forEach(pool::add);
+            if (!pool.isEmpty()) {
+                return;
+            }
+        }
+        exhausted.increment();
+        throw new OrderReferenceExhaustedException(MAX_BLOCKS_PER_REFILL * blockSize);
+    }
+
+    /**
+     * Bijection sur [0, 2^20) : réseau de Feistel à 4 tours sur deux moitiés de
+     * 10 bits. Les codes successifs paraissent aléatoires tout en restant
+     * uniques sur un cycle complet.
+     */
+    int permute(int position) {
+        int left = position >>> 10;
+        int right = position & 0x3FF;
+        for (int round = 0; round < 4; round++) {
+            int mixed = (right * 0x9E3 + seed + round * 0x2F1) ^ (right >>> 3);
+            int next = left ^ (mixed & 0x3FF);
+            left = right;
+            right = next;
+        }
+        return (left << 10) | right;
+    }
+
+    static String encode(int index) {
+        char[] code = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET.charAt(index & 0x1F);
+            index >>>= 5;
+        }
+        return new String(code);
+    }
+}
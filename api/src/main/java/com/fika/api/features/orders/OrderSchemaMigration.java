@@ -0,0 +1,46 @@
+package com.fika.api.features.orders;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Migration de la table {@code orders} que {@code ddl-auto: update} ne sait
+ * pas faire.
+ * <p>
+ * La référence de commande était unique pour toujours ; elle n'est plus
+ * unique que parmi les commandes en cours ({@link OrderReferenceAllocator}
+ * recycle les références des commandes clôturées). Hibernate crée le nouvel
+ * index simple mais ne supprime pas l'ancienne contrainte d'unicité, qui ferait
+ * échouer l'insertion d'une référence recyclée. Au démarrage, cette contrainte
+ * est supprimée si elle existe encore.
+ * </p>
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class OrderSchemaMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void migrate() {
+        List<String> constraints = jdbcTemplate.queryForList("""
+                SELECT tc.constraint_name FROM information_schema.table_constraints tc
+                JOIN information_schema.key_column_usage kcu
+                  ON kcu.constraint_name = tc.constraint_name AND kcu.table_name = tc.table_name
+                WHERE LOWER(tc.table_name) = 'orders' AND tc.constraint_type = 'UNIQUE'
+                  AND LOWER(kcu.column_name) = 'order_reference'
+                """, String.class);
+        for (String constraint : constraints) {
+            jdbcTemplate.execute("ALTER TABLE orders DROP CONSTRAINT " + constraint);
+            log.info("Contrainte d'unicité {} sur orders.order_reference supprimée", constraint);
+        }
+    }
+}
@@ -1,33 +1,43 @@
 package com.fika.api.features.orders;
 
+import com.fika.api.core.dto.CursorResponse;
 import com.fika.api.core.dto.PagedResponse;
 import com.fika.api.core.exceptions.order.OrderNotFoundException;
+import com.fika.api.core.exceptions.pagination.InvalidCursorException;
 import com.fika.api.core.exceptions.product.InsufficientProductQuantityException;
 import com.fika.api.core.exceptions.product.ProductNotFoundException;
 import com.fika.api.core.exceptions.user.UserNotFoundException;
+import com.fika.api.features.inventory.InventoryService;
 import com.fika.api.features.orders.dto.OrderItemRequest;
 import com.fika.api.features.orders.dto.OrderRequest;
 import com.fika.api.features.orders.dto.OrderResponse;
+import com.fika.api.features.orders.events.OrderEvent;
+import com.fika.api.features.orders.events.OrderEventBroadcaster;
+import com.fika.api.features.orders.events.OrderEventType;
 import com.fika.api.features.orders.mapper.OrderMapper;
 import com.fika.api.features.orders.model.Order;
 import com.fika.api.features.orders.model.OrderItem;
 import com.fika.api.features.orders.model.OrderStatus;
 import com.fika.api.features.orders.repository.OrderRepository;
-import com.fika.api.features.products.ProductRepository;
 import com.fika.api.features.products.model.Product;
 import com.fika.api.features.users.UserRepository;
 import com.fika.api.features.users.model.User;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -38,22 +48,32 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class OrderService {
 
+    /**
+     * Taille maximale d'une page servie par curseur.
+     */
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
     private final UserRepository userRepository;
-    private final ProductRepository productRepository;
-    private static final Random RANDOM = new Random();
+    private final InventoryService inventoryService;
+    private final OrderReferenceAllocator orderReferenceAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderEventBroadcaster orderEventBroadcaster;
 
     /**
      * Récupère toutes les commandes enregistrées (réservé aux admins).
      * 
      * @param pageable Pagination et tri.
+     * @param count    {@code false} pour ne pas exécuter la requête de comptage.
      * @return PagedResponse de toutes les commandes.
      */
-    public PagedResponse<OrderResponse> getAllOrders(Pageable pageable) {
-        Page<OrderResponse> orderPage = orderRepository.findAllByOrderByCreatedAtDesc(pageable)
-                .map(orderMapper::toResponse);
-        return PagedResponse.of(orderPage);
+    @Transactional(readOnly = true)
+    public PagedResponse<OrderResponse> getAllOrders(Pageable pageable, boolean count) {
+        Slice<Order> orders = count
+                ? orderRepository.findAllByOrderByCreatedAtDesc(pageable)
+                : orderRepository.findSliceByOrderByCreatedAtDesc(pageable);
+        return PagedResponse.of(withItems(orders).map(orderMapper::toResponse));
     }
 
     /**
@@ -64,12 +84,15 @@ public class OrderService {
      * @param status   Le statut des commandes à rechercher (ex: PENDING,
      *                 PREPARING).
      * @param pageable Pagination et tri.
+     * @param count    {@code false} pour ne pas exécuter la requête de comptage.
      * @return PagedResponse de {@link OrderResponse} correspondantes.
      */
-    public PagedResponse<OrderResponse> getOrdersByStatus(OrderStatus status, Pageable pageable) {
-        Page<OrderResponse> orderPage = orderRepository.findAllByStatusOrderByCreatedAtAsc(status, pageable)
-                .map(orderMapper::toResponse);
-        return PagedResponse.of(orderPage);
+    @Transactional(readOnly = true)
+    public PagedResponse<OrderResponse> getOrdersByStatus(OrderStatus status, Pageable pageable, boolean count) {
+        Slice<Order> orders = count
+                ? orderRepository.findAllByStatusOrderByCreatedAtAsc(status, pageable)
+                : orderRepository.findSliceByStatusOrderByCreatedAtAsc(status, pageable);
+        return PagedResponse.of(withItems(orders).map(orderMapper::toResponse));
     }
 
     /**
@@ -77,18 +100,79 @@ public class OrderService {
      * 
      * @param userId   L'ID de l'utilisateur.
      * @param pageable Pagination et tri.
+     * @param count    {@code false} pour ne pas exécuter la requête de comptage.
      * @return PagedResponse des commandes de l'utilisateur ordonnées par date
      *         décroissante.
      */
-    public PagedResponse<OrderResponse> getOrderByUserId(UUID userId, Pageable pageable) {
-        Page<OrderResponse> orderPage = orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
-                .map(orderMapper::toResponse);
-        return PagedResponse.of(orderPage);
+    @Transactional(readOnly = true)
+    public PagedResponse<OrderResponse> getOrderByUserId(UUID userId, Pageable pageable, boolean count) {
+        Slice<Order> orders = count
+                ? orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
+                : orderRepository.findSliceByUserIdOrderByCreatedAtDesc(userId, pageable);
+        return PagedResponse.of(withItems(orders).map(orderMapper::toResponse));
+    }
+
+    /**
+     * Parcourt toutes les commandes par curseur, de la plus récente à la plus
+     * ancienne (réservé aux admins).
+     *
+     * @param cursor Curseur renvoyé par la page précédente, {@code null} pour la
+     *               première page.
+     * @param size   Nombre de commandes par page (borné à
+     *               {@value #MAX_CURSOR_PAGE_SIZE}).
+     * @return CursorResponse des commandes.
+     * @throws InvalidCursorException si le curseur est invalide.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> scrollAllOrders(String cursor, int size) {
+        int limit = cursorPageSize(size);
+        return toCursorResponse(orderRepository.findAllByOrderByCreatedAtDesc(
+                OrderCursor.decode(cursor), Limit.of(limit)), limit);
     }
 
+    /**
+     * Parcourt par curseur les commandes d'un statut, de la plus ancienne à la
+     * plus récente (affichage cuisine).
+     *
+     * @param status Le statut des commandes à parcourir.
+     * @param cursor Curseur renvoyé par la page précédente, {@code null} pour la
+     *               première page.
+     * @param size   Nombre de commandes par page.
+     * @return CursorResponse des commandes correspondantes.
+     * @throws InvalidCursorException si le curseur est invalide.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> scrollOrdersByStatus(OrderStatus status, String cursor, int size) {
+        int limit = cursorPageSize(size);
+        return toCursorResponse(orderRepository.findAllByStatusOrderByCreatedAtAsc(
+                status, OrderCursor.decode(cursor), Limit.of(limit)), limit);
+    }
+
+    /**
+     * Parcourt par curseur l'historique des commandes d'un utilisateur, de la
+     * plus récente à la plus ancienne.
+     *
+     * @param userId L'ID de l'utilisateur.
+     * @param cursor Curseur renvoyé par la page précédente, {@code null} pour la
+     *               première page.
+     * @param size   Nombre de commandes par page.
+     * @return CursorResponse des commandes de l'utilisateur.
+     * @throws InvalidCursorException si le curseur est invalide.
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<OrderResponse> scrollOrdersByUserId(UUID userId, String cursor, int size) {
+        int limit = cursorPageSize(size);
+        return toCursorResponse(orderRepository.findByUserIdOrderByCreatedAtDesc(
+                userId, OrderCursor.decode(cursor), Limit.of(limit)), limit);
+    }
+
+    @Transactional(readOnly = true)
     public OrderResponse getLatestActiveOrder(UUID userId) {
         List<OrderStatus> orderStatuses = List.of(OrderStatus.PENDING, OrderStatus.READY);
+        // Pas de graphe d'articles sur la requête « la première » : Hibernate
+        // paginerait en mémoire. La commande trouvée est relue avec ses détails.
         return orderRepository.findFirstByUserIdAndStatusInOrderByCreatedAtDesc(userId, orderStatuses)
+                .flatMap(order -> orderRepository.findWithDetailsById(order.getId()))
                 .map(orderMapper::toResponse)
                 .orElse(null);
     }
@@ -104,8 +188,9 @@ public class OrderService {
      * @throws AccessDeniedException  si l'utilisateur n'est pas le propriétaire ni
      *                                admin.
      */
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(UUID id, UUID currentUserId, boolean isAdmin) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new OrderNotFoundException(id));
         if (!isAdmin && !order.getUser().getId().equals(currentUserId)) {
             throw new AccessDeniedException(
@@ -114,16 +199,54 @@ public class OrderService {
         return orderMapper.toResponse(order);
     }
 
+    /**
+     * Initialise les articles (et leurs produits) de toutes les commandes d'une
+     * page en une seule requête, pour que le mapping ne déclenche aucun
+     * chargement paresseux.
+     * <p>
+     * Doit être appelé dans la transaction qui a lu la page.
+     * </p>
+     *
+     * @param orders La page de commandes, client déjà chargé.
+     * @return La même page.
+     */
+    private Slice<Order> withItems(Slice<Order> orders) {
+        if (orders.hasContent()) {
+            orderRepository.findAllWithItemsByIdIn(orders.map(Order::getId).toList());
+        }
+        return orders;
+    }
+
+    private CursorResponse<OrderResponse> toCursorResponse(Window<Order> window, int size) {
+        List<Order> orders = window.getContent();
+        if (!orders.isEmpty()) {
+            orderRepository.findAllWithItemsByIdIn(orders.stream().map(Order::getId).toList());
+        }
+        String nextCursor = window.hasNext() ? OrderCursor.of(orders.getLast()).encode() : null;
+        return CursorResponse.of(orders.stream().map(orderMapper::toResponse).toList(), size, nextCursor);
+    }
+
+    private static int cursorPageSize(int size) {
+        return Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+    }
+
     /**
      * Crée une nouvelle commande pour l'utilisateur connecté.
      * Calcule automatiquement le montant total basé sur le prix actuel des
      * produits.
+     * <p>
+     * Le stock de toute la commande est réservé auprès de
+     * {@link InventoryService} en un nombre constant de requêtes, quel que soit
+     * le nombre de lignes.
+     * </p>
      * 
      * @param orderRequest Les détails de la commande (articles et quantités).
      * @return La commande créée.
      * @throws UserNotFoundException    si l'utilisateur n'existe pas.
      * @throws ProductNotFoundException si l'un des produits commandés est
      *                                  introuvable.
+     * @throws InsufficientProductQuantityException si le stock d'un produit ne
+     *                                              couvre pas la quantité demandée.
      */
     @Transactional
     public OrderResponse createOrder(OrderRequest orderRequest, UUID userId) {
@@ -132,27 +255,23 @@ public class OrderService {
 
         Order order = Order.builder()
                 .user(user)
-                .orderReference(generateUniqueReference())
+                .orderReference(orderReferenceAllocator.next())
                 .status(OrderStatus.PENDING)
                 .items(new ArrayList<>())
                 .total(BigDecimal.ZERO)
                 .build();
 
+        Map<UUID, Integer> requestedQuantities = new LinkedHashMap<>();
+        for (OrderItemRequest itemReq : orderRequest.items()) {
+            requestedQuantities.merge(itemReq.productId(), itemReq.quantity(), Integer::sum);
+        }
+
+        Map<UUID, Product> products = inventoryService.reserve(requestedQuantities);
+
         BigDecimal totalAmount = BigDecimal.ZERO;
 
         for (OrderItemRequest itemReq : orderRequest.items()) {
-            Product product = productRepository.findById(itemReq.productId())
-                    .orElseThrow(() -> new ProductNotFoundException(itemReq.productId().toString()));
-
-            if (product.getQuantity() < itemReq.quantity()) {
-                throw new InsufficientProductQuantityException(product.getName(), product.getQuantity(),
-                        itemReq.quantity());
-            }
-            product.setQuantity(product.getQuantity() - itemReq.quantity());
-            if (product.getQuantity() <= 0) {
-                product.setAvailable(false);
-            }
-            productRepository.save(product);
+            Product product = products.get(itemReq.productId());
 
             OrderItem orderItem = OrderItem.builder()
                     .order(order)
@@ -167,15 +286,15 @@ public class OrderService {
         }
         order.setTotal(totalAmount);
         Order savedOrder = orderRepository.saveAndFlush(order);
-        return orderMapper.toResponse(savedOrder);
+        return publish(OrderEventType.CREATED, savedOrder);
     }
 
     @Transactional
     public OrderResponse changeOrderStatus(UUID id, OrderStatus orderStatus) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new OrderNotFoundException(id));
         order.setStatus(orderStatus);
-        return orderMapper.toResponse(orderRepository.save(order));
+        return publish(OrderEventType.STATUS_CHANGED, orderRepository.save(order));
     }
 
     /**
@@ -189,7 +308,7 @@ public class OrderService {
      */
     @Transactional
     public OrderResponse cancelOrder(UUID id, UUID currentUserId) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new OrderNotFoundException(id));
 
         if (!order.getUser().getId().equals(currentUserId)) {
@@ -201,26 +320,42 @@ public class OrderService {
         }
 
         order.setStatus(OrderStatus.CANCELLED);
-        return orderMapper.toResponse(orderRepository.save(order));
+        return publish(OrderEventType.STATUS_CHANGED, orderRepository.save(order));
     }
 
     /**
-     * Génère une référence de commande unique et aléatoire de 4 caractères.
-     * 
-     * @return Une chaîne de caractères unique.
+     * Ouvre le flux temps réel des commandes pour l'affichage cuisine :
+     * créations et changements de statut, sans polling.
+     *
+     * @param lastEventId Dernier événement reçu avant une reconnexion, ou
+     *                    {@code null}.
+     * @return L'émetteur SSE de la connexion.
+     */
+    public SseEmitter streamOrders(Long lastEventId) {
+        return orderEventBroadcaster.subscribe(lastEventId, event -> true);
+    }
+
+    /**
+     * Ouvre le flux temps réel d'un client, en remplacement du polling de
+     * {@link #getLatestActiveOrder(UUID)} : la commande en cours est lue une
+     * seule fois à la connexion, puis chaque changement de statut est poussé.
+     *
+     * @param userId L'ID du client connecté.
+     * @return L'émetteur SSE de la connexion.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter streamLatestOrder(UUID userId) {
+        return orderEventBroadcaster.subscribeCustomer(userId, () -> getLatestActiveOrder(userId));
+    }
+
+    /**
+     * Publie un événement de commande ; il n'est diffusé qu'après la
+     * validation de la transaction en cours.
      */
-    private String generateUniqueReference() {
-        String characters = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
-        StringBuilder stringBuilder = new StringBuilder();
-        String code;
-        do {
-            stringBuilder.setLength(0);
-            for (int i = 0; i < 4; i++) {
-                stringBuilder.append(characters.charAt(RANDOM.nextInt(characters.length())));
-            }
-            code = stringBuilder.toString();
-        } while (orderRepository.existsByOrderReference(code));
-        return code;
+    private OrderResponse publish(OrderEventType type, Order order) {
+        OrderResponse response = orderMapper.toResponse(order);
+        eventPublisher.publishEvent(new OrderEvent(type, order.getUser().getId(), response));
+        return response;
     }
 
 }
@@ -0,0 +1,17 @@
+package com.fika.api.features.orders.events;
+
+import com.fika.api.features.orders.dto.OrderResponse;
+
+import java.util.UUID;
+
+/**
+ * Événement applicatif publié par {@code OrderService} et diffusé aux abonnés
+ * SSE une fois la transaction validée.
+ *
+ * @param type   La nature de l'événement.
+ * @param userId Le client propriétaire de la commande (routage des flux
+ *               clients).
+ * @param order  L'état de la commande au moment de l'événement.
+ */
+public record OrderEvent(OrderEventType type, UUID userId, OrderResponse order) {
+}
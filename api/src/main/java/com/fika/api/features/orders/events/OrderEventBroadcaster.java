@@ -0,0 +1,376 @@
+package com.fika.api.features.orders.events;
+
+import com.fika.api.features.orders.dto.OrderResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Diffusion en temps réel des événements de commande aux clients SSE.
+ * <p>
+ * Deux types d'abonnés coexistent :
+ * <ul>
+ * <li>les écrans cuisine, qui reçoivent tous les événements filtrés par un
+ * prédicat ;</li>
+ * <li>les clients, indexés par utilisateur : un événement n'est présenté
+ * qu'aux connexions de son propriétaire, quel que soit le nombre de clients
+ * connectés.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Chaque événement validé reçoit un identifiant croissant et est conservé dans
+ * un tampon circulaire borné : un écran cuisine qui se reconnecte avec
+ * {@code Last-Event-ID} reçoit les événements manqués, ou un événement
+ * {@code reset} s'ils ne sont plus disponibles ou si l'identifiant est
+ * inconnu, après un redémarrage (il doit alors recharger la liste par l'API
+ * REST). Un client reçoit à la place, à chaque connexion, un
+ * instantané de sa commande en cours.
+ * </p>
+ * <p>
+ * Les connexions reposent sur le mode asynchrone du servlet : une connexion
+ * inactive n'occupe aucun thread, et sa file d'attente n'est allouée qu'à la
+ * réception d'un événement. Les files sont vidées par un petit pool de threads
+ * partagé. Un abonné dont la file déborde est déconnecté plutôt que de
+ * ralentir les autres.
+ * </p>
+ */
+@Slf4j
+@Component
+public class OrderEventBroadcaster {
+
+    /**
+     * Nom de l'événement envoyé lorsque le rejeu demandé n'est plus disponible.
+     */
+    static final String RESET_EVENT = "reset";
+
+    /**
+     * Nom de l'événement portant l'instantané initial d'un flux client.
+     */
+    static final String CURRENT_EVENT = "CURRENT";
+
+    private static final Entry HEARTBEAT = new Entry(-1, null, null);
+
+    private final int replaySize;
+    private final int subscriberBuffer;
+    private final long timeoutMillis;
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final Counter droppedSubscribers;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Entry> replay;
+    private final Set<Subscriber> kitchenSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Set<Subscriber>> customerSubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger customerCount = new AtomicInteger();
+    private long sequence;
+
+    public OrderEventBroadcaster(MeterRegistry meterRegistry,
+            @Value("${application.orders.stream.replay-size}") int replaySize,
+            @Value("${application.orders.stream.subscriber-buffer}") int subscriberBuffer,
+            @Value("${application.orders.stream.dispatch-threads}") int dispatchThreads,
+            @Value("${application.orders.stream.heartbeat}") Duration heartbeatInterval,
+            @Value("${application.orders.stream.timeout}") Duration timeout) {
+        this.replaySize = replaySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.timeoutMillis = timeout.toMillis();
+        this.replay = new ArrayDeque<>(replaySize);
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads,
+                Thread.ofPlatform().name("order-stream-", 0).daemon().factory());
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("order-stream-heartbeat").daemon().factory());
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        this.droppedSubscribers = Counter.builder("orders.stream.dropped")
+                .description("Abonnés SSE déconnectés car trop lents")
+                .register(meterRegistry);
+        meterRegistry.gauge("orders.stream.subscribers", kitchenSubscribers, Set::size);
+        meterRegistry.gauge("orders.stream.customers", customerCount);
+    }
+
+    /**
+     * Ouvre un flux SSE recevant tous les événements acceptés par le filtre.
+     *
+     * @param lastEventId Dernier identifiant reçu par le client (en-tête
+     *                    {@code Last-Event-ID}), {@code null} pour un premier
+     *                    abonnement.
+     * @param filter      Les événements à transmettre à cet abonné.
+     * @return L'émetteur à renvoyer par le contrôleur.
+     */
+    public SseEmitter subscribe(Long lastEventId, Predicate<OrderEvent> filter) {
+        Subscriber subscriber = new Subscriber(null, filter);
+
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                Entry oldest = replay.peekFirst();
+                long firstAvailable = oldest != null ? oldest.id() : sequence + 1;
+                // Identifiant postérieur au dernier émis : le serveur a redémarré
+                // et la numérotation est repartie de zéro.
+                if (lastEventId + 1 < firstAvailable || lastEventId > sequence) {
+                    subscriber.enqueue(new Entry(sequence, RESET_EVENT, null));
+                } else {
+                    replay.stream().filter(entry -> entry.id() > lastEventId && filter.test(entry.event()))
+                            .forEach(subscriber::enqueue);
+                }
+            }
+            kitchenSubscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        subscriber.start();
+        return subscriber.emitter;
+    }
+
+    /**
+     * Ouvre le flux SSE d'un client : seuls les événements de ses propres
+     * commandes lui sont transmis.
+     * <p>
+     * L'abonné est enregistré avant la lecture de l'instantané : un événement
+     * validé pendant cette lecture est mis en attente et envoyé après
+     * l'instantané, jamais perdu.
+     * </p>
+     *
+     * @param userId   Le client abonné.
+     * @param snapshot Lecture de la commande en cours (seul accès à la base de
+     *                 la connexion), {@code null} si aucune.
+     * @return L'émetteur à renvoyer par le contrôleur.
+     */
+    public SseEmitter subscribeCustomer(UUID userId, Supplier<OrderResponse> snapshot) {
+        Subscriber subscriber = new Subscriber(userId, event -> true);
+        customerSubscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> subscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+        customerCount.incrementAndGet();
+
+        try {
+            subscriber.initial = new Entry(0, CURRENT_EVENT,
+                    new OrderEvent(OrderEventType.STATUS_CHANGED, userId, snapshot.get()));
+        } catch (RuntimeException ex) {
+            subscriber.close();
+            throw ex;
+        }
+        subscriber.start();
+        return subscriber.emitter;
+    }
+
+    /**
+     * Diffuse un événement une fois la transaction qui l'a produit validée :
+     * une commande annulée par un rollback n'est jamais annoncée.
+     *
+     * @param event L'événement publié par le service.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        Set<Subscriber> owners;
+        lock.lock();
+        try {
+            Entry entry = new Entry(++sequence, event.type().name(), event);
+            if (replay.size() == replaySize) {
+                replay.removeFirst();
+            }
+            replay.addLast(entry);
+            for (Subscriber subscriber : kitchenSubscribers) {
+                if (subscriber.filter.test(event)) {
+                    subscriber.enqueue(entry);
+                }
+            }
+            // Sous le verrou comme pour la cuisine : deux validations successives
+            // d'une même commande arrivent au client dans l'ordre des identifiants.
+            owners = event.userId() != null ? customerSubscribers.get(event.userId()) : null;
+            if (owners != null) {
+                owners.forEach(subscriber -> subscriber.enqueue(entry));
+            }
+        } finally {
+            lock.unlock();
+        }
+        kitchenSubscribers.forEach(Subscriber::schedule);
+        if (owners != null) {
+            owners.forEach(Subscriber::schedule);
+        }
+    }
+
+    int subscriberCount() {
+        return kitchenSubscribers.size() + customerCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        kitchenSubscribers.forEach(subscriber -> subscriber.emitter.complete());
+        customerSubscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void sendHeartbeats() {
+        kitchenSubscribers.forEach(Subscriber::heartbeat);
+        customerSubscribers.values().forEach(set -> set.forEach(Subscriber::heartbeat));
+    }
+
+    /**
+     * @param id    Identifiant SSE de l'événement.
+     * @param name  Nom SSE de l'événement, {@code null} pour un heartbeat.
+     * @param event L'événement, {@code null} pour un heartbeat ou un reset.
+     */
+    private record Entry(long id, String name, OrderEvent event) {
+    }
+
+    private final class Subscriber {
+
+        private final UUID userId;
+        private final Predicate<OrderEvent> filter;
+        private final SseEmitter emitter = new SseEmitter(timeoutMillis);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile ConcurrentLinkedQueue<Entry> queue;
+        private volatile Entry initial;
+        private volatile boolean started;
+        private volatile boolean closed;
+
+        private Subscriber(UUID userId, Predicate<OrderEvent> filter) {
+            this.userId = userId;
+            this.filter = filter;
+            emitter.onCompletion(this::unregister);
+            emitter.onTimeout(this::close);
+            emitter.onError(error -> close());
+        }
+
+        private void enqueue(Entry entry) {
+            if (closed) {
+                return;
+            }
+            if (pending.incrementAndGet() > subscriberBuffer) {
+                pending.decrementAndGet();
+                droppedSubscribers.increment();
+                close();
+                return;
+            }
+            queue().offer(entry);
+        }
+
+        private void heartbeat() {
+            if (pending.get() == 0) {
+                enqueue(HEARTBEAT);
+                schedule();
+            }
+        }
+
+        private ConcurrentLinkedQueue<Entry> queue() {
+            ConcurrentLinkedQueue<Entry> current = queue;
+            if (current == null) {
+                synchronized (this) {
+                    if (queue == null) {
+                        queue = new ConcurrentLinkedQueue<>();
+                    }
+                    current = queue;
+                }
+            }
+            return current;
+        }
+
+        private void start() {
+            started = true;
+            schedule();
+        }
+
+        /**
+         * Planifie une vidange de la file si aucune n'est déjà en cours : les
+         * envois d'un même abonné restent séquentiels.
+         */
+        private void schedule() {
+            if (started && !closed && (initial != null || pending.get() > 0)
+                    && scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Entry first = initial;
+                if (first != null) {
+                    initial = null;
+                    emitter.send(toSse(first));
+                }
+                ConcurrentLinkedQueue<Entry> current = queue;
+                Entry entry;
+                while (!closed && current != null && (entry = current.poll()) != null) {
+                    pending.decrementAndGet();
+                    emitter.send(toSse(entry));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Abonné SSE déconnecté : {}", ex.getMessage());
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            schedule();
+        }
+
+        private SseEmitter.SseEventBuilder toSse(Entry entry) {
+            if (entry == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(entry.name());
+            if (entry.id() > 0) {
+                builder.id(Long.toString(entry.id()));
+            }
+            if (entry.event() == null || entry.event().order() == null) {
+                return builder.data("null");
+            }
+            return builder.data(entry.event().order(), MediaType.APPLICATION_JSON);
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                unregister();
+                emitter.complete();
+            }
+        }
+
+        private void unregister() {
+            if (userId == null) {
+                kitchenSubscribers.remove(this);
+                return;
+            }
+            customerSubscribers.computeIfPresent(userId, (id, set) -> {
+                if (set.remove(this)) {
+                    customerCount.decrementAndGet();
+                }
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
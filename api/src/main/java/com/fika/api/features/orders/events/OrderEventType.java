@@ -0,0 +1,15 @@
+package com.fika.api.features.orders.events;
+
+/**
+ * Nature d'un événement de commande diffusé en temps réel.
+ */
+public enum OrderEventType {
+    /**
+     * Nouvelle commande passée par un client.
+     */
+    CREATED,
+    /**
+     * Changement de statut (préparation, prête, annulée...).
+     */
+    STATUS_CHANGED
+}
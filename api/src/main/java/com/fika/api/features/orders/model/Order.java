@@ -18,7 +18,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
  * Entité représentant une commande dans le système.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_order_reference", columnList = "orderReference"))
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -36,9 +36,11 @@ public class Order {
     private UUID id;
 
     /**
-     * Référence lisible de la commande (ex: AB12).
+     * Référence lisible de la commande (ex: AB12). Unique parmi les commandes
+     * en cours ; une référence peut être recyclée après clôture (voir
+     * OrderReferenceAllocator).
      */
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     @Schema(description = "Référence courte de la commande", example = "XJ8K")
     private String orderReference;
 
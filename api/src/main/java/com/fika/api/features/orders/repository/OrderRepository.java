@@ -2,31 +2,110 @@ package com.fika.api.features.orders.repository;
 
 import com.fika.api.features.orders.model.Order;
 import com.fika.api.features.orders.model.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
     Page<Order> findByUserEmailOrderByCreatedAtDesc(String email, Pageable pageable);
 
+    @EntityGraph(attributePaths = "user")
     Page<Order> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
 
+    /**
+     * Variantes {@link Slice} des listes paginées : pas de requête de comptage,
+     * un élément de plus est lu pour savoir s'il reste une page.
+     */
+    @EntityGraph(attributePaths = "user")
+    Slice<Order> findSliceByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Slice<Order> findSliceByOrderByCreatedAtDesc(Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    Slice<Order> findSliceByStatusOrderByCreatedAtAsc(OrderStatus status, Pageable pageable);
+
+    /**
+     * Variantes keyset des listes paginées : l'identifiant est ajouté au tri
+     * pour départager les commandes créées au même instant, et aucune requête
+     * de comptage n'est exécutée.
+     */
+    @EntityGraph(attributePaths = "user")
+    Window<Order> findByUserIdOrderByCreatedAtDesc(UUID userId, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = "user")
+    Window<Order> findAllByOrderByCreatedAtDesc(ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = "user")
+    Window<Order> findAllByStatusOrderByCreatedAtAsc(OrderStatus status, ScrollPosition position, Limit limit);
+
+    /**
+     * Charge en une requête les articles et produits des commandes d'une page
+     * déjà lue. Les commandes retournées sont les mêmes instances que celles
+     * de la page tant que l'on reste dans la même transaction.
+     * <p>
+     * La jointure sur la collection n'est jamais paginée : la pagination se
+     * fait en amont, sur les seuls identifiants.
+     * </p>
+     */
+    @EntityGraph(attributePaths = { "items", "items.product" })
+    List<Order> findAllWithItemsByIdIn(Collection<UUID> ids);
+
+    /**
+     * Charge une commande avec son client, ses articles et leurs produits en
+     * une seule requête.
+     */
+    @EntityGraph(attributePaths = { "user", "items", "items.product" })
+    Optional<Order> findWithDetailsById(UUID id);
+
     boolean existsByOrderReference(String orderReference);
 
+    /**
+     * Réserve le prochain bloc de positions de références. La séquence n'est
+     * pas transactionnelle : un bloc n'est jamais rendu, même en cas de rollback.
+     */
+    @Transactional
+    @Query(value = "SELECT nextval('order_reference_seq')", nativeQuery = true)
+    long nextReferenceBlock();
+
+    /**
+     * Parmi les références candidates, retourne celles qui ne peuvent pas être
+     * recyclées : commande encore active, ou clôturée trop récemment.
+     */
+    @Query("SELECT DISTINCT o.orderReference FROM Order o WHERE o.orderReference IN :references " +
+            "AND (o.status NOT IN :releasedStatuses OR COALESCE(o.updatedAt, o.createdAt) > :releasedBefore)")
+    Set<String> findReferencesInUse(@Param("references") Collection<String> references,
+            @Param("releasedStatuses") Collection<OrderStatus> releasedStatuses,
+            @Param("releasedBefore") Instant releasedBefore);
+
+    @EntityGraph(attributePaths = "user")
     Page<Order> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
+    @EntityGraph(attributePaths = "user")
     Page<Order> findAllByStatusOrderByCreatedAtAsc(OrderStatus status, Pageable pageable);
 
     Optional<Order> findFirstByUserEmailAndStatusInOrderByCreatedAtDesc(
             String email,
             List<OrderStatus> activeStatuses);
 
+    @EntityGraph(attributePaths = "user")
     Optional<Order> findFirstByUserIdAndStatusInOrderByCreatedAtDesc(
             UUID userId,
             List<OrderStatus> activeStatuses);
@@ -0,0 +1,415 @@
+package com.fika.api.features.products;
+
+import com.fika.api.features.products.dto.ProductResponse;
+import com.fika.api.features.products.model.Category;
+import com.fika.api.features.products.model.Product;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/**
+ * Photographie immuable du catalogue, stockée par colonnes.
+ * <p>
+ * Chaque produit occupe un emplacement commun à toutes les colonnes : prix en
+ * centimes, ordinal de catégorie, bit de disponibilité, nom pré-passé en
+ * minuscules. Les filtres de la liste publique ne lisent que ces tableaux
+ * primitifs ; les champs d'affichage ne sont consultés que pour les lignes de
+ * la page renvoyée. Les ordres de tri sont calculés au premier usage puis
+ * conservés avec la photographie ; une modification d'un produit n'y déplace
+ * que ce produit. Les noms sont triés selon la collation française, comme
+ * par la base.
+ * </p>
+ */
+final class CatalogSnapshot {
+
+    /**
+     * Propriétés de tri servies par l'index. Un tri sur une autre propriété, ou
+     * sur plusieurs, est laissé à la base.
+     */
+    enum SortKey {
+        NAME("name"), PRICE("price"), QUANTITY("quantity"), CATEGORY("category"), AVAILABLE("available"),
+        CREATED_AT("createdAt");
+
+        private final String property;
+
+        SortKey(String property) {
+            this.property = property;
+        }
+
+        static SortKey of(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * État d'un produit tel qu'il est indexé, relevé au moment de la
+     * modification.
+     */
+    record Row(UUID id, String name, BigDecimal price, String description, String imgUrl, Category category,
+            int quantity, boolean available, Instant createdAt) {
+
+        static Row of(Product product) {
+            return new Row(product.getId(), product.getName(), product.getPrice(), product.getDescription(),
+                    product.getImgUrl(), product.getCategory(), product.getQuantity(), product.isAvailable(),
+                    product.getCreatedAt());
+        }
+    }
+
+    /**
+     * Rang de chaque catégorie dans l'ordre alphabétique de son nom, qui est
+     * l'ordre de tri de la base (colonne texte).
+     */
+    private static final int[] CATEGORY_RANK = categoryRanks();
+
+    private final int size;
+    private final UUID[] ids;
+    private final String[] names;
+    private final String[] lowerNames;
+    private final BigDecimal[] prices;
+    private final long[] priceCents;
+    private final byte[] categories;
+    private final String[] descriptions;
+    private final String[] imgUrls;
+    private final int[] quantities;
+    private final BitSet available;
+    private final Instant[] createdAt;
+    private final Map<UUID, Integer> slots;
+    private final AtomicReferenceArray<int[]> orders;
+
+    private CatalogSnapshot(int size, UUID[] ids, String[] names, String[] lowerNames, BigDecimal[] prices,
+            long[] priceCents, byte[] categories, String[] descriptions, String[] imgUrls, int[] quantities,
+            BitSet available, Instant[] createdAt, Map<UUID, Integer> slots, AtomicReferenceArray<int[]> orders) {
+        this.size = size;
+        this.ids = ids;
+        this.names = names;
+        this.lowerNames = lowerNames;
+        this.prices = prices;
+        this.priceCents = priceCents;
+        this.categories = categories;
+        this.descriptions = descriptions;
+        this.imgUrls = imgUrls;
+        this.quantities = quantities;
+        this.available = available;
+        this.createdAt = createdAt;
+        this.slots = slots;
+        this.orders = orders;
+    }
+
+    /**
+     * Construit une photographie complète ; l'ordre des lignes fixe l'ordre
+     * des résultats non triés.
+     */
+    static CatalogSnapshot of(List<Row> rows) {
+        int size = rows.size();
+        UUID[] ids = new UUID[size];
+        String[] names = new String[size];
+        String[] lowerNames = new String[size];
+        BigDecimal[] prices = new BigDecimal[size];
+        long[] priceCents = new long[size];
+        byte[] categories = new byte[size];
+        String[] descriptions = new String[size];
+        String[] imgUrls = new String[size];
+        int[] quantities = new int[size];
+        BitSet available = new BitSet(size);
+        Instant[] createdAt = new Instant[size];
+        Map<UUID, Integer> slots = HashMap.newHashMap(size);
+
+        for (int slot = 0; slot < size; slot++) {
+            slots.put(rows.get(slot).id(), slot);
+        }
+        CatalogSnapshot snapshot = new CatalogSnapshot(size, ids, names, lowerNames, prices, priceCents, categories,
+                descriptions, imgUrls, quantities, available, createdAt, slots,
+                new AtomicReferenceArray<>(SortKey.values().length));
+        for (int slot = 0; slot < size; slot++) {
+            snapshot.set(slot, rows.get(slot));
+        }
+        return snapshot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Applique des décrémentations de stock sans reconstruire l'index : seules
+     * les colonnes quantité et disponibilité sont copiées. Comme la mise à jour
+     * en base, un produit dont le stock tombe à zéro devient indisponible.
+     */
+    CatalogSnapshot withStockDecrements(Map<UUID, Integer> decrements) {
+        int[] newQuantities = quantities.clone();
+        BitSet newAvailable = (BitSet) available.clone();
+        for (Map.Entry<UUID, Integer> decrement : decrements.entrySet()) {
+            Integer slot = slots.get(decrement.getKey());
+            if (slot != null) {
+                newQuantities[slot] -= decrement.getValue();
+                if (newQuantities[slot] <= 0) {
+                    newAvailable.clear(slot);
+                }
+            }
+        }
+        AtomicReferenceArray<int[]> keptOrders = new AtomicReferenceArray<>(SortKey.values().length);
+        for (SortKey key : SortKey.values()) {
+            if (key != SortKey.QUANTITY && key != SortKey.AVAILABLE) {
+                keptOrders.set(key.ordinal(), orders.get(key.ordinal()));
+            }
+        }
+        return new CatalogSnapshot(size, ids, names, lowerNames, prices, priceCents, categories, descriptions,
+                imgUrls, newQuantities, newAvailable, createdAt, slots, keptOrders);
+    }
+
+    /**
+     * Ajoute ou remplace un produit. Comme pour le stock, seules les colonnes
+     * sont recopiées, sans reconstruire les lignes ; un ordre de tri déjà
+     * calculé est conservé si la valeur triée ne change pas, sinon seul le
+     * produit y est déplacé.
+     */
+    CatalogSnapshot with(Row row) {
+        Integer existing = slots.get(row.id());
+        int slot = existing != null ? existing : size;
+        int newSize = existing != null ? size : size + 1;
+        Map<UUID, Integer> newSlots = slots;
+        if (existing == null) {
+            newSlots = HashMap.newHashMap(newSize);
+            newSlots.putAll(slots);
+            newSlots.put(row.id(), slot);
+        }
+
+        CatalogSnapshot next = new CatalogSnapshot(newSize, Arrays.copyOf(ids, newSize),
+                Arrays.copyOf(names, newSize), Arrays.copyOf(lowerNames, newSize), Arrays.copyOf(prices, newSize),
+                Arrays.copyOf(priceCents, newSize), Arrays.copyOf(categories, newSize),
+                Arrays.copyOf(descriptions, newSize), Arrays.copyOf(imgUrls, newSize),
+                Arrays.copyOf(quantities, newSize), (BitSet) available.clone(), Arrays.copyOf(createdAt, newSize),
+                newSlots, new AtomicReferenceArray<>(SortKey.values().length));
+        next.set(slot, row);
+
+        for (SortKey key : SortKey.values()) {
+            int[] order = orders.get(key.ordinal());
+            if (order == null) {
+                continue;
+            }
+            if (existing != null && compare(key, next, slot, slot, null) == 0) {
+                next.orders.set(key.ordinal(), order);
+            } else {
+                next.orders.set(key.ordinal(), next.reposition(key, order, slot, existing != null));
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Retire un produit ; la photographie est inchangée s'il est absent. Les
+     * emplacements suivants sont décalés d'un rang, ce qui préserve l'ordre
+     * relatif des lignes et des ordres de tri déjà calculés.
+     */
+    CatalogSnapshot without(UUID id) {
+        Integer removed = slots.get(id);
+        if (removed == null) {
+            return this;
+        }
+        int slot = removed;
+        int newSize = size - 1;
+        UUID[] newIds = withoutIndex(ids, new UUID[newSize], slot, size);
+        Map<UUID, Integer> newSlots = HashMap.newHashMap(newSize);
+        for (int i = 0; i < newSize; i++) {
+            newSlots.put(newIds[i], i);
+        }
+        BitSet newAvailable = available.get(0, slot);
+        BitSet tail = available.get(slot + 1, size);
+        for (int i = tail.nextSetBit(0); i >= 0; i = tail.nextSetBit(i + 1)) {
+            newAvailable.set(slot + i);
+        }
+
+        AtomicReferenceArray<int[]> newOrders = new AtomicReferenceArray<>(SortKey.values().length);
+        for (SortKey key : SortKey.values()) {
+            int[] order = orders.get(key.ordinal());
+            if (order != null) {
+                int[] shifted = new int[newSize];
+                int position = 0;
+                for (int candidate : order) {
+                    if (candidate != slot) {
+                        shifted[position++] = candidate > slot ? candidate - 1 : candidate;
+                    }
+                }
+                newOrders.set(key.ordinal(), shifted);
+            }
+        }
+        return new CatalogSnapshot(newSize, newIds, withoutIndex(names, new String[newSize], slot, size),
+                withoutIndex(lowerNames, new String[newSize], slot, size),
+                withoutIndex(prices, new BigDecimal[newSize], slot, size),
+                withoutIndex(priceCents, new long[newSize], slot, size),
+                withoutIndex(categories, new byte[newSize], slot, size),
+                withoutIndex(descriptions, new String[newSize], slot, size),
+                withoutIndex(imgUrls, new String[newSize], slot, size),
+                withoutIndex(quantities, new int[newSize], slot, size), newAvailable,
+                withoutIndex(createdAt, new Instant[newSize], slot, size), newSlots, newOrders);
+    }
+
+    /**
+     * Parcourt les produits dans l'ordre demandé.
+     *
+     * @param key       Propriété de tri, {@code null} pour l'ordre d'insertion.
+     * @param ascending Sens du tri.
+     * @param position  Rang dans le parcours.
+     * @return L'emplacement du produit à ce rang.
+     */
+    int slotAt(SortKey key, boolean ascending, int position) {
+        int index = ascending ? position : size - 1 - position;
+        return key == null ? index : order(key)[index];
+    }
+
+    boolean matches(int slot, String name, Category category, long minCents, long maxCents,
+            Boolean onlyAvailable) {
+        return (category == null || categories[slot] == category.ordinal())
+                && priceCents[slot] >= minCents
+                && priceCents[slot] <= maxCents
+                && (onlyAvailable == null || available.get(slot) == onlyAvailable)
+                && (name == null || lowerNames[slot].contains(name));
+    }
+
+    ProductResponse response(int slot) {
+        return new ProductResponse(ids[slot], names[slot], prices[slot], descriptions[slot], imgUrls[slot],
+                Category.values()[categories[slot]], quantities[slot], available.get(slot));
+    }
+
+    /**
+     * Remplit un emplacement d'une photographie en cours de construction.
+     */
+    private void set(int slot, Row row) {
+        ids[slot] = row.id();
+        names[slot] = row.name();
+        lowerNames[slot] = row.name().toLowerCase(Locale.ROOT);
+        prices[slot] = row.price();
+        priceCents[slot] = row.price().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        categories[slot] = (byte) row.category().ordinal();
+        descriptions[slot] = row.description();
+        imgUrls[slot] = row.imgUrl();
+        quantities[slot] = row.quantity();
+        available.set(slot, row.available());
+        createdAt[slot] = row.createdAt() != null ? row.createdAt() : Instant.EPOCH;
+    }
+
+    /**
+     * Ordre de tri des emplacements : valeur triée, puis emplacement, comme le
+     * ferait un tri stable de toutes les lignes.
+     */
+    private int[] order(SortKey key) {
+        int[] order = orders.get(key.ordinal());
+        if (order == null) {
+            Comparator<Integer> comparator;
+            if (key == SortKey.NAME) {
+                Collator collator = nameCollator();
+                CollationKey[] collationKeys = new CollationKey[size];
+                for (int slot = 0; slot < size; slot++) {
+                    collationKeys[slot] = collator.getCollationKey(names[slot]);
+                }
+                comparator = Comparator.comparing(slot -> collationKeys[slot]);
+            } else {
+                comparator = (a, b) -> compare(key, this, a, b, null);
+            }
+            order = IntStream.range(0, size).boxed()
+                    .sorted(comparator.thenComparingInt(Integer::intValue))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            orders.set(key.ordinal(), order);
+        }
+        return order;
+    }
+
+    /**
+     * Copie d'un ordre de tri de la photographie précédente dans laquelle
+     * {@code slot} est inséré (ou déplacé) à sa place, trouvée par dichotomie.
+     *
+     * @param replaced {@code true} si l'emplacement figurait déjà dans
+     *                 {@code previous}, {@code false} s'il vient d'être ajouté.
+     */
+    private int[] reposition(SortKey key, int[] previous, int slot, boolean replaced) {
+        int[] order = new int[size];
+        int length = 0;
+        for (int candidate : previous) {
+            if (!replaced || candidate != slot) {
+                order[length++] = candidate;
+            }
+        }
+        Collator collator = key == SortKey.NAME ? nameCollator() : null;
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(key, this, order[middle], slot, collator);
+            if (comparison == 0) {
+                comparison = Integer.compare(order[middle], slot);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        System.arraycopy(order, low, order, low + 1, length - low);
+        order[low] = slot;
+        return order;
+    }
+
+    /**
+     * Compare la valeur triée de l'emplacement {@code a} de cette
+     * photographie à celle de l'emplacement {@code b} de {@code other}.
+     *
+     * @param collator Comparateur des noms, créé à la demande si {@code null}.
+     */
+    private int compare(SortKey key, CatalogSnapshot other, int a, int b, Collator collator) {
+        return switch (key) {
+            case NAME -> (collator != null ? collator : nameCollator()).compare(names[a], other.names[b]);
+            case PRICE -> Long.compare(priceCents[a], other.priceCents[b]);
+            case QUANTITY -> Integer.compare(quantities[a], other.quantities[b]);
+            case CATEGORY -> Integer.compare(CATEGORY_RANK[categories[a]], CATEGORY_RANK[other.categories[b]]);
+            case AVAILABLE -> Boolean.compare(available.get(a), other.available.get(b));
+            case CREATED_AT -> createdAt[a].compareTo(other.createdAt[b]);
+        };
+    }
+
+    /**
+     * Ordre des noms : collation française (accents et casse départagés après
+     * les lettres), celle de la base PostgreSQL qui sert les tris non indexés.
+     * Chaque appel renvoie une instance propre, sans partage entre threads.
+     */
+    private static Collator nameCollator() {
+        return Collator.getInstance(Locale.FRANCE);
+    }
+
+    /**
+     * Copie {@code source} dans {@code target} sans l'élément {@code index}.
+     */
+    private static <A> A withoutIndex(A source, A target, int index, int size) {
+        System.arraycopy(source, 0, target, 0, index);
+        System.arraycopy(source, index + 1, target, index, size - index - 1);
+        return target;
+    }
+
+    private static int[] categoryRanks() {
+        Category[] byName = Category.values().clone();
+        Arrays.sort(byName, Comparator.comparing(Category::name));
+        int[] ranks = new int[byName.length];
+        for (int rank = 0; rank < byName.length; rank++) {
+            ranks[byName[rank].ordinal()] = rank;
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,241 @@
+package com.fika.api.features.products;
+
+import com.fika.api.core.dto.PagedResponse;
+import com.fika.api.features.products.dto.ProductResponse;
+import com.fika.api.features.products.model.Category;
+import com.fika.api.features.products.model.Product;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache du catalogue public : fiches produit par identifiant et pages de la
+ * liste filtrée.
+ * <p>
+ * Les entrées sont bornées en nombre et expirent après un délai fixe. Chaque
+ * écriture du catalogue invalide uniquement ce qu'elle peut rendre faux : la
+ * fiche du produit, les pages qui le contiennent et les pages dont les filtres
+ * le sélectionnent (il peut y entrer, en sortir ou y changer de rang).
+ * L'invalidation est faite immédiatement puis rejouée après la validation de la
+ * transaction, pour qu'une lecture concurrente ne remette pas en cache l'état
+ * précédent.
+ * </p>
+ * <p>
+ * Le chargement s'exécute sur le thread appelant, hors du verrou de la table
+ * du cache : seule une promesse y est insérée, et les lectures concurrentes de
+ * la même clé l'attendent. En Java 21, une requête base exécutée sous ce verrou
+ * (un {@code synchronized}) immobiliserait le thread porteur d'un thread
+ * virtuel pendant toute sa durée.
+ * </p>
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final AsyncCache<UUID, ProductResponse> products;
+    private final AsyncCache<PageKey, PagedResponse<ProductResponse>> pages;
+    private final boolean cachePages;
+
+    public ProductCatalogCache(MeterRegistry meterRegistry,
+            @Value("${application.products.cache.max-products}") long maxProducts,
+            @Value("${application.products.cache.max-pages}") long maxPages,
+            @Value("${application.products.cache.ttl}") Duration ttl) {
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maxProducts)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "products.catalog.items");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "products.catalog.pages");
+        // Caffeine évince en différé : une taille nulle laisserait servir la
+        // dernière page chargée.
+        this.cachePages = maxPages > 0;
+    }
+
+    /**
+     * Renvoie la fiche d'un produit, chargée au premier accès.
+     * <p>
+     * Une exception levée par le chargement (produit inexistant) n'est pas mise
+     * en cache.
+     * </p>
+     *
+     * @param id     Identifiant du produit.
+     * @param loader Chargement depuis la base en cas d'absence.
+     * @return La fiche du produit.
+     */
+    public ProductResponse getProduct(UUID id, Supplier<ProductResponse> loader) {
+        return load(products, id, loader);
+    }
+
+    /**
+     * Renvoie une page de la liste filtrée, chargée au premier accès.
+     *
+     * @param filter   Filtres de la liste.
+     * @param pageable Pagination et tri ; une requête non paginée n'est pas
+     *                 mise en cache, ni aucune page si {@code max-pages} vaut 0.
+     * @param count    {@code true} si la page porte les totaux.
+     * @param loader   Chargement depuis la base en cas d'absence.
+     * @return La page demandée.
+     */
+    public PagedResponse<ProductResponse> getPage(CatalogFilter filter, Pageable pageable, boolean count,
+            Supplier<PagedResponse<ProductResponse>> loader) {
+        if (!cachePages || pageable.isUnpaged()) {
+            return loader.get();
+        }
+        PageKey key = new PageKey(filter, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(),
+                count);
+        return load(pages, key, loader);
+    }
+
+    /**
+     * Renvoie la valeur en cache ou la charge sur le thread appelant ; une
+     * lecture concurrente de la même clé attend ce chargement. Une promesse
+     * en échec est retirée du cache par Caffeine.
+     */
+    private static <K, V> V load(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> cached = cache.get(key, (k, executor) -> loading);
+        if (cached != loading) {
+            try {
+                return cached.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        try {
+            V value = loader.get();
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Invalide ce qu'une création, une modification ou une suppression de
+     * produit peut rendre faux.
+     * <p>
+     * Pour une modification, appeler la méthode avant et après l'application
+     * des changements : l'état du produit est relevé au moment de l'appel.
+     * </p>
+     *
+     * @param product Le produit concerné.
+     */
+    public void evict(Product product) {
+        ProductState state = ProductState.of(product);
+        evict(state.id(), key -> key.filter().matches(state, true));
+    }
+
+    /**
+     * Invalide ce qu'un changement de stock peut rendre faux.
+     * <p>
+     * Seule la disponibilité peut faire entrer ou sortir le produit d'une liste :
+     * les pages sans filtre de disponibilité ne sont invalidées que si elles le
+     * contiennent ou sont triées sur le stock.
+     * </p>
+     *
+     * @param product Le produit dont le stock a changé.
+     */
+    public void evictStock(Product product) {
+        ProductState state = ProductState.of(product);
+        evict(state.id(), key -> (key.filter().onlyAvailable() != null || key.sortsOnStock())
+                && key.filter().matches(state, false));
+    }
+
+    private void evict(UUID id, Predicate<PageKey> affected) {
+        Runnable eviction = () -> {
+            products.synchronous().invalidate(id);
+            // Une page encore en chargement peut lire l'état précédent : elle
+            // est retirée, son résultat ne sera pas conservé.
+            pages.asMap().entrySet().removeIf(entry -> affected.test(entry.getKey())
+                    || contains(entry.getValue(), id));
+        };
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private static boolean contains(CompletableFuture<PagedResponse<ProductResponse>> page, UUID id) {
+        if (!page.isDone() || page.isCompletedExceptionally()) {
+            return true;
+        }
+        return page.join().content().stream().anyMatch(product -> id.equals(product.id()));
+    }
+
+    /**
+     * Filtres de la liste du catalogue, normalisés pour servir de clé.
+     *
+     * @param name          Fragment du nom recherché, ou {@code null}.
+     * @param category      Catégorie, ou {@code null}.
+     * @param minPrice      Prix minimum, ou {@code null}.
+     * @param maxPrice      Prix maximum, ou {@code null}.
+     * @param onlyAvailable Disponibilité exigée, ou {@code null}.
+     */
+    public record CatalogFilter(String name, Category category, BigDecimal minPrice, BigDecimal maxPrice,
+            Boolean onlyAvailable) {
+
+        public CatalogFilter {
+            name = (name != null && !name.isBlank()) ? name.toLowerCase(Locale.ROOT) : null;
+            minPrice = minPrice != null ? minPrice.stripTrailingZeros() : null;
+            maxPrice = maxPrice != null ? maxPrice.stripTrailingZeros() : null;
+        }
+
+        /**
+         * Indique si le produit satisfait ces filtres. Un nom contenant des
+         * jokers SQL est considéré comme correspondant, par prudence.
+         */
+        private boolean matches(ProductState product, boolean checkAvailability) {
+            return (name == null || name.contains("%") || name.contains("_")
+                    || product.name().toLowerCase(Locale.ROOT).contains(name))
+                    && (category == null || category == product.category())
+                    && (minPrice == null || product.price().compareTo(minPrice) >= 0)
+                    && (maxPrice == null || product.price().compareTo(maxPrice) <= 0)
+                    && (!checkAvailability || onlyAvailable == null || onlyAvailable == product.available());
+        }
+    }
+
+    private record PageKey(CatalogFilter filter, int page, int size, Sort sort, boolean count) {
+
+        private boolean sortsOnStock() {
+            return sort.getOrderFor("quantity") != null || sort.getOrderFor("available") != null;
+        }
+    }
+
+    private record ProductState(UUID id, String name, Category category, BigDecimal price, boolean available) {
+
+        private static ProductState of(Product product) {
+            return new ProductState(product.getId(), product.getName(), product.getCategory(), product.getPrice(),
+                    product.isAvailable());
+        }
+    }
+}
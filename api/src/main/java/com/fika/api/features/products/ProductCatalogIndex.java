@@ -0,0 +1,278 @@
+package com.fika.api.features.products;
+
+import com.fika.api.core.dto.PagedResponse;
+import com.fika.api.features.products.CatalogSnapshot.Row;
+import com.fika.api.features.products.CatalogSnapshot.SortKey;
+import com.fika.api.features.products.ProductCatalogCache.CatalogFilter;
+import com.fika.api.features.products.dto.ProductResponse;
+import com.fika.api.features.products.model.Product;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Index en mémoire du catalogue, répondant à la liste filtrée sans requête.
+ * <p>
+ * La requête JPQL de {@link ProductRepository#findWithFilters} combine cinq
+ * prédicats optionnels et un {@code LIKE} sur le nom : aucun index ne peut la
+ * servir et chaque appel parcourt la table. L'index garde une
+ * {@link CatalogSnapshot} par colonnes, remplacée atomiquement à chaque
+ * modification : les lectures ne prennent aucun verrou.
+ * </p>
+ * <p>
+ * Les modifications validées sont appliquées incrémentalement (une commande ne
+ * recopie que les colonnes de stock) et le catalogue est rechargé
+ * périodiquement depuis la base. L'index n'est qu'une vue de lecture : un écart
+ * passager du stock affiché est corrigé au rechargement suivant, la
+ * réservation restant vérifiée en base. Tant qu'il n'est pas chargé, ou pour un
+ * filtre qu'il ne sait pas évaluer, {@link #find} renvoie un résultat vide et
+ * l'appelant interroge la base.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ProductCatalogIndex {
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final Duration refresh;
+    private final ReentrantLock lock = new ReentrantLock();
+    private ScheduledExecutorService reloader;
+
+    private volatile CatalogSnapshot snapshot;
+    /**
+     * Modifications absolues reçues pendant un rechargement, rejouées sur la
+     * nouvelle photographie. Protégé par {@link #lock}.
+     */
+    private List<UnaryOperator<CatalogSnapshot>> pendingDuringReload;
+
+    public ProductCatalogIndex(ProductRepository productRepository,
+            @Value("${application.products.index.enabled}") boolean enabled,
+            @Value("${application.products.index.refresh}") Duration refresh) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.refresh = refresh;
+    }
+
+    /**
+     * Charge l'index au démarrage puis planifie son rechargement périodique.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("catalog-index").daemon().factory());
+        reloader.scheduleWithFixedDelay(this::reloadQuietly, 0, refresh.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Recharge tout le catalogue depuis la base.
+     * <p>
+     * Les créations, modifications et suppressions appliquées pendant la
+     * lecture sont rejouées sur le résultat, pour ne pas réintroduire un
+     * produit supprimé entre-temps.
+     * </p>
+     */
+    public void reload() {
+        lock.lock();
+        try {
+            pendingDuringReload = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        List<Row> rows;
+        try {
+            rows = productRepository.findAll(Sort.by("createdAt", "id")).stream().map(Row::of).toList();
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                pendingDuringReload = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        CatalogSnapshot loaded = CatalogSnapshot.of(rows);
+        lock.lock();
+        try {
+            for (UnaryOperator<CatalogSnapshot> change : pendingDuringReload) {
+                loaded = change.apply(loaded);
+            }
+            pendingDuringReload = null;
+            snapshot = loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sert une page de la liste filtrée depuis l'index.
+     *
+     * @param filter   Filtres de la liste.
+     * @param pageable Pagination et tri.
+     * @param count    {@code true} pour renseigner les totaux.
+     * @return La page, ou vide si l'index n'est pas chargé, si le nom contient
+     *         des jokers SQL ou si le tri porte sur plusieurs propriétés ou une
+     *         propriété non indexée.
+     */
+    public Optional<PagedResponse<ProductResponse>> find(CatalogFilter filter, Pageable pageable, boolean count) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || pageable.isUnpaged()
+                || (filter.name() != null && (filter.name().contains("%") || filter.name().contains("_")))) {
+            return Optional.empty();
+        }
+
+        SortKey key = null;
+        boolean ascending = true;
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() > 1) {
+            return Optional.empty();
+        }
+        if (orders.size() == 1) {
+            key = SortKey.of(orders.getFirst().getProperty());
+            if (key == null || orders.getFirst().isIgnoreCase()) {
+                return Optional.empty();
+            }
+            ascending = orders.getFirst().isAscending();
+        }
+
+        long minCents = filter.minPrice() != null ? cents(filter.minPrice(), RoundingMode.CEILING) : Long.MIN_VALUE;
+        long maxCents = filter.maxPrice() != null ? cents(filter.maxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+        long offset = pageable.getOffset();
+        int pageSize = pageable.getPageSize();
+
+        List<ProductResponse> content = new ArrayList<>(pageSize);
+        long matched = 0;
+        boolean hasNext = false;
+        for (int position = 0; position < current.size(); position++) {
+            int slot = current.slotAt(key, ascending, position);
+            if (!current.matches(slot, filter.name(), filter.category(), minCents, maxCents,
+                    filter.onlyAvailable())) {
+                continue;
+            }
+            if (matched >= offset && content.size() < pageSize) {
+                content.add(current.response(slot));
+            }
+            matched++;
+            if (!count && matched > offset + pageSize) {
+                hasNext = true;
+                break;
+            }
+        }
+
+        return Optional.of(count
+                ? PagedResponse.of(new PageImpl<>(content, pageable, matched))
+                : PagedResponse.of(new SliceImpl<>(content, pageable, hasNext)));
+    }
+
+    /**
+     * Indexe la création ou la modification d'un produit une fois la
+     * transaction validée. L'état est relevé au moment de l'appel.
+     *
+     * @param product Le produit créé ou modifié.
+     */
+    public void put(Product product) {
+        Row row = Row.of(product);
+        afterCommit(current -> current.with(row), true);
+    }
+
+    /**
+     * Retire un produit supprimé une fois la transaction validée.
+     *
+     * @param id Identifiant du produit supprimé.
+     */
+    public void remove(UUID id) {
+        afterCommit(current -> current.without(id), true);
+    }
+
+    /**
+     * Reporte les décrémentations de stock d'une commande validée.
+     *
+     * @param quantities Quantités réservées par produit.
+     */
+    public void decrementStock(Map<UUID, Integer> quantities) {
+        Map<UUID, Integer> decrements = Map.copyOf(quantities);
+        afterCommit(current -> current.withStockDecrements(decrements), false);
+    }
+
+    private void afterCommit(UnaryOperator<CatalogSnapshot> change, boolean replayable) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change, replayable);
+                }
+            });
+        } else {
+            apply(change, replayable);
+        }
+    }
+
+    /**
+     * Applique une modification à la photographie courante. Une décrémentation
+     * reçue pendant un rechargement n'est pas rejouée : la lecture en cours peut
+     * déjà l'inclure.
+     */
+    private void apply(UnaryOperator<CatalogSnapshot> change, boolean replayable) {
+        lock.lock();
+        try {
+            if (snapshot != null) {
+                snapshot = change.apply(snapshot);
+            }
+            if (pendingDuringReload != null && replayable) {
+                pendingDuringReload.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Rechargement de l'index du catalogue impossible : {}", e.getMessage());
+        }
+    }
+
+    private static long cents(BigDecimal price, RoundingMode rounding) {
+        return price.movePointRight(2).setScale(0, rounding).longValue();
+    }
+}
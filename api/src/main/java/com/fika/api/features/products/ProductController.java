@@ -39,8 +39,9 @@ public class ProductController {
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) Boolean onlyAvailable,
-            @ParameterObject @PageableDefault(size = 12, sort = "name") Pageable pageable) {
-        return productService.getAllProducts(name, category, minPrice, maxPrice, onlyAvailable, pageable);
+            @ParameterObject @PageableDefault(size = 12, sort = "name") Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return productService.getAllProducts(name, category, minPrice, maxPrice, onlyAvailable, pageable, count);
     }
 
     @GetMapping("/{id}")
@@ -4,6 +4,7 @@ import com.fika.api.features.products.model.Category;
 import com.fika.api.features.products.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,15 +15,17 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductRepositoryCustom {
         boolean existsByName(String name);
 
-        @Query("SELECT p FROM Product p WHERE " +
+        String FILTERS_QUERY = "SELECT p FROM Product p WHERE " +
                         "(CAST(:name AS string) IS NULL OR LOWER(p.name) LIKE LOWER(CAST(:name AS string))) AND " +
                         "(:category IS NULL OR p.category = :category) AND " +
                         "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
                         "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-                        "(:onlyAvailable IS NULL OR p.available = :onlyAvailable)")
+                        "(:onlyAvailable IS NULL OR p.available = :onlyAvailable)";
+
+        @Query(FILTERS_QUERY)
         Page<Product> findWithFilters(
                         @Param("name") String name,
                         @Param("category") Category category,
@@ -30,4 +33,18 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
                         @Param("maxPrice") BigDecimal maxPrice,
                         @Param("onlyAvailable") Boolean onlyAvailable,
                         Pageable pageable);
+
+        /**
+         * Même filtre que {@link #findWithFilters}, sans requête de comptage :
+         * un élément de plus que la taille de page est lu pour savoir s'il reste
+         * une page.
+         */
+        @Query(FILTERS_QUERY)
+        Slice<Product> findSliceWithFilters(
+                        @Param("name") String name,
+                        @Param("category") Category category,
+                        @Param("minPrice") BigDecimal minPrice,
+                        @Param("maxPrice") BigDecimal maxPrice,
+                        @Param("onlyAvailable") Boolean onlyAvailable,
+                        Pageable pageable);
 }
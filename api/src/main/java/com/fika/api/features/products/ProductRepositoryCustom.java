@@ -0,0 +1,34 @@
+package com.fika.api.features.products;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Opérations de stock ensemblistes qui ne peuvent pas être exprimées par une
+ * requête dérivée Spring Data.
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Décrémente en une seule requête le stock de plusieurs produits.
+     * <p>
+     * Chaque ligne n'est modifiée que si son stock couvre la quantité demandée
+     * ({@code quantity = quantity - ? WHERE quantity >= ?}). Un produit dont le
+     * stock tombe à 0 est marqué indisponible.
+     * </p>
+     *
+     * @param quantities Quantité à retirer par identifiant de produit.
+     * @return Le nombre de produits effectivement décrémentés.
+     */
+    int decrementStock(Map<UUID, Integer> quantities);
+
+    /**
+     * Remplace le stock d'un produit sans lecture préalable et recalcule sa
+     * disponibilité.
+     *
+     * @param id       L'identifiant du produit.
+     * @param quantity La nouvelle quantité.
+     * @return 1 si le produit existe, 0 sinon.
+     */
+    int setStock(UUID id, int quantity);
+}
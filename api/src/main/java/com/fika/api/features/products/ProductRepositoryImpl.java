@@ -0,0 +1,73 @@
+package com.fika.api.features.products;
+
+import com.fika.api.features.products.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implémentation JPQL de {@link ProductRepositoryCustom}.
+ */
+class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int decrementStock(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder delta = new StringBuilder("CASE p.id");
+        for (int i = 0; i < quantities.size(); i++) {
+            delta.append(" WHEN :id").append(i).append(" THEN :qty").append(i);
+        }
+        delta.append(" ELSE 0 END");
+
+        Query query = entityManager.createQuery("UPDATE Product p SET " +
+                "p.quantity = p.quantity - " + delta + ", " +
+                "p.available = CASE WHEN p.quantity - " + delta + " > 0 THEN p.available ELSE false END, " +
+                "p.updatedAt = :now " +
+                "WHERE p.id IN :ids AND p.quantity >= " + delta);
+
+        int i = 0;
+        for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+            query.setParameter("id" + i, entry.getKey());
+            query.setParameter("qty" + i, entry.getValue());
+            i++;
+        }
+        query.setParameter("ids", quantities.keySet());
+        query.setParameter("now", Instant.now());
+
+        int updated = query.executeUpdate();
+        quantities.keySet().forEach(this::detach);
+        return updated;
+    }
+
+    @Override
+    public int setStock(UUID id, int quantity) {
+        int updated = entityManager.createQuery("UPDATE Product p SET " +
+                "p.quantity = :quantity, p.available = :available, p.updatedAt = :now WHERE p.id = :id")
+                .setParameter("quantity", quantity)
+                .setParameter("available", quantity > 0)
+                .setParameter("now", Instant.now())
+                .setParameter("id", id)
+                .executeUpdate();
+        detach(id);
+        return updated;
+    }
+
+    /**
+     * Les mises à jour ensemblistes contournent le contexte de persistance : on
+     * détache l'instance éventuellement chargée pour qu'une lecture ultérieure
+     * voie le nouveau stock.
+     */
+    private void detach(UUID id) {
+        entityManager.detach(entityManager.getReference(Product.class, id));
+    }
+}
@@ -2,14 +2,15 @@ package com.fika.api.features.products;
 
 import com.fika.api.core.dto.PagedResponse;
 import com.fika.api.core.exceptions.product.ProductNotFoundException;
+import com.fika.api.features.inventory.InventoryService;
 import com.fika.api.features.products.dto.ProductRequest;
 import com.fika.api.features.products.dto.ProductResponse;
 import com.fika.api.features.products.model.Category;
 import com.fika.api.features.products.model.Product;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -21,7 +22,10 @@ import java.util.UUID;
  * Service gérant la logique métier des produits du café Fika.
  * <p>
  * Ce service assure la gestion du catalogue (CRUD) et la transformation
- * entre les entités persistantes et les DTO de réponse.
+ * entre les entités persistantes et les DTO de réponse. Les lectures publiques
+ * sont servies par {@link ProductCatalogCache}, que chaque écriture invalide ;
+ * les pages absentes du cache sont calculées par {@link ProductCatalogIndex}
+ * lorsqu'il sait les servir, sinon par la base.
  */
 @Service
 @RequiredArgsConstructor
@@ -29,21 +33,35 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final InventoryService inventoryService;
+    private final ProductCatalogCache catalogCache;
+    private final ProductCatalogIndex catalogIndex;
 
     /**
      * Récupère les produits filtrés et paginés.
      * 
      * @param pageable Pagination et tri (ex: page=0, size=10, sort=price,asc).
+     * @param count    {@code false} pour ne pas exécuter la requête de comptage
+     *                 (réponse sans totaux).
      * @return PagedResponse de {@link ProductResponse} avec métadonnées de
      *         navigation.
      */
     public PagedResponse<ProductResponse> getAllProducts(String name, Category category, BigDecimal minPrice,
-            BigDecimal maxPrice, Boolean onlyAvailable, Pageable pageable) {
+            BigDecimal maxPrice, Boolean onlyAvailable, Pageable pageable, boolean count) {
+        ProductCatalogCache.CatalogFilter filter = new ProductCatalogCache.CatalogFilter(name, category, minPrice,
+                maxPrice, onlyAvailable);
+        return catalogCache.getPage(filter, pageable, count, () -> catalogIndex.find(filter, pageable, count)
+                .orElseGet(() -> findInDatabase(name, category, minPrice, maxPrice, onlyAvailable, pageable, count)));
+    }
+
+    private PagedResponse<ProductResponse> findInDatabase(String name, Category category, BigDecimal minPrice,
+            BigDecimal maxPrice, Boolean onlyAvailable, Pageable pageable, boolean count) {
         String nameFilter = (name != null && !name.isBlank()) ? "%" + name + "%" : null;
-        Page<ProductResponse> productPage = productRepository
-                .findWithFilters(nameFilter, category, minPrice, maxPrice, onlyAvailable, pageable)
-                .map(productMapper::toResponse);
-        return PagedResponse.of(productPage);
+        Slice<Product> products = count
+                ? productRepository.findWithFilters(nameFilter, category, minPrice, maxPrice, onlyAvailable, pageable)
+                : productRepository.findSliceWithFilters(nameFilter, category, minPrice, maxPrice, onlyAvailable,
+                        pageable);
+        return PagedResponse.of(products.map(productMapper::toResponse));
     }
 
     /**
@@ -54,9 +72,9 @@ public class ProductService {
      * @throws ProductNotFoundException si aucun produit ne correspond à l'ID
      */
     public ProductResponse getProductById(UUID id) {
-        return productRepository.findById(id)
+        return catalogCache.getProduct(id, () -> productRepository.findById(id)
                 .map(productMapper::toResponse)
-                .orElseThrow(() -> new ProductNotFoundException(id));
+                .orElseThrow(() -> new ProductNotFoundException(id)));
     }
 
     /**
@@ -69,6 +87,8 @@ public class ProductService {
     public ProductResponse createProduct(ProductRequest productRequest) {
         Product productToSave = productMapper.toEntity(productRequest);
         Product savedProduct = productRepository.save(productToSave);
+        catalogCache.evict(savedProduct);
+        catalogIndex.put(savedProduct);
         return productMapper.toResponse(savedProduct);
     }
 
@@ -87,6 +107,7 @@ public class ProductService {
     public ProductResponse updateProduct(ProductRequest productRequest, UUID id) {
         Product productToUpdate = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
+        catalogCache.evict(productToUpdate);
 
         productToUpdate.setName(productRequest.name());
         productToUpdate.setPrice(productRequest.price());
@@ -97,17 +118,23 @@ public class ProductService {
         productToUpdate.setAvailable(productRequest.available());
 
         productRepository.save(productToUpdate);
+        catalogCache.evict(productToUpdate);
+        catalogIndex.put(productToUpdate);
         return productMapper.toResponse(productToUpdate);
     }
 
+    /**
+     * Remplace le stock d'un produit via {@link InventoryService}, sans
+     * lecture-modification-écriture concurrente avec les commandes.
+     *
+     * @param id       l'identifiant du produit
+     * @param quantity la nouvelle quantité en stock
+     * @return le produit mis à jour
+     * @throws ProductNotFoundException si le produit n'existe pas
+     */
     @Transactional
     public ProductResponse updateStock(UUID id, int quantity) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException(id));
-        product.setQuantity(quantity);
-        product.setAvailable(quantity > 0);
-
-        return productMapper.toResponse(productRepository.save(product));
+        return productMapper.toResponse(inventoryService.setStock(id, quantity));
     }
 
     /**
@@ -118,10 +145,11 @@ public class ProductService {
      */
     @Transactional
     public void deleteProduct(UUID id) {
-        if (!productRepository.existsById(id)) {
-            throw new ProductNotFoundException(id);
-        }
-        productRepository.deleteById(id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+        productRepository.delete(product);
+        catalogCache.evict(product);
+        catalogIndex.remove(id);
     }
 
     public List<Category> getAllCategories() {
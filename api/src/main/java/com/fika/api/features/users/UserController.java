@@ -82,8 +82,9 @@ public class UserController {
     @ApiResponse(responseCode = "200", description = "Liste récupérée avec succès")
     @ApiResponse(responseCode = "403", description = "Accès refusé - Rôle ADMIN requis")
     @PreAuthorize("hasRole('ADMIN')")
-    public PagedResponse<UserResponse> getAllUsers(@ParameterObject Pageable pageable) {
-        return userService.getAllUsers(pageable);
+    public PagedResponse<UserResponse> getAllUsers(@ParameterObject Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean count) {
+        return userService.getAllUsers(pageable, count);
     }
 
     @GetMapping("/{id}")
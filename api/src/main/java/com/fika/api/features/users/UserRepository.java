@@ -2,7 +2,12 @@ package com.fika.api.features.users;
 
 import com.fika.api.features.users.model.User;
 import jakarta.validation.constraints.NotEmpty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +17,19 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByEmail(@NotEmpty String email);
     Optional<User> findByEmail(String email);
+
+    /**
+     * Page d'utilisateurs sans requête de comptage.
+     */
+    Slice<User> findSliceBy(Pageable pageable);
+
+    /**
+     * Remplace le hachage du mot de passe s'il n'a pas changé depuis sa lecture.
+     *
+     * @return Le nombre de lignes modifiées (0 si le mot de passe a changé entre-temps).
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("id") UUID id, @Param("oldPassword") String oldPassword,
+            @Param("newPassword") String newPassword);
 }
@@ -9,8 +9,8 @@ import com.fika.api.core.exceptions.user.UserNotFoundException;
 import com.fika.api.features.users.model.Role;
 import com.fika.api.features.users.model.User;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,12 +32,12 @@ public class UserService {
      * Récupère une page d'utilisateurs enregistrés.
      *
      * @param pageable Les informations de pagination et de tri.
+     * @param count    {@code false} pour ne pas exécuter la requête de comptage.
      * @return Une PagedResponse de UserResponse.
      */
-    public PagedResponse<UserResponse> getAllUsers(Pageable pageable) {
-        Page<UserResponse> userPage = userRepository.findAll(pageable)
-                .map(userMapper::toResponse);
-        return PagedResponse.of(userPage);
+    public PagedResponse<UserResponse> getAllUsers(Pageable pageable, boolean count) {
+        Slice<User> users = count ? userRepository.findAll(pageable) : userRepository.findSliceBy(pageable);
+        return PagedResponse.of(users.map(userMapper::toResponse));
     }
 
     /**
@@ -56,12 +56,15 @@ public class UserService {
 
     /**
      * Crée un nouvel utilisateur après avoir vérifié que l'email est unique.
+     * <p>
+     * Non transactionnelle : le mot de passe est haché entre la vérification
+     * et l'enregistrement, sans retenir de connexion JDBC.
+     * </p>
      *
      * @param userRequest Le DTO contenant les informations de création.
      * @return Le DTO de l'utilisateur créé avec son ID généré.
      * @throws EmailAlreadyExistsException si l'email est déjà utilisé en base.
      */
-    @Transactional
     public UserResponse createUser(UserRequest userRequest) {
         if (userRepository.existsByEmail(userRequest.email())) {
             throw new EmailAlreadyExistsException("L'email " + userRequest.email() + " est déjà utilisé.");
@@ -78,6 +81,7 @@ public class UserService {
      * Cette méthode vérifie d'abord l'existence de l'utilisateur. Si l'email est
      * modifié,
      * elle s'assure que le nouvel email n'est pas déjà utilisé par un autre compte.
+     * Comme pour la création, le mot de passe est haché hors transaction.
      * </p>
      *
      * @param id          L'identifiant unique de l'utilisateur à modifier.
@@ -88,7 +92,6 @@ public class UserService {
      * @throws EmailAlreadyExistsException Si le nouvel email est déjà attribué à un
      *                                     autre utilisateur.
      */
-    @Transactional
     public UserResponse updateUser(UUID id, UserRequest userRequest) {
         User userToUpdate = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
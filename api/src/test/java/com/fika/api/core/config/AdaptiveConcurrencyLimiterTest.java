@@ -0,0 +1,85 @@
+package com.fika.api.core.config;
+
+import com.fika.api.core.config.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Core : Limite de concurrence adaptative")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Priorités : Les anonymes sont refusés avant les requêtes authentifiées et critiques")
+    void shedsLowPriorityFirst() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 10, 1, 10, 1.5, 0.2);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.tryAcquire(Priority.BACKGROUND)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(Priority.BACKGROUND)).isFalse();
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isFalse();
+
+        assertThat(limiter.inFlight()).isEqualTo(10);
+        assertThat(meterRegistry.get("load-shedding.in-flight").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.get("load-shedding.rejected").tag("priority", "background").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Ajustement : La limite baisse quand la latence dépasse la référence")
+    void decreasesWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 50, 5, 100, 1.5, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+            limiter.release(i < 10 ? FAST : SLOW);
+        }
+
+        assertThat(limiter.limit()).isLessThan(50).isGreaterThanOrEqualTo(5);
+        assertThat(meterRegistry.get("load-shedding.limit").gauge().value()).isEqualTo(limiter.limit());
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Ajustement : La limite croît tant qu'elle est atteinte avec une latence stable")
+    void increasesWhenSaturatedWithStableLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 10, 1, 100, 1.5, 0.2);
+        while (limiter.tryAcquire(Priority.CRITICAL)) {
+            // Remplit la limite.
+        }
+
+        for (int i = 0; i < 50; i++) {
+            limiter.release(FAST);
+            limiter.tryAcquire(Priority.CRITICAL);
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("Ajustement : Sans charge, la limite ne croît pas")
+    void keepsLimitWhenUnderused() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 10, 1, 100, 1.5, 0.2);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(Priority.BACKGROUND);
+            limiter.release(FAST);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+}
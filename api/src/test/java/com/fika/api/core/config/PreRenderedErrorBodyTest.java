@@ -0,0 +1,52 @@
+package com.fika.api.core.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Core : Corps pré-rendus des réponses d'erreur")
+class PreRenderedErrorBodyTest {
+
+    @Test
+    @DisplayName("Rendu : Octets réutilisés dans la même seconde, horodatage mis à jour à la suivante")
+    void rendersOncePerSecond() {
+        Instant now = Instant.parse("2026-10-16T12:00:01.250Z");
+        PreRenderedErrorBody first = PreRenderedErrorBody.tooManyRequests(Clock.fixed(now, ZoneOffset.UTC));
+
+        byte[] bytes = first.bytes();
+
+        assertThat(first.bytes()).isSameAs(bytes);
+        assertThat(new String(bytes, StandardCharsets.UTF_8))
+                .isEqualTo("{\"timestamp\": \"2026-10-16T12:00:01\", \"status\": 429, \"error\": \"Too Many Requests\", "
+                        + "\"message\": \"Trop de requêtes. Veuillez ralentir.\"}");
+        assertThat(new String(PreRenderedErrorBody.tooManyRequests(Clock.fixed(now.plusSeconds(1), ZoneOffset.UTC))
+                .bytes(), StandardCharsets.UTF_8)).contains("2026-10-16T12:00:02");
+    }
+
+    @Test
+    @DisplayName("Rendu : Les secondes nulles restent écrites")
+    void keepsZeroSeconds() {
+        PreRenderedErrorBody body = PreRenderedErrorBody.tooManyRequests(
+                Clock.fixed(Instant.parse("2026-10-16T12:00:00.400Z"), ZoneOffset.UTC));
+
+        assertThat(new String(body.bytes(), StandardCharsets.UTF_8))
+                .contains("\"timestamp\": \"2026-10-16T12:00:00\"");
+    }
+
+    @Test
+    @DisplayName("Rendu : Statut, erreur et message propres à chaque corps")
+    void rendersStatusAndMessage() {
+        PreRenderedErrorBody body = PreRenderedErrorBody.serviceUnavailable(
+                Clock.fixed(Instant.parse("2026-10-16T12:00:01Z"), ZoneOffset.UTC));
+
+        assertThat(new String(body.bytes(), StandardCharsets.UTF_8))
+                .contains("\"status\": 503")
+                .contains("\"error\": \"Service indisponible\"");
+    }
+}
@@ -1,17 +1,27 @@
 package com.fika.api.core.config;
 
+import com.fika.api.core.jwt.JwtService;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -27,6 +37,9 @@ class RateLimitFilterTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockitoSpyBean
+    private JwtService jwtService;
+
     @Test
     @DisplayName("RateLimit : Bloque après trop de requêtes sur une route protégée")
     void rateLimitTriggered() throws Exception {
@@ -40,8 +53,53 @@ class RateLimitFilterTest {
         mockMvc.perform(get("/api/v1/products").remoteAddress(uniqueIp))
                 .andDo(print())
                 .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", matchesPattern("[1-9][0-9]*")))
+                .andExpect(jsonPath("$.timestamp").exists())
                 .andExpect(jsonPath("$.status").value(429))
                 .andExpect(jsonPath("$.error").value("Too Many Requests"))
                 .andExpect(jsonPath("$.message").value("Trop de requêtes. Veuillez ralentir."));
     }
+
+    @Test
+    @DisplayName("RateLimit : Politique par utilisateur, deux comptes derrière la même IP ont chacun leur quota")
+    void rateLimitKeyedByUser() throws Exception {
+        String sharedIp = UUID.randomUUID().toString();
+        String first = "Bearer " + token();
+        String second = "Bearer " + token();
+
+        for (int i = 0; i < 30; i++) {
+            mockMvc.perform(get("/api/v1/products").remoteAddress(sharedIp).header("Authorization", first))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/v1/products").remoteAddress(sharedIp).header("Authorization", first))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/v1/products").remoteAddress(sharedIp).header("Authorization", second))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("RateLimit : Une rafale de jetons forgés est refusée par IP avant la vérification de signature")
+    void forgedTokensLimitedBeforeVerification() throws Exception {
+        String uniqueIp = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 30; i++) {
+            mockMvc.perform(get("/api/v1/products").remoteAddress(uniqueIp)
+                            .header("Authorization", "Bearer forged." + UUID.randomUUID() + ".signature"))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/v1/products").remoteAddress(uniqueIp)
+                        .header("Authorization", "Bearer forged." + UUID.randomUUID() + ".signature"))
+                .andExpect(status().isTooManyRequests());
+        verify(jwtService, times(30)).validateAndDecodeToken(anyString());
+    }
+
+    private String token() {
+        return jwtService.generateToken(User.builder()
+                .id(UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .role(Role.CLIENT)
+                .build());
+    }
 }
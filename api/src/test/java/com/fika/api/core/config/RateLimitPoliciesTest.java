@@ -0,0 +1,82 @@
+package com.fika.api.core.config;
+
+import com.fika.api.core.config.RateLimitPolicyProperties.KeyType;
+import com.fika.api.core.config.RateLimitPolicyProperties.Policy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Core : Politiques de limitation")
+class RateLimitPoliciesTest {
+
+    private final RateLimitPolicies policies = RateLimitPolicies.compile(List.of(
+            policy("login", "/api/v1/auth/login", List.of(), List.of()),
+            policy("orders-admin", "/api/v1/orders/**", List.of(), List.of("ADMIN")),
+            policy("order-status", "/api/v1/orders/*/status", List.of("patch"), List.of()),
+            policy("api", "/api/v1/**", List.of(), List.of())));
+
+    @Test
+    @DisplayName("Match : Le segment littéral l'emporte sur les jokers")
+    void literalWins() {
+        assertThat(name("POST", "/api/v1/auth/login", null)).isEqualTo("login");
+        assertThat(name("POST", "/api/v1/auth/register", null)).isEqualTo("api");
+        assertThat(name("GET", "/api/v1", null)).isEqualTo("api");
+    }
+
+    @Test
+    @DisplayName("Match : * couvre un segment, la méthode est prise en compte")
+    void singleSegmentWildcardWithMethod() {
+        assertThat(name("PATCH", "/api/v1/orders/42/status", "CLIENT")).isEqualTo("order-status");
+        assertThat(name("GET", "/api/v1/orders/42/status", "CLIENT")).isEqualTo("api");
+    }
+
+    @Test
+    @DisplayName("Match : Une politique réservée à un rôle ignore les autres appelants")
+    void roleRestriction() {
+        assertThat(name("GET", "/api/v1/orders", "ADMIN")).isEqualTo("orders-admin");
+        assertThat(name("GET", "/api/v1/orders", "CLIENT")).isEqualTo("api");
+        assertThat(name("GET", "/api/v1/orders", null)).isEqualTo("api");
+    }
+
+    @Test
+    @DisplayName("Match : Chemin hors politiques non limité, barres obliques superflues ignorées")
+    void unmatchedAndSlashes() {
+        assertThat(policies.match("GET", "/actuator/health", null)).isNull();
+        assertThat(name("POST", "/api/v1/auth/login/", null)).isEqualTo("login");
+    }
+
+    @Test
+    @DisplayName("Compilation : Nom en double ou ** en milieu de motif refusés")
+    void invalidPolicies() {
+        assertThatThrownBy(() -> RateLimitPolicies.compile(List.of(
+                policy("api", "/api/**", List.of(), List.of()),
+                policy("api", "/api/v1/**", List.of(), List.of()))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimitPolicies.compile(List.of(
+                policy("api", "/api/**/orders", List.of(), List.of()))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Compilation : Modifier une limite change le préfixe des seaux")
+    void bucketPrefixFollowsLimits() {
+        Policy before = policy("api", "/api/**", List.of(), List.of());
+        Policy after = new Policy("api", "/api/**", null, null, KeyType.IP, 60, 60, Duration.ofMinutes(1));
+
+        assertThat(RateLimitPolicies.compile(List.of(before)).entries().getFirst().bucketPrefix())
+                .isNotEqualTo(RateLimitPolicies.compile(List.of(after)).entries().getFirst().bucketPrefix());
+    }
+
+    private String name(String method, String path, String role) {
+        return policies.match(method, path, role).policy().name();
+    }
+
+    private static Policy policy(String name, String pattern, List<String> methods, List<String> roles) {
+        return new Policy(name, pattern, methods, roles, KeyType.IP, 30, 30, Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,68 @@
+package com.fika.api.core.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Core : Rechargement des politiques de limitation")
+class RateLimitPolicyRegistryTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Reload : Le fichier modifié est pris en compte sans redémarrage")
+    void reloadPicksUpChanges() throws IOException {
+        Path file = directory.resolve("rate-limits.yml");
+        write(file, 30);
+        RateLimitPolicyRegistry registry = registry(file);
+
+        assertThat(registry.current().match("GET", "/api/v1/products", null).policy().capacity()).isEqualTo(30);
+
+        write(file, 300);
+        registry.reload();
+
+        assertThat(registry.current().match("GET", "/api/v1/products", null).policy().capacity()).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("Reload : Un fichier invalide laisse les politiques précédentes en vigueur")
+    void invalidReloadKeepsCurrentPolicies() throws IOException {
+        Path file = directory.resolve("rate-limits.yml");
+        write(file, 30);
+        RateLimitPolicyRegistry registry = registry(file);
+        RateLimitPolicies before = registry.current();
+
+        write(file, 0);
+
+        assertThatThrownBy(registry::reload).isInstanceOf(IllegalArgumentException.class);
+        assertThat(registry.current()).isSameAs(before);
+    }
+
+    private RateLimitPolicyRegistry registry(Path file) {
+        return new RateLimitPolicyRegistry(new RateLimitPolicyProperties(file.toUri().toString(), null),
+                new DefaultResourceLoader());
+    }
+
+    private static void write(Path file, int capacity) throws IOException {
+        Files.writeString(file, """
+                application:
+                  rate-limit:
+                    policies:
+                      - name: api
+                        pattern: /api/v1/**
+                        key: user
+                        capacity: %d
+                        refill-tokens: 30
+                        refill-period: 1m
+                """.formatted(capacity));
+    }
+}
@@ -0,0 +1,138 @@
+package com.fika.api.core.config;
+
+import com.fika.api.core.config.RateLimitPolicyProperties.KeyType;
+import com.fika.api.core.config.RateLimitPolicyProperties.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests d'intégration sur le PostgreSQL du {@code docker-compose.yml}, avec
+ * les requêtes de Bucket4j telles qu'elles partent en production.
+ * <p>
+ * Lancer {@code docker compose up db} avec {@code DB_USERNAME} et
+ * {@code DB_PASSWORD} renseignés ; l'URL se change avec
+ * {@code -Dfika.test.postgres.url}. Sans base joignable, la classe est
+ * ignorée et seul {@link RateLimitStoreTest} (H2) s'exécute.
+ * </p>
+ */
+@DisplayName("Core : Seaux de limitation partagés (PostgreSQL)")
+class RateLimitStorePostgresTest {
+
+    private static final String TABLE = "rate_limit_buckets_test";
+
+    private static final RateLimitPolicies.Entry LIMIT = RateLimitPolicies.compile(List.of(
+            new Policy("api", "/api/v1/**", null, null, KeyType.IP, 10, 10, Duration.ofMinutes(1))))
+            .entries().getFirst();
+
+    private static PGSimpleDataSource dataSource;
+    private static boolean reachable;
+
+    @BeforeAll
+    static void connect() {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setURL(System.getProperty("fika.test.postgres.url", "jdbc:postgresql://localhost:5432/fikadb"));
+        dataSource.setUser(System.getenv("DB_USERNAME"));
+        dataSource.setPassword(System.getenv("DB_PASSWORD"));
+        dataSource.setConnectTimeout(2);
+        dataSource.setLoginTimeout(2);
+        try (Connection connection = dataSource.getConnection()) {
+            reachable = connection.isValid(2);
+        } catch (SQLException e) {
+            reachable = false;
+        }
+        assumeTrue(reachable, "PostgreSQL injoignable : tests ignorés");
+    }
+
+    @AfterAll
+    static void dropTable() {
+        if (!reachable) {
+            return;
+        }
+        new JdbcTemplate(dataSource).execute("DROP TABLE IF EXISTS " + TABLE);
+    }
+
+    @Test
+    @DisplayName("Distribué : Deux instances partagent la même limite via PostgreSQL")
+    void instancesShareLimit() {
+        RateLimitStore first = distributed(0);
+        RateLimitStore second = distributed(0);
+        first.createTable();
+        String key = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 10; i++) {
+            RateLimitStore instance = i % 2 == 0 ? first : second;
+            assertThat(instance.tryConsume(LIMIT, key)).isZero();
+        }
+
+        assertThat(first.tryConsume(LIMIT, key)).isPositive();
+        assertThat(second.tryConsume(LIMIT, key)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Distribué : Des requêtes concurrentes sur un seau neuf n'accordent pas plus que sa capacité")
+    void concurrentFirstAccessIsBounded() throws Exception {
+        RateLimitStore first = distributed(0);
+        RateLimitStore second = distributed(0);
+        first.createTable();
+        String key = UUID.randomUUID().toString();
+        AtomicInteger accepted = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                RateLimitStore instance = i % 2 == 0 ? first : second;
+                calls.add(executor.submit(() -> {
+                    if (instance.tryConsume(LIMIT, key) == 0) {
+                        accepted.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        }
+
+        assertThat(accepted).hasValue(10);
+    }
+
+    @Test
+    @DisplayName("Distribué : Le chemin rapide local ne dépasse la limite que de local-tokens par instance")
+    void localFastPathIsBounded() {
+        RateLimitStore first = distributed(2);
+        RateLimitStore second = distributed(2);
+        first.createTable();
+        String key = UUID.randomUUID().toString();
+
+        int accepted = 0;
+        for (int i = 0; i < 30; i++) {
+            RateLimitStore instance = i % 2 == 0 ? first : second;
+            accepted += instance.tryConsume(LIMIT, key) == 0 ? 1 : 0;
+        }
+
+        assertThat(accepted).isBetween(10, 14);
+    }
+
+    private RateLimitStore distributed(long localTokens) {
+        return new RateLimitStore(dataSource, new SimpleMeterRegistry(), true, TABLE, Duration.ofSeconds(5),
+                localTokens, Duration.ofSeconds(1), false);
+    }
+}
@@ -0,0 +1,184 @@
+package com.fika.api.core.config;
+
+import com.fika.api.core.config.RateLimitPolicyProperties.KeyType;
+import com.fika.api.core.config.RateLimitPolicyProperties.Policy;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests d'intégration sur la base H2 des tests, en mode PostgreSQL : le repli
+ * toujours exécutable de {@link RateLimitStorePostgresTest}, qui vérifie les
+ * mêmes garanties sur un vrai PostgreSQL quand il est joignable.
+ * <p>
+ * H2 n'accepte pas la cible de conflit de {@code INSERT ... ON CONFLICT(id) DO
+ * NOTHING} émis par Bucket4j : {@link #h2Compatible} la retire, le reste des
+ * requêtes ({@code SELECT ... FOR UPDATE}, {@code UPDATE}) est exécuté tel
+ * quel.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Core : Seaux de limitation partagés")
+class RateLimitStoreTest {
+
+    private static final RateLimitPolicies.Entry LIMIT = RateLimitPolicies.compile(List.of(
+            new Policy("api", "/api/v1/**", null, null, KeyType.IP, 10, 10, Duration.ofMinutes(1))))
+            .entries().getFirst();
+
+    @Autowired
+    private DataSource testDataSource;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = h2Compatible(testDataSource);
+    }
+
+    @Test
+    @DisplayName("Distribué : Deux instances partagent la même limite via la base")
+    void instancesShareLimit() {
+        RateLimitStore first = distributed(dataSource, new SimpleMeterRegistry(), 0, true);
+        RateLimitStore second = distributed(dataSource, new SimpleMeterRegistry(), 0, true);
+        first.createTable();
+        String key = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 10; i++) {
+            RateLimitStore instance = i % 2 == 0 ? first : second;
+            assertThat(instance.tryConsume(LIMIT, key)).isZero();
+        }
+
+        assertThat(first.tryConsume(LIMIT, key)).isPositive();
+        assertThat(second.tryConsume(LIMIT, key)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Distribué : Le chemin rapide local ne dépasse la limite que de local-tokens par instance")
+    void localFastPathIsBounded() {
+        RateLimitStore first = distributed(dataSource, new SimpleMeterRegistry(), 2, true);
+        RateLimitStore second = distributed(dataSource, new SimpleMeterRegistry(), 2, true);
+        first.createTable();
+        String key = UUID.randomUUID().toString();
+
+        int accepted = 0;
+        for (int i = 0; i < 30; i++) {
+            RateLimitStore instance = i % 2 == 0 ? first : second;
+            accepted += instance.tryConsume(LIMIT, key) == 0 ? 1 : 0;
+        }
+
+        assertThat(accepted).isBetween(10, 14);
+    }
+
+    @Test
+    @DisplayName("Distribué : Base indisponible, fail-open laisse passer et compte l'échec")
+    void failOpen() throws SQLException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitStore store = distributed(unavailable(), meterRegistry, 0, true);
+
+        assertThat(store.tryConsume(LIMIT, UUID.randomUUID().toString())).isZero();
+        assertThat(meterRegistry.get("rate-limit.store.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Distribué : Base indisponible, fail-closed refuse la requête")
+    void failClosed() throws SQLException {
+        RateLimitStore store = distributed(unavailable(), new SimpleMeterRegistry(), 0, false);
+
+        assertThat(store.tryConsume(LIMIT, UUID.randomUUID().toString())).isPositive();
+    }
+
+    @Test
+    @DisplayName("Distribué : Pool dédié épuisé, l'attente d'une connexion est bornée par request-timeout")
+    void exhaustedPoolIsBounded() throws SQLException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Duration requestTimeout = Duration.ofMillis(300);
+        try (HikariDataSource pool = RateLimitStore.pool(dataSourceProperties, 1, requestTimeout);
+                Connection held = pool.getConnection()) {
+            RateLimitStore store = new RateLimitStore(pool, meterRegistry, true, "rate_limit_buckets",
+                    requestTimeout, 0, Duration.ofSeconds(1), true);
+
+            long start = System.nanoTime();
+            assertThat(store.tryConsume(LIMIT, UUID.randomUUID().toString())).isZero();
+
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+            assertThat(meterRegistry.get("rate-limit.store.failures").counter().count()).isEqualTo(1);
+            assertThat(held.isClosed()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Rechargement : Les seaux d'une politique retirée sont oubliés, les autres conservés")
+    void retainDropsRemovedPolicies() {
+        Policy kept = new Policy("kept", "/api/v1/kept/**", null, null, KeyType.IP, 1, 1, Duration.ofHours(1));
+        Policy removed = new Policy("removed", "/api/v1/removed/**", null, null, KeyType.IP, 1, 1,
+                Duration.ofHours(1));
+        RateLimitPolicies before = RateLimitPolicies.compile(List.of(kept, removed));
+        RateLimitStore store = new RateLimitStore(null, new SimpleMeterRegistry(), false, "unused",
+                Duration.ofSeconds(1), 0, Duration.ofSeconds(1), true);
+        for (RateLimitPolicies.Entry entry : before.entries()) {
+            store.tryConsume(entry, "10.0.0.1");
+            assertThat(store.tryConsume(entry, "10.0.0.1")).isPositive();
+        }
+
+        store.retain(RateLimitPolicies.compile(List.of(kept)));
+
+        assertThat(store.tryConsume(before.entries().get(0), "10.0.0.1")).isPositive();
+        assertThat(store.tryConsume(before.entries().get(1), "10.0.0.1")).isZero();
+    }
+
+    private RateLimitStore distributed(DataSource dataSource, SimpleMeterRegistry meterRegistry, long localTokens,
+            boolean failOpen) {
+        return new RateLimitStore(dataSource, meterRegistry, true, "rate_limit_buckets", Duration.ofSeconds(1),
+                localTokens, Duration.ofSeconds(1), failOpen);
+    }
+
+    private DataSource unavailable() throws SQLException {
+        DataSource unavailable = mock(DataSource.class);
+        when(unavailable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        return unavailable;
+    }
+
+    private static DataSource h2Compatible(DataSource target) {
+        return new DelegatingDataSource(target) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                            if (method.getName().equals("prepareStatement") && args.length == 1) {
+                                args[0] = ((String) args[0]).replace("ON CONFLICT(id)", "ON CONFLICT");
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        };
+    }
+}
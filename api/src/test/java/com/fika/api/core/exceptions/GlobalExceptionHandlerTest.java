@@ -1,5 +1,6 @@
 package com.fika.api.core.exceptions;
 
+import com.fika.api.core.exceptions.auth.PasswordHashingUnavailableException;
 import com.fika.api.core.exceptions.product.InsufficientProductQuantityException;
 import com.fika.api.core.exceptions.user.UserNotFoundException;
 import com.fika.api.features.users.UserController;
@@ -13,11 +14,13 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,6 +44,9 @@ class GlobalExceptionHandlerTest {
     @MockitoBean
     private com.fika.api.core.config.RateLimitFilter rateLimitFilter;
 
+    @MockitoBean
+    private com.fika.api.core.config.LoadSheddingFilter loadSheddingFilter;
+
     @MockitoBean
     private com.fika.api.core.exceptions.JwtExceptionHandler jwtExceptionHandler;
 
@@ -71,4 +77,18 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.status").value(400))
                 .andExpect(jsonPath("$.error").value("Stock insuffisant"));
     }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Handle PasswordHashingUnavailableException : Retourne 503 avec Retry-After")
+    void handlePasswordHashingUnavailable() throws Exception {
+        given(userService.getUserById(any()))
+                .willThrow(new PasswordHashingUnavailableException(Duration.ofSeconds(2)));
+
+        mockMvc.perform(get("/api/v1/users/{id}", UUID.randomUUID()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.error").value("Service indisponible"));
+    }
 }
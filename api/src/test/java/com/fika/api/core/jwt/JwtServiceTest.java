@@ -1,16 +1,27 @@
 package com.fika.api.core.jwt;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.fika.api.features.users.model.Role;
 import com.fika.api.features.users.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.springframework.test.util.ReflectionTestUtils;
 
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DisplayName("Service : JWT")
 class JwtServiceTest {
@@ -21,9 +32,7 @@ class JwtServiceTest {
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secretKey", "testSecretKey12345678901234567890");
-        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3600000L);
+        jwtService = new JwtService(JwtKeySet.hmac("testSecretKey12345678901234567890"), 3600000L);
         userId = UUID.randomUUID();
         user = new User();
         user.setId(userId);
@@ -56,4 +65,102 @@ class JwtServiceTest {
         DecodedJWT decodedJWT = jwtService.validateAndDecodeToken(corruptToken);
         assertThat(decodedJWT).isNull();
     }
+
+    @Test
+    @DisplayName("Validation : Un token signé avec une autre clé est rejeté")
+    void validateTokenFromOtherKeyFails() {
+        String foreignToken = new JwtService(JwtKeySet.hmac("anotherSecretKey1234567890123456789"), 3600000L)
+                .generateToken(user);
+
+        assertThat(jwtService.validateAndDecodeToken(foreignToken)).isNull();
+    }
+
+    @Test
+    @DisplayName("Clés : Le jeton porte le kid de la clé active")
+    void tokenCarriesKeyId() {
+        String token = jwtService.generateToken(user);
+
+        assertThat(JWT.decode(token).getKeyId()).startsWith("hs256-");
+    }
+
+    @Test
+    @DisplayName("Clés : Un jeton émis sans kid avec l'ancien secret reste valide")
+    void legacyTokenWithoutKidIsAccepted() {
+        String legacy = JWT.create()
+                .withSubject(userId.toString())
+                .withClaim("role", "ADMIN")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC256("testSecretKey12345678901234567890"));
+
+        assertThat(jwtService.extractUserId(legacy)).isEqualTo(userId);
+    }
+
+    @Test
+    @DisplayName("Rotation : Les jetons de l'ancienne clé restent valides, la nouvelle signe en ES256")
+    void rotationToEs256KeepsPreviousTokensValid() throws Exception {
+        String previous = jwtService.generateToken(user);
+        KeyPair pair = ecKeyPair();
+        JwtKeySet rotated = JwtKeySet.of("es-1",
+                List.of(JwtKeySet.ecdsa("es-1", (ECPublicKey) pair.getPublic(), (ECPrivateKey) pair.getPrivate())),
+                "testSecretKey12345678901234567890");
+        JwtService rotatedService = new JwtService(rotated, 3600000L);
+
+        String current = rotatedService.generateToken(user);
+
+        assertThat(JWT.decode(current).getAlgorithm()).isEqualTo("ES256");
+        assertThat(JWT.decode(current).getKeyId()).isEqualTo("es-1");
+        assertThat(rotatedService.extractUserId(current)).isEqualTo(userId);
+        assertThat(rotatedService.extractUserId(previous)).isEqualTo(userId);
+        assertThat(jwtService.validateAndDecodeToken(current)).isNull();
+    }
+
+    @Test
+    @DisplayName("Clés : Un kid inconnu ou un algorithme substitué sont rejetés")
+    void unknownKidAndAlgorithmConfusionAreRejected() throws Exception {
+        KeyPair pair = ecKeyPair();
+        ECPublicKey publicKey = (ECPublicKey) pair.getPublic();
+        JwtService es256 = new JwtService(JwtKeySet.of("es-1",
+                List.of(JwtKeySet.ecdsa("es-1", publicKey, (ECPrivateKey) pair.getPrivate())), null), 3600000L);
+        String unknownKid = JWT.create().withKeyId("es-2").withSubject(userId.toString())
+                .sign(Algorithm.HMAC256("testSecretKey12345678901234567890"));
+        String confused = JWT.create().withKeyId("es-1").withSubject(userId.toString())
+                .sign(Algorithm.HMAC256(publicKey.getEncoded()));
+
+        assertThat(es256.validateAndDecodeToken(unknownKid)).isNull();
+        assertThat(es256.validateAndDecodeToken(confused)).isNull();
+    }
+
+    @Test
+    @DisplayName("JWKS : Seules les clés publiques sont publiées, lisibles depuis la configuration")
+    void jwksPublishesOnlyPublicKeys() throws Exception {
+        KeyPair pair = ecKeyPair();
+        Base64.Encoder base64 = Base64.getEncoder();
+        JwtKeySet.SigningKey configured = JwtKeySet.fromProperties(new JwtSigningProperties.Key("es-1", "ES256",
+                null, base64.encodeToString(pair.getPrivate().getEncoded()),
+                base64.encodeToString(pair.getPublic().getEncoded())));
+        JwtKeySet keySet = JwtKeySet.of("es-1", List.of(configured), "testSecretKey12345678901234567890");
+
+        List<Map<String, String>> keys = keySet.jwks().get("keys");
+
+        assertThat(keys).singleElement().satisfies(jwk -> {
+            assertThat(jwk).containsEntry("kid", "es-1").containsEntry("kty", "EC").containsEntry("crv", "P-256");
+            assertThat(Base64.getUrlDecoder().decode(jwk.get("x"))).hasSize(32);
+            assertThat(Base64.getUrlDecoder().decode(jwk.get("y"))).hasSize(32);
+        });
+    }
+
+    @Test
+    @DisplayName("Clés : Une clé active sans clé privée est refusée au démarrage")
+    void activeKeyMustSign() throws Exception {
+        KeyPair pair = ecKeyPair();
+        List<JwtKeySet.SigningKey> verifyOnly = List.of(JwtKeySet.ecdsa("es-1", (ECPublicKey) pair.getPublic(), null));
+
+        assertThatThrownBy(() -> JwtKeySet.of("es-1", verifyOnly, null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static KeyPair ecKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
 }
@@ -0,0 +1,89 @@
+package com.fika.api.core.jwt;
+
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Core : Cache des jetons vérifiés")
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "testSecretKey12345678901234567890";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtService jwtService;
+    private VerifiedTokenCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = spy(new JwtService(JwtKeySet.hmac(SECRET), 3600000L));
+        cache = new VerifiedTokenCache(jwtService, meterRegistry, 100);
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setRole(Role.CLIENT);
+    }
+
+    @Test
+    @DisplayName("Résolution : Un jeton déjà vérifié n'est pas revérifié")
+    void repeatedTokenIsVerifiedOnce() {
+        String token = jwtService.generateToken(user);
+
+        JwtPrincipal first = cache.resolve(token);
+        JwtPrincipal second = cache.resolve(token);
+
+        assertThat(first).isEqualTo(new JwtPrincipal(user.getId(), "CLIENT")).isEqualTo(second);
+        verify(jwtService, times(1)).validateAndDecodeToken(anyString());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Résolution : Un jeton refusé n'est jamais mis en cache")
+    void rejectedTokenIsNotCached() {
+        String foreign = new JwtService(JwtKeySet.hmac("anotherSecretKey1234567890123456789"), 3600000L)
+                .generateToken(user);
+
+        assertThat(cache.resolve(foreign)).isNull();
+        assertThat(cache.resolve(foreign)).isNull();
+
+        verify(jwtService, times(2)).validateAndDecodeToken(foreign);
+    }
+
+    @Test
+    @DisplayName("Expiration : L'entrée ne survit pas à l'exp du jeton")
+    void entryExpiresWithToken() throws InterruptedException {
+        JwtService shortLived = spy(new JwtService(JwtKeySet.hmac(SECRET), 1500L));
+        VerifiedTokenCache shortCache = new VerifiedTokenCache(shortLived, meterRegistry, 100);
+        String token = shortLived.generateToken(user);
+        assertThat(shortCache.resolve(token)).isNotNull();
+
+        Thread.sleep(2100);
+
+        assertThat(shortCache.resolve(token)).isNull();
+        verify(shortLived, times(2)).validateAndDecodeToken(token);
+    }
+
+    @Test
+    @DisplayName("Rotation : Vider le cache force une nouvelle vérification")
+    void clearForcesVerification() {
+        String token = jwtService.generateToken(user);
+        cache.resolve(token);
+
+        assertThat(cache.clear()).isEqualTo(1);
+        cache.resolve(token);
+
+        verify(jwtService, times(2)).validateAndDecodeToken(token);
+    }
+}
@@ -47,6 +47,9 @@ class AuthControllerTest {
         @MockitoBean
         private com.fika.api.core.config.RateLimitFilter rateLimitFilter;
 
+        @MockitoBean
+        private com.fika.api.core.config.LoadSheddingFilter loadSheddingFilter;
+
         @MockitoBean
         private com.fika.api.core.exceptions.JwtExceptionHandler jwtExceptionHandler;
 
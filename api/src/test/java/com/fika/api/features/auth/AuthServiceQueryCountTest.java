@@ -0,0 +1,130 @@
+package com.fika.api.features.auth;
+
+import com.fika.api.core.exceptions.auth.RefreshTokenNotFoundException;
+import com.fika.api.features.auth.dto.LoginRequest;
+import com.fika.api.features.auth.dto.LoginResponse;
+import com.fika.api.features.auth.dto.TokenRefreshRequest;
+import com.fika.api.features.auth.dto.TokenRefreshResponse;
+import com.fika.api.features.users.UserRepository;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Service : Authentification (Nombre de requêtes)")
+class AuthServiceQueryCountTest {
+
+    private static final LoginRequest LOGIN = new LoginRequest("rotation@example.com", "password123", "Pixel");
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        userRepository.save(User.builder()
+                .firstName("Jean")
+                .lastName("Dupont")
+                .email(LOGIN.email())
+                .password(passwordEncoder.encode(LOGIN.password()))
+                .role(Role.CLIENT)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Login : Une reconnexion remplace le jeton sur place, sans suppression ni insertion")
+    void loginRotatesInPlace() {
+        authService.login(LOGIN);
+
+        LoginResponse second = statements(() -> authService.login(LOGIN));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(refreshTokenRepository.count()).isEqualTo(1);
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.digest(second.refreshToken())))
+                .isPresent();
+    }
+
+    @Test
+    @DisplayName("Refresh : Jeton et utilisateur lus en une requête, rotation en une mise à jour")
+    void refreshTokenStatementCount() {
+        String refreshToken = authService.login(LOGIN).refreshToken();
+
+        TokenRefreshResponse response = statements(
+                () -> authService.refreshToken(new TokenRefreshRequest(refreshToken)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(response.refreshToken()).isNotEqualTo(refreshToken);
+        assertThat(refreshTokenRepository.findByTokenHash(RefreshTokenService.digest(response.refreshToken())))
+                .isPresent();
+    }
+
+    @Test
+    @DisplayName("Refresh : Un jeton déjà échangé ne peut pas être réutilisé")
+    void refreshTokenIsSingleUse() {
+        String refreshToken = authService.login(LOGIN).refreshToken();
+        authService.refreshToken(new TokenRefreshRequest(refreshToken));
+        entityManager.clear();
+
+        assertThatThrownBy(() -> authService.refreshToken(new TokenRefreshRequest(refreshToken)))
+                .isInstanceOf(RefreshTokenNotFoundException.class);
+    }
+
+    /**
+     * Exécute un appel après avoir vidé le contexte de persistance et remis
+     * les statistiques à zéro.
+     */
+    private <T> T statements(Supplier<T> call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        T result = call.get();
+        entityManager.flush();
+        return result;
+    }
+}
@@ -19,6 +19,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -27,6 +30,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.lenient;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Service : Authentification")
@@ -50,6 +55,9 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private AuthService authService;
 
@@ -72,6 +80,8 @@ class AuthServiceTest {
         registerRequest = new RegisterRequest("John", "Doe", "test@example.com", "password123");
         userResponse = new UserResponse(UUID.randomUUID(), "John", "Doe", "test@example.com", Role.CLIENT);
         loginResponse = new LoginResponse(userResponse, "Fake-token", "Fake-refresh-token");
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
@@ -82,13 +92,33 @@ class AuthServiceTest {
         given(jwtService.generateToken(any())).willReturn("Fake-token");
         RefreshToken rt = new RefreshToken();
         rt.setToken("Fake-refresh-token");
-        given(refreshTokenService.createRefreshToken(any())).willReturn(rt);
+        given(refreshTokenService.createRefreshToken(any(), any())).willReturn(rt);
         given(authMapper.toResponse(user, "Fake-token", "Fake-refresh-token")).willReturn(loginResponse);
 
         LoginResponse result = authService.login(loginRequest);
         assertThat(result).isEqualTo(loginResponse);
     }
 
+    @Test
+    @DisplayName("Login : Ré-hache un mot de passe au coût BCrypt obsolète")
+    void loginRehashesOutdatedPassword() {
+        ReflectionTestUtils.setField(authService, "rehashOnLogin", true);
+        String outdated = user.getPassword();
+        given(userRepository.findByEmail(loginRequest.email())).willReturn(Optional.of(user));
+        given(passwordEncoder.matches(loginRequest.password(), outdated)).willReturn(true);
+        given(passwordEncoder.upgradeEncoding(outdated)).willReturn(true);
+        given(passwordEncoder.encode(loginRequest.password())).willReturn("rehashed");
+        RefreshToken rt = new RefreshToken();
+        rt.setToken("Fake-refresh-token");
+        given(refreshTokenService.createRefreshToken(any(), any())).willReturn(rt);
+        given(userRepository.updatePasswordIfUnchanged(user.getId(), outdated, "rehashed")).willReturn(1);
+
+        authService.login(loginRequest);
+
+        then(userRepository).should().updatePasswordIfUnchanged(user.getId(), outdated, "rehashed");
+        assertThat(user.getPassword()).isEqualTo("rehashed");
+    }
+
     @Test
     @DisplayName("Login : Échec (utilisateur non trouvé)")
     void loginFailUserNotFound() {
@@ -136,11 +166,12 @@ class AuthServiceTest {
 
        RefreshToken newRt = new RefreshToken();
         newRt.setToken("New-refresh-token");
+        newRt.setUser(user);
 
         given(refreshTokenService.findByToken(oldRefreshToken)).willReturn(Optional.of(rt));
         given(refreshTokenService.verifyExpiration(rt)).willReturn(rt);
         given(jwtService.generateToken(user)).willReturn("New-access-token");
-        given(refreshTokenService.createRefreshToken(user)).willReturn(newRt);
+        given(refreshTokenService.rotate(rt)).willReturn(newRt);
 
        TokenRefreshResponse result = authService.refreshToken(request);
         assertThat(result.accessToken()).isEqualTo("New-access-token");
@@ -0,0 +1,57 @@
+package com.fika.api.features.auth;
+
+import com.fika.api.core.jwt.JwtKeySet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(JwksController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Controller : JWKS")
+class JwksControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JwtKeySet jwtKeySet;
+
+    @MockitoBean
+    private com.fika.api.core.jwt.JwtService jwtService;
+
+    @MockitoBean
+    private com.fika.api.core.jwt.JwtFilter jwtFilter;
+
+    @MockitoBean
+    private com.fika.api.core.config.RateLimitFilter rateLimitFilter;
+
+    @MockitoBean
+    private com.fika.api.core.config.LoadSheddingFilter loadSheddingFilter;
+
+    @MockitoBean
+    private com.fika.api.core.exceptions.JwtExceptionHandler jwtExceptionHandler;
+
+    @Test
+    @DisplayName("GET /.well-known/jwks.json : Clés publiques avec cache HTTP")
+    void jwks() throws Exception {
+        given(jwtKeySet.jwks()).willReturn(Map.of("keys", List.of(Map.of("kid", "es-1", "kty", "EC"))));
+
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=300, public"))
+                .andExpect(jsonPath("$.keys[0].kid").value("es-1"));
+    }
+}
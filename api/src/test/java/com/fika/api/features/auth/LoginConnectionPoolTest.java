@@ -0,0 +1,114 @@
+package com.fika.api.features.auth;
+
+import com.fika.api.features.auth.dto.LoginRequest;
+import com.fika.api.features.products.ProductRepository;
+import com.fika.api.features.users.UserRepository;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rafale de connexions contre un pool de deux connexions JDBC. Le hachage
+ * BCrypt (coût 12, deux threads) dure plusieurs secondes au total : si une
+ * connexion le retenait, les lectures du catalogue expireraient après
+ * {@code connection-timeout}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=500",
+        "application.security.password.bcrypt-strength=12",
+        "application.security.password.threads=2",
+        "application.security.password.max-wait=30s"
+})
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Authentification : Connexions JDBC pendant le hachage")
+class LoginConnectionPoolTest {
+
+    private static final int LOGINS = 16;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final List<LoginRequest> requests = new ArrayList<>();
+    private final List<UUID> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String password = passwordEncoder.encode("password123");
+        for (int i = 0; i < LOGINS; i++) {
+            LoginRequest request = new LoginRequest("rafale-" + UUID.randomUUID() + "@example.com", "password123");
+            requests.add(request);
+            userIds.add(userRepository.save(User.builder()
+                    .firstName("Rafale")
+                    .lastName("Midi")
+                    .email(request.email())
+                    .password(password)
+                    .role(Role.CLIENT)
+                    .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    @DisplayName("Rafale : Les lectures du catalogue aboutissent pendant le hachage des connexions")
+    void catalogReadsCompleteDuringLoginBurst() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(LOGINS);
+        List<Future<?>> logins = new ArrayList<>();
+        for (LoginRequest request : requests) {
+            logins.add(clients.submit(() -> authService.login(request)));
+        }
+
+        int reads = 0;
+        try {
+            while (logins.stream().anyMatch(pending -> !pending.isDone())) {
+                productRepository.findAll(PageRequest.of(0, 20));
+                reads++;
+            }
+            for (Future<?> pending : logins) {
+                pending.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertThat(reads).isPositive();
+    }
+}
@@ -0,0 +1,125 @@
+package com.fika.api.features.auth;
+
+import com.fika.api.features.users.UserRepository;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// Base propre au test : à la fermeture du contexte, create-drop ne supprime
+// pas le schéma des autres contextes en cache.
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid};DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@DirtiesContext
+@DisplayName("Migration : Schéma des jetons de rafraîchissement")
+class RefreshTokenSchemaMigrationTest {
+
+    @Autowired
+    private RefreshTokenSchemaMigration migration;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM refresh_tokens");
+    }
+
+    @Test
+    @DisplayName("Migration : Un jeton stocké en clair reste valide et la colonne en clair disparaît")
+    void legacyTokenIsHashed() {
+        User user = userRepository.save(User.builder()
+                .firstName("Jean")
+                .lastName("Dupont")
+                .email("legacy@example.com")
+                .password("password")
+                .role(Role.CLIENT)
+                .build());
+        String legacyToken = UUID.randomUUID().toString();
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens ADD COLUMN token VARCHAR(255)");
+        jdbcTemplate.update("INSERT INTO refresh_tokens (id, token, expiry_date, user_id) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), legacyToken, Timestamp.from(Instant.now().plusSeconds(3600)), user.getId());
+
+        migration.migrate();
+        migration.migrate();
+
+        assertThat(refreshTokenService.findByToken(legacyToken)).get()
+                .extracting(token -> token.getUser().getId()).isEqualTo(user.getId());
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE LOWER(table_name) = 'refresh_tokens' AND LOWER(column_name) = 'token'
+                """, Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Migration : Plusieurs lots de jetons en clair sont tous migrés avant la suppression de la colonne")
+    void legacyTokensAreHashedInBatches() {
+        User user = userRepository.save(User.builder()
+                .firstName("Jean")
+                .lastName("Dupont")
+                .email("batches@example.com")
+                .password("password")
+                .role(Role.CLIENT)
+                .build());
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens ADD COLUMN token VARCHAR(255)");
+        Timestamp expiry = Timestamp.from(Instant.now().plusSeconds(3600));
+        List<String> legacyTokens = IntStream.range(0, RefreshTokenSchemaMigration.BATCH_SIZE * 2 + 1)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO refresh_tokens (id, token, expiry_date, user_id) VALUES (?, ?, ?, ?)",
+                legacyTokens, legacyTokens.size(), (ps, token) -> {
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setString(2, token);
+                    ps.setTimestamp(3, expiry);
+                    ps.setObject(4, user.getId());
+                });
+
+        migration.migrate();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM refresh_tokens WHERE user_id = ? AND token_hash IS NOT NULL", Integer.class,
+                user.getId())).isEqualTo(legacyTokens.size());
+        assertThat(refreshTokenService.findByToken(legacyTokens.getLast())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Migration : L'unicité héritée sur user_id est supprimée, plusieurs sessions deviennent possibles")
+    void uniqueUserConstraintIsDropped() {
+        User user = userRepository.save(User.builder()
+                .firstName("Jean")
+                .lastName("Dupont")
+                .email("devices@example.com")
+                .password("password")
+                .role(Role.CLIENT)
+                .build());
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_tokens_user UNIQUE (user_id)");
+
+        migration.migrate();
+
+        refreshTokenService.createRefreshToken(user, "Téléphone");
+        refreshTokenService.createRefreshToken(user, "Tablette");
+        assertThat(refreshTokenService.getSessions(user.getId())).hasSize(2);
+    }
+}
@@ -1,8 +1,9 @@
 package com.fika.api.features.auth;
 
 import com.fika.api.core.exceptions.auth.RefreshTokenExpiredException;
+import com.fika.api.core.exceptions.auth.RefreshTokenNotFoundException;
+import com.fika.api.core.exceptions.auth.SessionNotFoundException;
 import com.fika.api.features.auth.model.RefreshToken;
-import com.fika.api.features.users.UserRepository;
 import com.fika.api.features.users.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,13 +15,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,9 +34,6 @@ class RefreshTokenServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
-    @Mock
-    private UserRepository userRepository;
-
     @InjectMocks
     private RefreshTokenService refreshTokenService;
 
@@ -42,28 +43,111 @@ class RefreshTokenServiceTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(refreshTokenService, "refreshTokenDurationMs", 604800000L);
+        ReflectionTestUtils.setField(refreshTokenService, "maxSessions", 2);
         user = new User();
         user.setId(UUID.randomUUID());
         user.setEmail("test@example.com");
 
         refreshToken = RefreshToken.builder()
                 .id(UUID.randomUUID())
-                .token(UUID.randomUUID().toString())
+                .tokenHash(RefreshTokenService.digest(UUID.randomUUID().toString()))
                 .user(user)
                 .expiryDate(Instant.now().plusMillis(604800000L))
                 .build();
     }
 
     @Test
-    @DisplayName("Création : Succès et rotation")
-    void createRefreshTokenSuccess() {
-        given(refreshTokenRepository.findByUser(user)).willReturn(Optional.of(refreshToken));
+    @DisplayName("Création : Rotation sur place du jeton de l'appareil")
+    void createRefreshTokenReplacesInPlace() {
+        given(refreshTokenRepository.replaceForDevice(eq(user.getId()), eq("Pixel"), any(byte[].class), any(Instant.class),
+                any(Instant.class))).willReturn(1);
+
+        RefreshToken result = refreshTokenService.createRefreshToken(user, " Pixel ");
+
+        assertThat(result.getUser()).isEqualTo(user);
+        assertThat(result.getDeviceLabel()).isEqualTo("Pixel");
+        assertThat(result.getTokenHash()).isEqualTo(RefreshTokenService.digest(result.getToken()));
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).delete(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Création : Insertion à la première connexion")
+    void createRefreshTokenInsertsFirstToken() {
+        given(refreshTokenRepository.replaceForDevice(eq(user.getId()), eq("Pixel"), any(byte[].class),
+                any(Instant.class), any(Instant.class))).willReturn(0);
+        given(refreshTokenRepository.findSessionIdsByRecentUse(user.getId())).willReturn(List.of(refreshToken.getId()));
         given(refreshTokenRepository.save(any(RefreshToken.class))).willReturn(refreshToken);
-        RefreshToken result = refreshTokenService.createRefreshToken(user);
-        assertThat(result).isNotNull();
-        verify(refreshTokenRepository).delete(refreshToken);
-        verify(refreshTokenRepository).flush();
+
+        RefreshToken result = refreshTokenService.createRefreshToken(user, "Pixel");
+
+        assertThat(result).isEqualTo(refreshToken);
         verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(refreshTokenRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("Création : Sans libellé, chaque connexion ouvre sa propre session")
+    void createRefreshTokenWithoutDeviceNeverReplaces() {
+        given(refreshTokenRepository.save(any(RefreshToken.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(refreshTokenRepository.findSessionIdsByRecentUse(user.getId())).willReturn(List.of());
+
+        RefreshToken first = refreshTokenService.createRefreshToken(user);
+        RefreshToken second = refreshTokenService.createRefreshToken(user, " ");
+
+        assertThat(first.getDeviceLabel()).startsWith(RefreshTokenService.UNKNOWN_DEVICE);
+        assertThat(second.getDeviceLabel()).startsWith(RefreshTokenService.UNKNOWN_DEVICE)
+                .isNotEqualTo(first.getDeviceLabel());
+        verify(refreshTokenRepository, never()).replaceForDevice(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Création : Au-delà du plafond, la session la moins récemment utilisée est révoquée")
+    void createRefreshTokenEvictsLeastRecentlyUsed() {
+        UUID recent = UUID.randomUUID();
+        UUID oldest = UUID.randomUUID();
+        given(refreshTokenRepository.replaceForDevice(eq(user.getId()), eq("Tablette"), any(byte[].class),
+                any(Instant.class), any(Instant.class))).willReturn(0);
+        given(refreshTokenRepository.save(any(RefreshToken.class))).willReturn(refreshToken);
+        given(refreshTokenRepository.findSessionIdsByRecentUse(user.getId()))
+                .willReturn(List.of(refreshToken.getId(), recent, oldest));
+
+        refreshTokenService.createRefreshToken(user, "Tablette");
+
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(oldest));
+    }
+
+    @Test
+    @DisplayName("Révocation : Une session d'un autre utilisateur est introuvable")
+    void revokeSessionOfAnotherUser() {
+        UUID sessionId = UUID.randomUUID();
+        given(refreshTokenRepository.deleteSession(user.getId(), sessionId)).willReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenService.revokeSession(user.getId(), sessionId))
+                .isInstanceOf(SessionNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Rotation : Un jeton déjà échangé est refusé")
+    void rotateAlreadyUsedToken() {
+        given(refreshTokenRepository.rotate(eq(refreshToken.getTokenHash()), any(byte[].class), any(Instant.class),
+                any(Instant.class)))
+                .willReturn(0);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(refreshToken))
+                .isInstanceOf(RefreshTokenNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Recherche : Par empreinte, la valeur en clair n'est jamais envoyée à la base")
+    void findByTokenUsesDigest() {
+        String token = UUID.randomUUID().toString();
+        given(refreshTokenRepository.findWithUserByTokenHash(RefreshTokenService.digest(token)))
+                .willReturn(Optional.of(refreshToken));
+
+        assertThat(refreshTokenService.findByToken(token)).get()
+                .extracting(RefreshToken::getToken).isEqualTo(token);
+        assertThat(RefreshTokenService.digest(token)).hasSize(32);
     }
 
     @Test
@@ -82,11 +166,9 @@ class RefreshTokenServiceTest {
     }
 
     @Test
-    @DisplayName("Suppression : Par ID utilisateur")
+    @DisplayName("Suppression : Toutes les sessions par ID utilisateur")
     void deleteByUserId() {
-        given(userRepository.findById(user.getId())).willReturn(Optional.of(user));
-        given(refreshTokenRepository.findByUser(user)).willReturn(Optional.of(refreshToken));
         refreshTokenService.deleteByUserId(user.getId());
-        verify(refreshTokenRepository).delete(refreshToken);
+        verify(refreshTokenRepository).deleteAllByUserId(user.getId());
     }
 }
@@ -0,0 +1,71 @@
+package com.fika.api.features.auth;
+
+import com.fika.api.features.auth.model.RefreshToken;
+import com.fika.api.features.users.UserRepository;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Purge : Jetons de rafraîchissement expirés")
+class RefreshTokenSweeperTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Purge : Les jetons expirés sont supprimés par lots, les jetons valides conservés")
+    void sweepDeletesExpiredTokensInBatches() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RefreshTokenSweeper sweeper = new RefreshTokenSweeper(refreshTokenRepository, transactionTemplate,
+                meterRegistry, false, Duration.ofHours(1), 2, Duration.ZERO);
+        for (int i = 0; i < 5; i++) {
+            token(Instant.now().minusSeconds(60));
+        }
+        RefreshToken valid = token(Instant.now().plusSeconds(3600));
+
+        long deleted = sweeper.sweep();
+
+        assertThat(deleted).isEqualTo(5);
+        assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getId).containsExactly(valid.getId());
+        assertThat(meterRegistry.get("auth.refresh-tokens.reclaimed").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("auth.refresh-tokens.sweep").timer().count()).isEqualTo(1);
+    }
+
+    private RefreshToken token(Instant expiryDate) {
+        String suffix = UUID.randomUUID().toString();
+        User user = userRepository.save(User.builder()
+                .firstName("Jean")
+                .lastName("Dupont")
+                .email("sweep-" + suffix + "@example.com")
+                .password("password")
+                .role(Role.CLIENT)
+                .build());
+        return refreshTokenRepository.saveAndFlush(RefreshToken.builder()
+                .user(user)
+                .tokenHash(RefreshTokenService.digest(suffix))
+                .expiryDate(expiryDate)
+                .build());
+    }
+}
@@ -0,0 +1,94 @@
+package com.fika.api.features.auth;
+
+import com.fika.api.core.exceptions.auth.SessionNotFoundException;
+import com.fika.api.features.auth.dto.SessionResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SessionController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("Controller : Sessions")
+class SessionControllerTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UsernamePasswordAuthenticationToken client = new UsernamePasswordAuthenticationToken(userId, null,
+            List.of(new SimpleGrantedAuthority("ROLE_CLIENT")));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockitoBean
+    private com.fika.api.core.jwt.JwtService jwtService;
+
+    @MockitoBean
+    private com.fika.api.core.jwt.JwtFilter jwtFilter;
+
+    @MockitoBean
+    private com.fika.api.core.config.RateLimitFilter rateLimitFilter;
+
+    @MockitoBean
+    private com.fika.api.core.config.LoadSheddingFilter loadSheddingFilter;
+
+    @MockitoBean
+    private com.fika.api.core.exceptions.JwtExceptionHandler jwtExceptionHandler;
+
+    @Test
+    @DisplayName("Liste : Appareils connectés de l'utilisateur")
+    void getSessions() throws Exception {
+        given(refreshTokenService.getSessions(any())).willReturn(List.of(
+                new SessionResponse(UUID.randomUUID(), "Téléphone", Instant.now(), Instant.now().plusSeconds(60))));
+
+        mockMvc.perform(get("/api/v1/users/me/sessions").with(authentication(client)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].device").value("Téléphone"));
+    }
+
+    @Test
+    @DisplayName("Révocation : Succès")
+    void revokeSession() throws Exception {
+        UUID sessionId = UUID.randomUUID();
+
+        mockMvc.perform(delete("/api/v1/users/me/sessions/{id}", sessionId).with(csrf()).with(authentication(client)))
+                .andExpect(status().isNoContent());
+
+        verify(refreshTokenService).revokeSession(any(), eq(sessionId));
+    }
+
+    @Test
+    @DisplayName("Révocation : Session inconnue, 404")
+    void revokeUnknownSession() throws Exception {
+        UUID sessionId = UUID.randomUUID();
+        willThrow(new SessionNotFoundException(sessionId)).given(refreshTokenService)
+                .revokeSession(any(), eq(sessionId));
+
+        mockMvc.perform(delete("/api/v1/users/me/sessions/{id}", sessionId).with(csrf()).with(authentication(client)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Session introuvable"));
+    }
+}
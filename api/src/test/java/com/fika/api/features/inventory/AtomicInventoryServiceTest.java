@@ -0,0 +1,127 @@
+package com.fika.api.features.inventory;
+
+import com.fika.api.core.exceptions.product.InsufficientProductQuantityException;
+import com.fika.api.core.exceptions.product.ProductNotFoundException;
+import com.fika.api.features.products.ProductCatalogCache;
+import com.fika.api.features.products.ProductCatalogIndex;
+import com.fika.api.features.products.ProductRepository;
+import com.fika.api.features.products.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Service : Inventaire")
+class AtomicInventoryServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductCatalogCache catalogCache;
+
+    @Mock
+    private ProductCatalogIndex catalogIndex;
+
+    @InjectMocks
+    private AtomicInventoryService inventoryService;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder()
+                .id(UUID.randomUUID())
+                .name("Café")
+                .price(new BigDecimal("2.50"))
+                .quantity(10)
+                .available(true)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Reserve : Décrémentation atomique de la totalité du stock")
+    void reserveExactStock() {
+        given(productRepository.findAllById(any())).willReturn(List.of(product));
+        given(productRepository.decrementStock(any())).willReturn(1);
+
+        Map<UUID, Product> result = inventoryService.reserve(Map.of(product.getId(), 10));
+
+        assertThat(result).containsEntry(product.getId(), product);
+        verify(productRepository).decrementStock(Map.of(product.getId(), 10));
+        verify(catalogCache).evictStock(product);
+        verify(catalogIndex).decrementStock(Map.of(product.getId(), 10));
+    }
+
+    @Test
+    @DisplayName("Reserve : Erreur si produit introuvable")
+    void reserveProductNotFound() {
+        given(productRepository.findAllById(any())).willReturn(List.of());
+
+        assertThatThrownBy(() -> inventoryService.reserve(Map.of(product.getId(), 1)))
+                .isInstanceOf(ProductNotFoundException.class);
+        verify(productRepository, never()).decrementStock(any());
+    }
+
+    @Test
+    @DisplayName("Reserve : Échec si un produit du panier est en rupture (aucune décrémentation)")
+    void reserveMultiItemFail() {
+        Product productB = Product.builder().id(UUID.randomUUID()).name("Prod B").price(BigDecimal.TEN).quantity(1)
+                .available(true).build();
+        given(productRepository.findAllById(any())).willReturn(List.of(product, productB));
+
+        assertThatThrownBy(() -> inventoryService.reserve(Map.of(product.getId(), 2, productB.getId(), 5)))
+                .isInstanceOf(InsufficientProductQuantityException.class);
+        verify(productRepository, never()).decrementStock(any());
+    }
+
+    @Test
+    @DisplayName("Reserve : Erreur si le stock a été consommé par une commande concurrente")
+    void reserveConcurrentStockConflict() {
+        Product drained = Product.builder().id(product.getId()).name("Café").price(product.getPrice()).quantity(1)
+                .available(true).build();
+        given(productRepository.findAllById(any())).willReturn(List.of(product), List.of(drained));
+        given(productRepository.decrementStock(any())).willReturn(0);
+
+        assertThatThrownBy(() -> inventoryService.reserve(Map.of(product.getId(), 2)))
+                .isInstanceOf(InsufficientProductQuantityException.class)
+                .hasMessageContaining("Disponible: 1");
+    }
+
+    @Test
+    @DisplayName("SetStock : Mise à jour sans lecture préalable puis relecture")
+    void setStockSuccess() {
+        given(productRepository.setStock(product.getId(), 0)).willReturn(1);
+        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+
+        assertThat(inventoryService.setStock(product.getId(), 0)).isEqualTo(product);
+        verify(catalogCache).evictStock(product);
+    }
+
+    @Test
+    @DisplayName("SetStock : Erreur si produit introuvable")
+    void setStockNotFound() {
+        given(productRepository.setStock(product.getId(), 5)).willReturn(0);
+
+        assertThatThrownBy(() -> inventoryService.setStock(product.getId(), 5))
+                .isInstanceOf(ProductNotFoundException.class);
+        verify(productRepository, never()).findById(any());
+    }
+}
@@ -0,0 +1,137 @@
+package com.fika.api.features.inventory;
+
+import com.fika.api.core.exceptions.product.InsufficientProductQuantityException;
+import com.fika.api.features.orders.OrderService;
+import com.fika.api.features.orders.dto.OrderItemRequest;
+import com.fika.api.features.orders.dto.OrderRequest;
+import com.fika.api.features.orders.repository.OrderRepository;
+import com.fika.api.features.products.ProductRepository;
+import com.fika.api.features.products.model.Category;
+import com.fika.api.features.products.model.Product;
+import com.fika.api.features.users.UserRepository;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rush du midi : 200 acheteurs simultanés sur un seul produit dont le stock ne
+ * couvre que la moitié de la demande. Le test n'est pas transactionnel pour
+ * que chaque commande soit réellement validée en base.
+ * <p>
+ * Chaque acheteur obtient soit sa commande, soit une
+ * {@link InsufficientProductQuantityException} ; toute autre erreur
+ * (interblocage, conflit de verrouillage) fait échouer le test.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Inventaire : Stress test produit populaire")
+class InventoryStressTest {
+
+    private static final int BUYERS = 200;
+    private static final int STOCK = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID userId;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+                .firstName("Rush")
+                .lastName("Midi")
+                .email("rush-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(Role.CLIENT)
+                .build()).getId();
+
+        productId = productRepository.save(Product.builder()
+                .name("Kanelbulle du jour")
+                .price(new BigDecimal("3.50"))
+                .description("D")
+                .imgUrl("U")
+                .category(Category.DESSERT)
+                .quantity(STOCK)
+                .available(true)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(orderRepository.findByUserIdOrderByCreatedAtDesc(userId, Pageable.unpaged()));
+        productRepository.deleteById(productId);
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    @DisplayName("Concurrence : Aucune survente avec 200 acheteurs pour 100 unités")
+    void noOversellUnderContention() throws InterruptedException {
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger outOfStock = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        OrderRequest request = new OrderRequest(List.of(new OrderItemRequest(productId, 1)));
+
+        ExecutorService buyers = Executors.newFixedThreadPool(BUYERS);
+        for (int i = 0; i < BUYERS; i++) {
+            buyers.submit(() -> {
+                try {
+                    start.await();
+                    orderService.createOrder(request, userId);
+                    sold.incrementAndGet();
+                } catch (InsufficientProductQuantityException e) {
+                    outOfStock.incrementAndGet();
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        buyers.shutdown();
+        // Borne large : une file d'attente sur un verrou ou un interblocage la
+        // dépasse, pas une machine lente. Le débit est mesuré par InventoryBenchmark.
+        assertThat(buyers.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(unexpected).isEmpty();
+        assertThat(sold.get()).isEqualTo(STOCK);
+        assertThat(outOfStock.get()).isEqualTo(BUYERS - STOCK);
+
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertThat(product.getQuantity()).isZero();
+        assertThat(product.isAvailable()).isFalse();
+        assertThat(orderRepository.findByUserIdOrderByCreatedAtDesc(userId, Pageable.unpaged()).getTotalElements())
+                .isEqualTo(STOCK);
+    }
+}
@@ -1,6 +1,7 @@
 package com.fika.api.features.orders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fika.api.core.dto.CursorResponse;
 import com.fika.api.core.dto.PagedResponse;
 import com.fika.api.features.orders.dto.OrderItemRequest;
 import com.fika.api.features.orders.dto.OrderRequest;
@@ -58,6 +59,9 @@ class OrderControllerTest {
         @MockitoBean
         private com.fika.api.core.config.RateLimitFilter rateLimitFilter;
 
+        @MockitoBean
+        private com.fika.api.core.config.LoadSheddingFilter loadSheddingFilter;
+
         @MockitoBean
         private com.fika.api.core.exceptions.JwtExceptionHandler jwtExceptionHandler;
 
@@ -81,7 +85,7 @@ class OrderControllerTest {
         void getAllOrders() throws Exception {
                 Page<OrderResponse> page = new PageImpl<>(List.of(orderResponse));
                 PagedResponse<OrderResponse> pagedResponse = PagedResponse.of(page);
-                given(orderService.getAllOrders(any(Pageable.class))).willReturn(pagedResponse);
+                given(orderService.getAllOrders(any(Pageable.class), anyBoolean())).willReturn(pagedResponse);
 
                 mockMvc.perform(get("/api/v1/orders"))
                                 .andDo(print())
@@ -90,13 +94,28 @@ class OrderControllerTest {
                                 .andExpect(jsonPath("$.totalElements").value(1));
         }
 
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Scroll : Parcours des commandes par curseur (ADMIN)")
+        void scrollAllOrders() throws Exception {
+                given(orderService.scrollAllOrders(eq("abc"), eq(5)))
+                                .willReturn(CursorResponse.of(List.of(orderResponse), 5, "def"));
+
+                mockMvc.perform(get("/api/v1/orders/scroll").param("cursor", "abc").param("size", "5"))
+                                .andDo(print())
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].orderReference").value("ABCD"))
+                                .andExpect(jsonPath("$.nextCursor").value("def"))
+                                .andExpect(jsonPath("$.last").value(false));
+        }
+
         @Test
         @DisplayName("GetMyOrders : Liste mes commandes")
         void getMyOrders() throws Exception {
                 Page<OrderResponse> page = new PageImpl<>(List.of(orderResponse));
                 PagedResponse<OrderResponse> pagedResponse = PagedResponse.of(page);
                 UUID userId = UUID.randomUUID();
-                given(orderService.getOrderByUserId(any(), any())).willReturn(pagedResponse);
+                given(orderService.getOrderByUserId(any(), any(), anyBoolean())).willReturn(pagedResponse);
 
                 mockMvc.perform(get("/api/v1/orders/my-order")
                                 .with(authentication(new UsernamePasswordAuthenticationToken(userId, null,
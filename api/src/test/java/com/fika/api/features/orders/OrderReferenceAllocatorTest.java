@@ -0,0 +1,109 @@
+package com.fika.api.features.orders;
+
+import com.fika.api.core.exceptions.order.OrderReferenceExhaustedException;
+import com.fika.api.features.orders.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Service : Références de commande")
+class OrderReferenceAllocatorTest {
+
+    private static final int BLOCK_SIZE = 8;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderReferenceAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        allocator = new OrderReferenceAllocator(orderRepository, jdbcTemplate, meterRegistry, BLOCK_SIZE,
+                Duration.ofHours(24), 388042);
+    }
+
+    @Test
+    @DisplayName("Permutation : Chaque position d'un cycle donne un code distinct")
+    void permutationIsBijective() {
+        BitSet seen = new BitSet(OrderReferenceAllocator.CODE_SPACE);
+        for (int position = 0; position < OrderReferenceAllocator.CODE_SPACE; position++) {
+            int index = allocator.permute(position);
+            assertThat(seen.get(index)).isFalse();
+            seen.set(index);
+        }
+        assertThat(seen.cardinality()).isEqualTo(OrderReferenceAllocator.CODE_SPACE);
+    }
+
+    @Test
+    @DisplayName("Next : Une seule réservation de bloc pour plusieurs commandes")
+    void nextUsesOneBlockForManyOrders() {
+        given(orderRepository.nextReferenceBlock()).willReturn(0L);
+        given(orderRepository.findReferencesInUse(anyCollection(), anyCollection(), any())).willReturn(Set.of());
+
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            codes.add(allocator.next());
+        }
+
+        assertThat(codes).hasSize(BLOCK_SIZE)
+                .allMatch(code -> code.length() == 4)
+                .allMatch(code -> code.chars().allMatch(c -> OrderReferenceAllocator.ALPHABET.indexOf(c) >= 0));
+        verify(orderRepository, times(1)).nextReferenceBlock();
+        assertThat(meterRegistry.counter("orders.reference.pool.refills").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Next : Les références encore utilisées sont écartées")
+    @SuppressWarnings("unchecked")
+    void nextSkipsReferencesInUse() {
+        given(orderRepository.nextReferenceBlock()).willReturn(0L);
+        given(orderRepository.findReferencesInUse(anyCollection(), anyCollection(), any())).willAnswer(invocation -> {
+            Collection<String> candidates = invocation.getArgument(0);
+            return candidates.stream().limit(BLOCK_SIZE - 1).collect(Collectors.toSet());
+        });
+
+        String code = allocator.next();
+
+        assertThat(code).isNotNull();
+        assertThat(allocator.available()).isZero();
+        assertThat(meterRegistry.counter("orders.reference.pool.skipped").count()).isEqualTo(BLOCK_SIZE - 1);
+    }
+
+    @Test
+    @DisplayName("Next : Erreur et compteur d'épuisement si aucune référence n'est libre")
+    void nextFailsWhenExhausted() {
+        given(orderRepository.nextReferenceBlock()).willReturn(0L);
+        given(orderRepository.findReferencesInUse(anyCollection(), anyCollection(), any()))
+                .willAnswer(invocation -> new HashSet<>(invocation.<Collection<String>>getArgument(0)));
+
+        assertThatThrownBy(() -> allocator.next())
+                .isInstanceOf(OrderReferenceExhaustedException.class);
+        assertThat(meterRegistry.counter("orders.reference.pool.exhausted").count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.fika.api.features.orders;
+
+import com.fika.api.features.orders.model.Order;
+import com.fika.api.features.orders.model.OrderStatus;
+import com.fika.api.features.orders.repository.OrderRepository;
+import com.fika.api.features.users.UserRepository;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// Base dédiée : le contexte sali n'emporte pas le schéma partagé.
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid};DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@DirtiesContext
+@DisplayName("Migration : Unicité des références de commande")
+class OrderSchemaMigrationTest {
+
+    @Autowired
+    private OrderSchemaMigration migration;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Migration : L'unicité héritée sur order_reference est supprimée, une référence peut être recyclée")
+    void uniqueReferenceConstraintIsDropped() {
+        User user = userRepository.save(User.builder()
+                .firstName("Jean")
+                .lastName("Dupont")
+                .email("recycle@example.com")
+                .password("password")
+                .role(Role.CLIENT)
+                .build());
+        jdbcTemplate.execute("ALTER TABLE orders ADD CONSTRAINT uk_orders_reference UNIQUE (order_reference)");
+
+        migration.migrate();
+        migration.migrate();
+
+        orderRepository.saveAndFlush(order(user, OrderStatus.COMPLETED));
+        orderRepository.saveAndFlush(order(user, OrderStatus.PENDING));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE order_reference = 'XJ8K'", Integer.class)).isEqualTo(2);
+    }
+
+    private static Order order(User user, OrderStatus status) {
+        return Order.builder()
+                .user(user)
+                .orderReference("XJ8K")
+                .total(new BigDecimal("10.00"))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,272 @@
+package com.fika.api.features.orders;
+
+import com.fika.api.core.dto.CursorResponse;
+import com.fika.api.features.orders.dto.OrderItemRequest;
+import com.fika.api.features.orders.dto.OrderRequest;
+import com.fika.api.features.orders.dto.OrderResponse;
+import com.fika.api.features.orders.model.OrderStatus;
+import com.fika.api.features.products.ProductRepository;
+import com.fika.api.features.products.model.Category;
+import com.fika.api.features.products.model.Product;
+import com.fika.api.features.users.UserRepository;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Service : Commandes (Nombre de requêtes)")
+class OrderServiceQueryCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderReferenceAllocator orderReferenceAllocator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID userId;
+    private final List<UUID> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Les références sont réservées par blocs : on s'assure qu'aucun
+        // rechargement du bloc ne tombe pendant la mesure.
+        while (orderReferenceAllocator.available() < 2) {
+            orderReferenceAllocator.next();
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        userId = userRepository.save(User.builder()
+                .firstName("Jean")
+                .lastName("Dupont")
+                .email("count@example.com")
+                .password("password")
+                .role(Role.CLIENT)
+                .build()).getId();
+
+        IntStream.range(0, 12).forEach(i -> productIds.add(productRepository.save(Product.builder()
+                .name("Produit " + i)
+                .price(new BigDecimal("4.50"))
+                .description("D")
+                .imgUrl("U")
+                .category(Category.PLAT)
+                .quantity(50)
+                .available(true)
+                .build()).getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Create : Le nombre de requêtes hors insertions ne dépend pas du nombre de lignes")
+    void createOrderStatementCountIsConstant() {
+        long oneLine = statementsExcludingInserts(1);
+        long twelveLines = statementsExcludingInserts(12);
+
+        assertThat(twelveLines).isEqualTo(oneLine);
+        assertThat(twelveLines).isLessThanOrEqualTo(3);
+        assertThat(statistics.getEntityStatistics(Product.class.getName()).getUpdateCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Create : La décrémentation ensembliste met bien à jour chaque produit")
+    void createOrderDecrementsEveryProduct() {
+        statementsExcludingInserts(12);
+
+        assertThat(productRepository.findAllById(productIds))
+                .extracting(Product::getQuantity)
+                .containsOnly(49);
+    }
+
+    private long statementsExcludingInserts(int lines) {
+        OrderRequest request = new OrderRequest(productIds.subList(0, lines).stream()
+                .map(id -> new OrderItemRequest(id, 1))
+                .toList());
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        orderService.createOrder(request, userId);
+
+        return statistics.getPrepareStatementCount() - statistics.getEntityInsertCount();
+    }
+
+    @Test
+    @DisplayName("Lecture : Une page admin se charge en 3 requêtes, quel que soit le nombre de commandes")
+    void getAllOrdersStatementCount() {
+        createOrders(12);
+
+        assertThat(statements(() -> orderService.getAllOrders(PageRequest.of(0, 5), true).content())).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Lecture : Sans comptage, une page admin se charge en 2 requêtes")
+    void getAllOrdersWithoutCountStatementCount() {
+        createOrders(12);
+
+        assertThat(statements(() -> orderService.getAllOrders(PageRequest.of(0, 5), false).content())).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Lecture : La liste cuisine par statut se charge en 3 requêtes")
+    void getOrdersByStatusStatementCount() {
+        createOrders(12);
+
+        assertThat(statements(() -> orderService.getOrdersByStatus(OrderStatus.PENDING, PageRequest.of(0, 5), true)
+                .content())).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Lecture : L'historique client (my-order) se charge en 3 requêtes")
+    void getOrderByUserIdStatementCount() {
+        createOrders(12);
+
+        assertThat(statements(() -> orderService.getOrderByUserId(userId, PageRequest.of(0, 5), true).content()))
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Lecture : Le détail d'une commande se charge en une requête")
+    void getOrderByIdStatementCount() {
+        UUID orderId = createOrders(1).get(0);
+
+        assertThat(statements(() -> orderService.getOrderById(orderId, userId, false))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Lecture : La dernière commande active se charge en 2 requêtes")
+    void getLatestActiveOrderStatementCount() {
+        createOrders(3);
+
+        assertThat(statements(() -> orderService.getLatestActiveOrder(userId))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Écriture : Un changement de statut coûte une lecture et une mise à jour")
+    void changeOrderStatusStatementCount() {
+        UUID orderId = createOrders(1).get(0);
+
+        assertThat(statements(() -> {
+            OrderResponse response = orderService.changeOrderStatus(orderId, OrderStatus.READY);
+            entityManager.flush();
+            return response;
+        })).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Écriture : Une annulation coûte une lecture et une mise à jour")
+    void cancelOrderStatementCount() {
+        UUID orderId = createOrders(1).get(0);
+
+        assertThat(statements(() -> {
+            OrderResponse response = orderService.cancelOrder(orderId, userId);
+            entityManager.flush();
+            return response;
+        })).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Curseur : Chaque page coûte 2 requêtes, sans comptage, et le parcours est complet")
+    void scrollOrdersByUserIdVisitsEveryOrderOnce() {
+        List<UUID> created = createOrders(12);
+        List<UUID> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            String current = cursor;
+            long statements = statements(() -> orderService.scrollOrdersByUserId(userId, current, 5));
+            assertThat(statements).isEqualTo(2);
+
+            CursorResponse<OrderResponse> page = orderService.scrollOrdersByUserId(userId, current, 5);
+            page.content().forEach(order -> visited.add(order.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(visited).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(created);
+    }
+
+    @Test
+    @DisplayName("Curseur : La liste cuisine est servie de la plus ancienne à la plus récente")
+    void scrollOrdersByStatusIsOldestFirst() {
+        createOrders(4);
+
+        CursorResponse<OrderResponse> first = orderService.scrollOrdersByStatus(OrderStatus.PENDING, null, 2);
+        CursorResponse<OrderResponse> second = orderService.scrollOrdersByStatus(OrderStatus.PENDING,
+                first.nextCursor(), 2);
+
+        assertThat(first.last()).isFalse();
+        assertThat(second.content()).hasSize(2);
+        assertThat(second.content().get(0).createdAt()).isAfterOrEqualTo(first.content().get(1).createdAt());
+    }
+
+    private List<UUID> createOrders(int count) {
+        List<UUID> orderIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OrderRequest request = new OrderRequest(List.of(
+                    new OrderItemRequest(productIds.get(i % productIds.size()), 1),
+                    new OrderItemRequest(productIds.get((i + 1) % productIds.size()), 1),
+                    new OrderItemRequest(productIds.get((i + 2) % productIds.size()), 1)));
+            OrderResponse created = orderService.createOrder(request, userId);
+            orderIds.add(created.id());
+        }
+        return orderIds;
+    }
+
+    /**
+     * Mesure le nombre de requêtes d'une lecture, le contexte de persistance
+     * étant vidé au préalable pour que rien ne soit déjà en cache.
+     */
+    private long statements(Supplier<Object> read) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(read.get()).isNotNull();
+
+        return statistics.getPrepareStatementCount();
+    }
+}
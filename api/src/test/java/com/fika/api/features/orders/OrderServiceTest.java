@@ -1,18 +1,23 @@
 package com.fika.api.features.orders;
 
+import com.fika.api.core.dto.CursorResponse;
 import com.fika.api.core.dto.PagedResponse;
+import com.fika.api.core.exceptions.pagination.InvalidCursorException;
 import com.fika.api.core.exceptions.order.OrderNotFoundException;
 import com.fika.api.core.exceptions.product.InsufficientProductQuantityException;
 import com.fika.api.core.exceptions.product.ProductNotFoundException;
 import com.fika.api.core.exceptions.user.UserNotFoundException;
+import com.fika.api.features.inventory.InventoryService;
 import com.fika.api.features.orders.dto.OrderItemRequest;
 import com.fika.api.features.orders.dto.OrderRequest;
 import com.fika.api.features.orders.dto.OrderResponse;
+import com.fika.api.features.orders.events.OrderEvent;
+import com.fika.api.features.orders.events.OrderEventBroadcaster;
+import com.fika.api.features.orders.events.OrderEventType;
 import com.fika.api.features.orders.mapper.OrderMapper;
 import com.fika.api.features.orders.model.Order;
 import com.fika.api.features.orders.model.OrderStatus;
 import com.fika.api.features.orders.repository.OrderRepository;
-import com.fika.api.features.products.ProductRepository;
 import com.fika.api.features.products.model.Product;
 import com.fika.api.features.users.UserRepository;
 import com.fika.api.features.users.model.User;
@@ -23,15 +28,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.AccessDeniedException;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,8 +49,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,7 +69,16 @@ class OrderServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private ProductRepository productRepository;
+    private InventoryService inventoryService;
+
+    @Mock
+    private OrderReferenceAllocator orderReferenceAllocator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderEventBroadcaster orderEventBroadcaster;
 
     @InjectMocks
     private OrderService orderService;
@@ -107,10 +128,33 @@ class OrderServiceTest {
         given(orderRepository.findAllByOrderByCreatedAtDesc(pageable)).willReturn(orderPage);
         given(orderMapper.toResponse(order)).willReturn(orderResponse);
 
-        PagedResponse<OrderResponse> result = orderService.getAllOrders(pageable);
+        PagedResponse<OrderResponse> result = orderService.getAllOrders(pageable, true);
 
         assertThat(result.content()).hasSize(1);
         assertThat(result.content().get(0)).isEqualTo(orderResponse);
+        verify(orderRepository).findAllWithItemsByIdIn(List.of(orderId));
+    }
+
+    @Test
+    @DisplayName("Scroll : Un curseur altéré est refusé")
+    void scrollAllOrdersInvalidCursor() {
+        assertThatThrownBy(() -> orderService.scrollAllOrders("pas-un-curseur", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("Scroll : La taille de page est bornée et la dernière page n'a pas de curseur")
+    void scrollAllOrdersClampsSize() {
+        given(orderRepository.findAllByOrderByCreatedAtDesc(any(ScrollPosition.class), eq(Limit.of(100))))
+                .willReturn(Window.from(List.of(order), index -> ScrollPosition.keyset()));
+        given(orderMapper.toResponse(order)).willReturn(orderResponse);
+
+        CursorResponse<OrderResponse> result = orderService.scrollAllOrders(null, 5000);
+
+        assertThat(result.content()).containsExactly(orderResponse);
+        assertThat(result.size()).isEqualTo(100);
+        assertThat(result.nextCursor()).isNull();
+        assertThat(result.last()).isTrue();
     }
 
     @Test
@@ -121,7 +165,7 @@ class OrderServiceTest {
         given(orderRepository.findByUserIdOrderByCreatedAtDesc(eq(userId), eq(pageable))).willReturn(orderPage);
         given(orderMapper.toResponse(order)).willReturn(orderResponse);
 
-        PagedResponse<OrderResponse> result = orderService.getOrderByUserId(userId, pageable);
+        PagedResponse<OrderResponse> result = orderService.getOrderByUserId(userId, pageable, true);
 
         assertThat(result.content()).hasSize(1);
         assertThat(result.content().get(0)).isEqualTo(orderResponse);
@@ -130,7 +174,7 @@ class OrderServiceTest {
     @Test
     @DisplayName("GetById : Succès si propriétaire")
     void getOrderByIdSuccessOwner() {
-        given(orderRepository.findById(orderId)).willReturn(Optional.of(order));
+        given(orderRepository.findWithDetailsById(orderId)).willReturn(Optional.of(order));
         given(orderMapper.toResponse(order)).willReturn(orderResponse);
 
         OrderResponse result = orderService.getOrderById(orderId, userId, false);
@@ -141,7 +185,7 @@ class OrderServiceTest {
     @Test
     @DisplayName("GetById : Succès si admin")
     void getOrderByIdSuccessAdmin() {
-        given(orderRepository.findById(orderId)).willReturn(Optional.of(order));
+        given(orderRepository.findWithDetailsById(orderId)).willReturn(Optional.of(order));
         given(orderMapper.toResponse(order)).willReturn(orderResponse);
 
         OrderResponse result = orderService.getOrderById(orderId, UUID.randomUUID(), true);
@@ -152,7 +196,7 @@ class OrderServiceTest {
     @Test
     @DisplayName("GetById : Erreur si non autorisé")
     void getOrderByIdAccessDenied() {
-        given(orderRepository.findById(orderId)).willReturn(Optional.of(order));
+        given(orderRepository.findWithDetailsById(orderId)).willReturn(Optional.of(order));
 
         assertThatThrownBy(() -> orderService.getOrderById(orderId, UUID.randomUUID(), false))
                 .isInstanceOf(AccessDeniedException.class);
@@ -161,7 +205,7 @@ class OrderServiceTest {
     @Test
     @DisplayName("GetById : Erreur si commande introuvable")
     void getOrderByIdNotFound() {
-        given(orderRepository.findById(orderId)).willReturn(Optional.empty());
+        given(orderRepository.findWithDetailsById(orderId)).willReturn(Optional.empty());
 
         assertThatThrownBy(() -> orderService.getOrderById(orderId, userId, true))
                 .isInstanceOf(OrderNotFoundException.class);
@@ -174,15 +218,41 @@ class OrderServiceTest {
         OrderRequest orderRequest = new OrderRequest(List.of(itemRequest));
 
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
-        given(orderRepository.existsByOrderReference(anyString())).willReturn(false);
+        given(inventoryService.reserve(any())).willReturn(Map.of(product.getId(), product));
+        given(orderReferenceAllocator.next()).willReturn("ABCD");
         given(orderRepository.saveAndFlush(any(Order.class))).willReturn(order);
         given(orderMapper.toResponse(any(Order.class))).willReturn(orderResponse);
 
         OrderResponse result = orderService.createOrder(orderRequest, userId);
 
         assertThat(result).isEqualTo(orderResponse);
-        verify(orderRepository).saveAndFlush(any(Order.class));
+        verify(orderRepository).saveAndFlush(argThat(saved -> "ABCD".equals(saved.getOrderReference())));
+        verify(orderRepository, never()).existsByOrderReference(anyString());
+        verify(eventPublisher).publishEvent(new OrderEvent(OrderEventType.CREATED, userId, orderResponse));
+    }
+
+    @Test
+    @DisplayName("Cancel : Annule la commande et publie un changement de statut")
+    void cancelOrderPublishesStatusChange() {
+        given(orderRepository.findWithDetailsById(orderId)).willReturn(Optional.of(order));
+        given(orderRepository.save(order)).willReturn(order);
+        given(orderMapper.toResponse(order)).willReturn(orderResponse);
+
+        orderService.cancelOrder(orderId, userId);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        verify(eventPublisher).publishEvent(new OrderEvent(OrderEventType.STATUS_CHANGED, userId, orderResponse));
+    }
+
+    @Test
+    @DisplayName("Cancel : Refusé hors PENDING, sans événement publié")
+    void cancelOrderNotPendingPublishesNothing() {
+        order.setStatus(OrderStatus.READY);
+        given(orderRepository.findWithDetailsById(orderId)).willReturn(Optional.of(order));
+
+        assertThatThrownBy(() -> orderService.cancelOrder(orderId, userId))
+                .isInstanceOf(IllegalStateException.class);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -192,10 +262,11 @@ class OrderServiceTest {
         OrderRequest orderRequest = new OrderRequest(List.of(itemRequest));
 
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(productRepository.findById(product.getId())).willReturn(Optional.empty());
+        given(inventoryService.reserve(any())).willThrow(new ProductNotFoundException(product.getId()));
 
         assertThatThrownBy(() -> orderService.createOrder(orderRequest, userId))
                 .isInstanceOf(ProductNotFoundException.class);
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
@@ -216,67 +287,45 @@ class OrderServiceTest {
         OrderRequest orderRequest = new OrderRequest(List.of(itemRequest));
 
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+        given(inventoryService.reserve(any()))
+                .willThrow(new InsufficientProductQuantityException(product.getName(), 10, 20));
 
         assertThatThrownBy(() -> orderService.createOrder(orderRequest, userId))
                 .isInstanceOf(InsufficientProductQuantityException.class);
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
     }
 
     @Test
-    @DisplayName("Create : Décrémentation du stock après commande")
-    void createOrderDecrementsStock() {
-        int initialQuantity = product.getQuantity();
+    @DisplayName("Create : Réservation du stock auprès de l'inventaire")
+    void createOrderReservesStock() {
         int requestedQuantity = 2;
         OrderItemRequest itemRequest = new OrderItemRequest(product.getId(), requestedQuantity);
         OrderRequest orderRequest = new OrderRequest(List.of(itemRequest));
 
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+        given(inventoryService.reserve(any())).willReturn(Map.of(product.getId(), product));
         given(orderRepository.saveAndFlush(any(Order.class))).willReturn(order);
         given(orderMapper.toResponse(any(Order.class))).willReturn(orderResponse);
 
         orderService.createOrder(orderRequest, userId);
 
-        assertThat(product.getQuantity()).isEqualTo(initialQuantity - requestedQuantity);
-        verify(productRepository).save(product);
+        verify(inventoryService).reserve(Map.of(product.getId(), requestedQuantity));
     }
 
     @Test
-    @DisplayName("Create : Commande de la totalité du stock")
-    void createOrderExactStock() {
-        int initialQuantity = product.getQuantity();
-        OrderItemRequest itemRequest = new OrderItemRequest(product.getId(), initialQuantity);
-        OrderRequest orderRequest = new OrderRequest(List.of(itemRequest));
+    @DisplayName("Create : Les lignes d'un même produit sont cumulées avant la réservation")
+    void createOrderMergesDuplicateLines() {
+        OrderRequest orderRequest = new OrderRequest(List.of(
+                new OrderItemRequest(product.getId(), 2),
+                new OrderItemRequest(product.getId(), 3)));
 
         given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+        given(inventoryService.reserve(any())).willReturn(Map.of(product.getId(), product));
         given(orderRepository.saveAndFlush(any(Order.class))).willReturn(order);
         given(orderMapper.toResponse(any(Order.class))).willReturn(orderResponse);
 
         orderService.createOrder(orderRequest, userId);
 
-        assertThat(product.getQuantity()).isZero();
-        assertThat(product.isAvailable()).isFalse();
-        verify(productRepository).save(product);
-    }
-
-    @Test
-    @DisplayName("Create : Échec si un produit du panier est en rupture (Rollback logique)")
-    void createOrderMultiItemFail() {
-        Product productA = Product.builder().id(UUID.randomUUID()).name("Prod A").price(BigDecimal.TEN).quantity(5)
-                .available(true).build();
-        Product productB = Product.builder().id(UUID.randomUUID()).name("Prod B").price(BigDecimal.TEN).quantity(1)
-                .available(true).build();
-
-        OrderItemRequest itemA = new OrderItemRequest(productA.getId(), 2);
-        OrderItemRequest itemB = new OrderItemRequest(productB.getId(), 5); // 5 > 1, doit échouer
-        OrderRequest orderRequest = new OrderRequest(List.of(itemA, itemB));
-
-        given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(productRepository.findById(productA.getId())).willReturn(Optional.of(productA));
-        given(productRepository.findById(productB.getId())).willReturn(Optional.of(productB));
-
-        assertThatThrownBy(() -> orderService.createOrder(orderRequest, userId))
-                .isInstanceOf(InsufficientProductQuantityException.class);
+        verify(inventoryService).reserve(Map.of(product.getId(), 5));
     }
 }
@@ -0,0 +1,288 @@
+package com.fika.api.features.orders.events;
+
+import com.fika.api.features.orders.OrderService;
+import com.fika.api.features.orders.dto.OrderItemRequest;
+import com.fika.api.features.orders.dto.OrderRequest;
+import com.fika.api.features.orders.dto.OrderResponse;
+import com.fika.api.features.orders.model.OrderStatus;
+import com.fika.api.features.orders.repository.OrderRepository;
+import com.fika.api.features.products.ProductRepository;
+import com.fika.api.features.products.model.Category;
+import com.fika.api.features.products.model.Product;
+import com.fika.api.features.users.UserRepository;
+import com.fika.api.features.users.model.Role;
+import com.fika.api.features.users.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Flux SSE cuisine et client. Le test n'est pas transactionnel : les événements ne sont
+ * diffusés qu'après la validation réelle des commandes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Commandes : Flux temps réel (SSE)")
+class OrderEventStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventBroadcaster broadcaster;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID userId;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+                .firstName("Cuisine")
+                .lastName("Fika")
+                .email("stream-" + UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(Role.CLIENT)
+                .build()).getId();
+
+        productId = productRepository.save(Product.builder()
+                .name("Smörgås")
+                .price(new BigDecimal("6.00"))
+                .description("D")
+                .imgUrl("U")
+                .category(Category.PLAT)
+                .quantity(10)
+                .available(true)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(orderRepository.findByUserIdOrderByCreatedAtDesc(userId, Pageable.unpaged()));
+        productRepository.deleteById(productId);
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    @DisplayName("Stream : Une commande validée est poussée à la cuisine")
+    void createdOrderIsPushed() throws Exception {
+        MockHttpServletResponse stream = subscribe(null);
+
+        OrderResponse created = orderService.createOrder(
+                new OrderRequest(List.of(new OrderItemRequest(productId, 1))), userId);
+        orderService.changeOrderStatus(created.id(), OrderStatus.READY);
+
+        String body = awaitContent(stream, "event:STATUS_CHANGED");
+        assertThat(body).contains("event:CREATED").contains(created.orderReference());
+        assertThat(body.indexOf("event:CREATED")).isLessThan(body.indexOf("event:STATUS_CHANGED"));
+    }
+
+    @Test
+    @DisplayName("Stream : Une commande refusée n'est jamais annoncée")
+    void rolledBackOrderIsNotPushed() throws Exception {
+        MockHttpServletResponse stream = subscribe(null);
+        OrderRequest tooMuch = new OrderRequest(List.of(new OrderItemRequest(productId, 11)));
+
+        try {
+            orderService.createOrder(tooMuch, userId);
+        } catch (RuntimeException expected) {
+            // stock insuffisant
+        }
+        broadcaster.onOrderEvent(event("SENTINEL"));
+
+        assertThat(awaitContent(stream, "SENTINEL")).doesNotContain("event:CREATED");
+    }
+
+    @Test
+    @DisplayName("Reconnexion : Les événements manqués sont rejoués depuis Last-Event-ID")
+    void reconnectReplaysMissedEvents() throws Exception {
+        MockHttpServletResponse first = subscribe(null);
+        broadcaster.onOrderEvent(event("R1"));
+        String seen = awaitContent(first, "R1");
+        long lastId = lastEventId(seen);
+
+        broadcaster.onOrderEvent(event("R2"));
+        broadcaster.onOrderEvent(event("R3"));
+
+        String replayed = awaitContent(subscribe(lastId), "R3");
+        assertThat(replayed).contains("R2").doesNotContain("R1");
+    }
+
+    @Test
+    @DisplayName("Reconnexion : Un reset est envoyé si le rejeu n'est plus disponible")
+    void reconnectTooLateGetsReset() throws Exception {
+        MockHttpServletResponse first = subscribe(null);
+        broadcaster.onOrderEvent(event("OLD"));
+        long lastId = lastEventId(awaitContent(first, "OLD"));
+
+        for (int i = 0; i < 600; i++) {
+            broadcaster.onOrderEvent(event("FLOOD"));
+        }
+
+        String body = awaitContent(subscribe(lastId), "event:" + OrderEventBroadcaster.RESET_EVENT);
+        assertThat(body).doesNotContain("FLOOD");
+    }
+
+    @Test
+    @DisplayName("Reconnexion : Un reset est envoyé pour un identifiant inconnu (redémarrage du serveur)")
+    void reconnectAfterRestartGetsReset() throws Exception {
+        broadcaster.onOrderEvent(event("AVANT"));
+
+        String body = awaitContent(subscribe(1_000_000_000L), "event:" + OrderEventBroadcaster.RESET_EVENT);
+        assertThat(body).doesNotContain("AVANT");
+    }
+
+    @Test
+    @DisplayName("Client : Instantané à la connexion puis changements de statut de ses seules commandes")
+    void customerStreamReceivesOwnStatusChanges() throws Exception {
+        OrderResponse created = orderService.createOrder(
+                new OrderRequest(List.of(new OrderItemRequest(productId, 1))), userId);
+
+        MockHttpServletResponse stream = subscribeCustomer(userId);
+        String snapshot = awaitContent(stream, "event:" + OrderEventBroadcaster.CURRENT_EVENT);
+        assertThat(snapshot).contains(created.orderReference());
+
+        broadcaster.onOrderEvent(event("AUTRUI"));
+        orderService.changeOrderStatus(created.id(), OrderStatus.READY);
+
+        String body = awaitContent(stream, "\"status\":\"READY\"");
+        assertThat(body).contains("event:STATUS_CHANGED").doesNotContain("AUTRUI");
+    }
+
+    @Test
+    @DisplayName("Client : Des validations concurrentes arrivent dans l'ordre de leurs identifiants")
+    void customerStreamKeepsEventOrder() throws Exception {
+        MockHttpServletResponse stream = subscribeCustomer(userId);
+        awaitContent(stream, "event:" + OrderEventBroadcaster.CURRENT_EVENT);
+
+        Runnable burst = () -> {
+            for (int i = 0; i < 20; i++) {
+                broadcaster.onOrderEvent(new OrderEvent(OrderEventType.STATUS_CHANGED, userId,
+                        event("ORDRE").order()));
+            }
+        };
+        Thread other = Thread.ofPlatform().start(burst);
+        burst.run();
+        other.join();
+        broadcaster.onOrderEvent(new OrderEvent(OrderEventType.STATUS_CHANGED, userId, event("FIN").order()));
+
+        long[] ids = awaitContent(stream, "FIN").lines()
+                .filter(line -> line.startsWith("id:"))
+                .mapToLong(line -> Long.parseLong(line.substring(3).trim()))
+                .toArray();
+        assertThat(ids).hasSize(41).isSorted();
+    }
+
+    @Test
+    @DisplayName("Client : Sans commande en cours, l'instantané est vide")
+    void customerStreamWithoutActiveOrder() throws Exception {
+        String body = awaitContent(subscribeCustomer(userId), "event:" + OrderEventBroadcaster.CURRENT_EVENT);
+
+        assertThat(body).contains("data:null");
+    }
+
+    @Test
+    @DisplayName("Client : Après l'abonnement, les notifications ne lisent plus la base")
+    void customerNotificationsDoNotQueryDatabase() throws Exception {
+        MockHttpServletResponse stream = subscribeCustomer(userId);
+        awaitContent(stream, "event:" + OrderEventBroadcaster.CURRENT_EVENT);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        try {
+            for (int i = 0; i < 10; i++) {
+                broadcaster.onOrderEvent(new OrderEvent(OrderEventType.STATUS_CHANGED, userId,
+                        event("PUSH" + i).order()));
+            }
+            awaitContent(stream, "PUSH9");
+
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private MockHttpServletResponse subscribeCustomer(UUID customerId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/orders/latest/stream")
+                .with(authentication(new UsernamePasswordAuthenticationToken(customerId, null,
+                        List.of(new SimpleGrantedAuthority("ROLE_CLIENT"))))))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private MockHttpServletResponse subscribe(Long lastEventId) throws Exception {
+        var request = get("/api/v1/orders/stream").with(user("cuisine").roles("ADMIN"));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private static OrderEvent event(String reference) {
+        return new OrderEvent(OrderEventType.STATUS_CHANGED, UUID.randomUUID(), new OrderResponse(UUID.randomUUID(), reference,
+                BigDecimal.ONE, OrderStatus.PENDING, null, "A", "B", "a@b.c", List.of()));
+    }
+
+    private static long lastEventId(String body) {
+        String[] ids = body.lines().filter(line -> line.startsWith("id:")).toArray(String[]::new);
+        return Long.parseLong(ids[ids.length - 1].substring(3).trim());
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = response.getContentAsString();
+        }
+        assertThat(body).contains(expected);
+        return body;
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -90,4 +91,31 @@ class OrderRepositoryTest {
         assertThat(orderRepository.existsByOrderReference("UNIQUE")).isTrue();
         assertThat(orderRepository.existsByOrderReference("UNKNOWN")).isFalse();
     }
+
+    @Test
+    @DisplayName("findReferencesInUse : Seules les commandes clôturées depuis assez longtemps libèrent leur référence")
+    void findReferencesInUse() {
+        orderRepository.save(Order.builder().user(user).orderReference("AAAA")
+                .total(BigDecimal.TEN).status(OrderStatus.PENDING).build());
+        orderRepository.save(Order.builder().user(user).orderReference("BBBB")
+                .total(BigDecimal.TEN).status(OrderStatus.COMPLETED).build());
+        orderRepository.save(Order.builder().user(user).orderReference("CCCC")
+                .total(BigDecimal.TEN).status(OrderStatus.CANCELLED).build());
+        List<String> candidates = List.of("AAAA", "BBBB", "CCCC", "DDDD");
+        List<OrderStatus> released = List.of(OrderStatus.COMPLETED, OrderStatus.CANCELLED);
+
+        assertThat(orderRepository.findReferencesInUse(candidates, released, Instant.now().plusSeconds(60)))
+                .containsExactly("AAAA");
+        assertThat(orderRepository.findReferencesInUse(candidates, released, Instant.now().minusSeconds(3600)))
+                .containsExactlyInAnyOrder("AAAA", "BBBB", "CCCC");
+    }
+
+    @Test
+    @DisplayName("nextReferenceBlock : Les blocs réservés sont strictement croissants")
+    void nextReferenceBlockIsMonotonic() {
+        long first = orderRepository.nextReferenceBlock();
+        long second = orderRepository.nextReferenceBlock();
+
+        assertThat(second).isGreaterThan(first);
+    }
 }
@@ -0,0 +1,220 @@
+package com.fika.api.features.products;
+
+import com.fika.api.core.dto.PagedResponse;
+import com.fika.api.features.products.ProductCatalogCache.CatalogFilter;
+import com.fika.api.features.products.dto.ProductResponse;
+import com.fika.api.features.products.model.Category;
+import com.fika.api.features.products.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Cache : Catalogue produits")
+class ProductCatalogCacheTest {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCatalogCache cache;
+    private Product espresso;
+    private Product tarte;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ProductCatalogCache(meterRegistry, 100, 100, Duration.ofMinutes(1));
+        espresso = product("Espresso", Category.ENTREE, "2.50");
+        tarte = product("Tarte", Category.DESSERT, "4.00");
+    }
+
+    @Test
+    @DisplayName("Lecture : Une page identique est servie par le cache, les succès sont mesurés")
+    void pageIsCachedAndHitsAreRecorded() {
+        AtomicInteger loads = new AtomicInteger();
+        CatalogFilter filter = new CatalogFilter(null, Category.ENTREE, new BigDecimal("2.0"), null, null);
+
+        cache.getPage(filter, FIRST_PAGE, true, counting(loads, espresso));
+        cache.getPage(new CatalogFilter("", Category.ENTREE, new BigDecimal("2.00"), null, null), FIRST_PAGE, true,
+                counting(loads, espresso));
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "products.catalog.pages").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Lecture : Avec max-pages à 0, chaque page est rechargée")
+    void zeroMaxPagesDisablesPageCache() {
+        ProductCatalogCache uncached = new ProductCatalogCache(new SimpleMeterRegistry(), 100, 0,
+                Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CatalogFilter filter = new CatalogFilter(null, Category.ENTREE, null, null, null);
+
+        for (int i = 0; i < 3; i++) {
+            uncached.getPage(filter, FIRST_PAGE, true, counting(loads, espresso));
+        }
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Stock : Seules les pages contenant le produit ou filtrées sur la disponibilité sont invalidées")
+    void stockChangeEvictsOnlyAffectedPages() {
+        CatalogFilter all = new CatalogFilter(null, null, null, null, null);
+        CatalogFilter desserts = new CatalogFilter(null, Category.DESSERT, null, null, null);
+        CatalogFilter available = new CatalogFilter(null, null, null, null, true);
+        AtomicInteger loads = new AtomicInteger();
+        cache.getPage(all, FIRST_PAGE, true, counting(loads, espresso));
+        cache.getPage(desserts, FIRST_PAGE, true, counting(loads, tarte));
+        cache.getPage(available, PageRequest.of(1, 10), true, counting(loads, tarte));
+
+        cache.evictStock(espresso);
+        loads.set(0);
+        cache.getPage(all, FIRST_PAGE, true, counting(loads, espresso));
+        cache.getPage(desserts, FIRST_PAGE, true, counting(loads, tarte));
+        cache.getPage(available, PageRequest.of(1, 10), true, counting(loads, tarte));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Stock : Une page triée sur la quantité est invalidée")
+    void stockChangeEvictsPagesSortedOnQuantity() {
+        CatalogFilter all = new CatalogFilter(null, null, null, null, null);
+        Pageable byQuantity = PageRequest.of(3, 10, Sort.by("quantity"));
+        AtomicInteger loads = new AtomicInteger();
+        cache.getPage(all, byQuantity, true, counting(loads, tarte));
+
+        cache.evictStock(espresso);
+        cache.getPage(all, byQuantity, true, counting(loads, tarte));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Modification : L'état avant et après invalide les pages que le produit quitte et rejoint")
+    void updateEvictsPagesMatchingOldAndNewState() {
+        CatalogFilter entrees = new CatalogFilter(null, Category.ENTREE, null, null, null);
+        CatalogFilter desserts = new CatalogFilter(null, Category.DESSERT, null, null, null);
+        CatalogFilter plats = new CatalogFilter(null, Category.PLAT, null, null, null);
+        AtomicInteger loads = new AtomicInteger();
+        cache.getPage(entrees, PageRequest.of(2, 10), true, counting(loads));
+        cache.getPage(desserts, FIRST_PAGE, true, counting(loads, tarte));
+        cache.getPage(plats, FIRST_PAGE, true, counting(loads));
+
+        cache.evict(espresso);
+        espresso.setCategory(Category.DESSERT);
+        cache.evict(espresso);
+        loads.set(0);
+        cache.getPage(entrees, PageRequest.of(2, 10), true, counting(loads));
+        cache.getPage(desserts, FIRST_PAGE, true, counting(loads, tarte));
+        cache.getPage(plats, FIRST_PAGE, true, counting(loads));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Fiche : Un produit introuvable n'est pas mis en cache")
+    void failedLoadIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<ProductResponse> missing = () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("absent");
+        };
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.getProduct(espresso.getId(), missing);
+            } catch (IllegalStateException expected) {
+                // produit absent
+            }
+        }
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Threads virtuels : Le chargement ne bloque pas sous verrou, les lectures concurrentes l'attendent")
+    void loadDoesNotPinVirtualThreads() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        Supplier<ProductResponse> slow = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response(espresso);
+        };
+        Path dump = Files.createTempFile("catalog-cache", ".jfr");
+        List<ProductResponse> results = new ArrayList<>();
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.start();
+            Thread first = Thread.ofVirtual().start(() -> results.add(cache.getProduct(espresso.getId(), slow)));
+            loading.await();
+            Thread second = Thread.ofVirtual().start(() -> cache.getProduct(espresso.getId(), slow));
+            first.join();
+            second.join();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                .toList();
+        Files.delete(dump);
+        assertThat(pinned).isEmpty();
+        assertThat(loads).hasValue(1);
+        assertThat(results).singleElement().extracting(ProductResponse::id).isEqualTo(espresso.getId());
+    }
+
+    private static ProductResponse response(Product p) {
+        return new ProductResponse(p.getId(), p.getName(), p.getPrice(), "D", "U", p.getCategory(), p.getQuantity(),
+                p.isAvailable());
+    }
+
+    private static Supplier<PagedResponse<ProductResponse>> counting(AtomicInteger loads, Product... content) {
+        return () -> {
+            loads.incrementAndGet();
+            List<ProductResponse> responses = List.of(content).stream()
+                    .map(ProductCatalogCacheTest::response)
+                    .toList();
+            return new PagedResponse<>(responses, 0, 10, (long) responses.size(), 1, true);
+        };
+    }
+
+    private static Product product(String name, Category category, String price) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .price(new BigDecimal(price))
+                .category(category)
+                .quantity(10)
+                .available(true)
+                .build();
+    }
+}
@@ -0,0 +1,190 @@
+package com.fika.api.features.products;
+
+import com.fika.api.core.dto.PagedResponse;
+import com.fika.api.features.products.ProductCatalogCache.CatalogFilter;
+import com.fika.api.features.products.dto.ProductResponse;
+import com.fika.api.features.products.model.Category;
+import com.fika.api.features.products.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Index : Catalogue produits en mémoire")
+class ProductCatalogIndexTest {
+
+    private static final CatalogFilter ALL = new CatalogFilter(null, null, null, null, null);
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCatalogIndex index;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductCatalogIndex(productRepository, true, Duration.ofMinutes(5));
+        products = new ArrayList<>(List.of(
+                product("Espresso", Category.ENTREE, "2.50", 10),
+                product("Café allongé", Category.ENTREE, "3.00", 1),
+                product("Kanelbulle", Category.DESSERT, "3.50", 0),
+                product("Smörgås", Category.PLAT, "6.00", 4)));
+    }
+
+    @Test
+    @DisplayName("Chargement : Avant le premier chargement, la base reste interrogée")
+    void notLoadedFallsBack() {
+        assertThat(index.find(ALL, PageRequest.of(0, 10), true)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Filtres : Nom, catégorie, prix et disponibilité combinés")
+    void combinedFilters() {
+        load();
+
+        assertThat(names(new CatalogFilter("CAF", null, null, null, null))).containsExactly("Café allongé");
+        assertThat(names(new CatalogFilter(null, Category.ENTREE, new BigDecimal("2.51"), null, null)))
+                .containsExactly("Café allongé");
+        assertThat(names(new CatalogFilter(null, null, new BigDecimal("3"), new BigDecimal("6"), true)))
+                .containsExactly("Café allongé", "Smörgås");
+    }
+
+    @Test
+    @DisplayName("Filtres : Un nom contenant un joker SQL est laissé à la base")
+    void wildcardNameFallsBack() {
+        load();
+
+        assertThat(index.find(new CatalogFilter("caf%", null, null, null, null), PageRequest.of(0, 10), true))
+                .isEmpty();
+        assertThat(index.find(ALL, PageRequest.of(0, 10, Sort.by("price", "name")), true)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Pagination : Tri, totaux et page suivante sans comptage")
+    void sortAndPaging() {
+        load();
+
+        PagedResponse<ProductResponse> counted = index.find(ALL,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "price")), true).orElseThrow();
+        PagedResponse<ProductResponse> slice = index.find(ALL, PageRequest.of(1, 2, Sort.by("quantity")), false)
+                .orElseThrow();
+
+        assertThat(counted.content()).extracting(ProductResponse::name)
+                .containsExactly("Smörgås", "Kanelbulle", "Café allongé");
+        assertThat(counted.totalElements()).isEqualTo(4);
+        assertThat(counted.totalPages()).isEqualTo(2);
+        assertThat(slice.content()).extracting(ProductResponse::name).containsExactly("Smörgås", "Espresso");
+        assertThat(slice.totalElements()).isNull();
+        assertThat(slice.last()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Stock : Une commande décrémente le stock et rend le produit épuisé indisponible")
+    void decrementStockUpdatesColumns() {
+        load();
+        PagedResponse<ProductResponse> before = index.find(ALL, PageRequest.of(0, 10, Sort.by("quantity")), true)
+                .orElseThrow();
+
+        index.decrementStock(Map.of(products.get(1).getId(), 1, products.get(0).getId(), 7));
+
+        assertThat(before.content()).extracting(ProductResponse::name)
+                .containsExactly("Kanelbulle", "Café allongé", "Smörgås", "Espresso");
+        assertThat(index.find(ALL, PageRequest.of(0, 10, Sort.by("quantity")), true).orElseThrow().content())
+                .extracting(ProductResponse::name)
+                .containsExactly("Café allongé", "Kanelbulle", "Espresso", "Smörgås");
+        assertThat(names(new CatalogFilter(null, null, null, null, true))).containsExactly("Espresso", "Smörgås");
+    }
+
+    @Test
+    @DisplayName("Catalogue : Création, modification et suppression appliquées sans rechargement")
+    void putAndRemove() {
+        load();
+        Product tarte = product("Tarte", Category.DESSERT, "4.00", 3);
+        Product espresso = products.get(0);
+        espresso.setCategory(Category.DESSERT);
+
+        index.put(tarte);
+        index.put(espresso);
+        index.remove(products.get(2).getId());
+
+        assertThat(names(new CatalogFilter(null, Category.DESSERT, null, null, null)))
+                .containsExactly("Espresso", "Tarte");
+    }
+
+    @Test
+    @DisplayName("Tri : Les noms suivent la collation française, y compris après modification")
+    void nameSortUsesCollation() {
+        products.add(product("éclair", Category.DESSERT, "2.00", 5));
+        products.add(product("citron", Category.DESSERT, "2.00", 5));
+        load();
+        PageRequest byName = PageRequest.of(0, 10, Sort.by("name"));
+
+        assertThat(index.find(ALL, byName, true).orElseThrow().content()).extracting(ProductResponse::name)
+                .containsExactly("Café allongé", "citron", "éclair", "Espresso", "Kanelbulle", "Smörgås");
+
+        Product kanelbulle = products.get(2);
+        kanelbulle.setName("Äppelkaka");
+        index.put(kanelbulle);
+        index.put(product("zeste", Category.DESSERT, "1.00", 1));
+
+        assertThat(index.find(ALL, byName, true).orElseThrow().content()).extracting(ProductResponse::name)
+                .containsExactly("Äppelkaka", "Café allongé", "citron", "éclair", "Espresso", "Smörgås", "zeste");
+    }
+
+    @Test
+    @DisplayName("Chargement : Une suppression reçue pendant le rechargement n'est pas perdue")
+    void removalDuringReloadIsReplayed() {
+        UUID removed = products.get(3).getId();
+        given(productRepository.findAll(any(Sort.class))).willAnswer(invocation -> {
+            List<Product> read = List.copyOf(products);
+            index.remove(removed);
+            return read;
+        });
+
+        index.reload();
+
+        assertThat(names(ALL)).doesNotContain("Smörgås").hasSize(3);
+    }
+
+    private void load() {
+        given(productRepository.findAll(any(Sort.class))).willAnswer(invocation -> List.copyOf(products));
+        index.reload();
+    }
+
+    private List<String> names(CatalogFilter filter) {
+        return index.find(filter, PageRequest.of(0, 10), true).orElseThrow().content().stream()
+                .map(ProductResponse::name)
+                .toList();
+    }
+
+    private Product product(String name, Category category, String price, int quantity) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .price(new BigDecimal(price))
+                .description("D")
+                .imgUrl("U")
+                .category(category)
+                .quantity(quantity)
+                .available(quantity > 0)
+                .createdAt(Instant.parse("2026-01-01T08:00:00Z"))
+                .build();
+    }
+}
@@ -14,7 +14,9 @@ import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -25,6 +27,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -51,6 +54,9 @@ class ProductControllerTest {
         @MockitoBean
         private com.fika.api.core.config.RateLimitFilter rateLimitFilter;
 
+        @MockitoBean
+        private com.fika.api.core.config.LoadSheddingFilter loadSheddingFilter;
+
         @MockitoBean
         private com.fika.api.core.exceptions.JwtExceptionHandler jwtExceptionHandler;
 
@@ -90,7 +96,7 @@ class ProductControllerTest {
                 Page<ProductResponse> productPage = new PageImpl<>(List.of(productResponse));
                 PagedResponse<ProductResponse> pagedResponse = PagedResponse.of(productPage);
 
-                given(productService.getAllProducts(any(), any(), any(), any(), any(), any(Pageable.class)))
+                given(productService.getAllProducts(any(), any(), any(), any(), any(), any(Pageable.class), anyBoolean()))
                                 .willReturn(pagedResponse);
 
                 mockMvc.perform(get("/api/v1/products"))
@@ -99,6 +105,24 @@ class ProductControllerTest {
                                 .andExpect(jsonPath("$.totalElements").value(1));
         }
 
+        @Test
+        @WithMockUser
+        @DisplayName("GetAll : count=false renvoie une page sans totaux")
+        void getAllProductsWithoutCount() throws Exception {
+                PagedResponse<ProductResponse> slice = PagedResponse.of(
+                                new SliceImpl<>(List.of(productResponse), PageRequest.of(0, 12), true));
+
+                given(productService.getAllProducts(any(), any(), any(), any(), any(), any(Pageable.class), eq(false)))
+                                .willReturn(slice);
+
+                mockMvc.perform(get("/api/v1/products").param("count", "false"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].name").value("Espresso"))
+                                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                                .andExpect(jsonPath("$.last").value(false));
+        }
+
         @Test
         @WithMockUser
         @DisplayName("GetOne : Récupère un produit par ID")
@@ -2,24 +2,31 @@ package com.fika.api.features.products;
 
 import com.fika.api.core.dto.PagedResponse;
 import com.fika.api.core.exceptions.product.ProductNotFoundException;
+import com.fika.api.features.inventory.InventoryService;
 import com.fika.api.features.products.dto.ProductRequest;
 import com.fika.api.features.products.dto.ProductResponse;
 import com.fika.api.features.products.model.Category;
 import com.fika.api.features.products.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,6 +47,16 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private InventoryService inventoryService;
+
+    @Spy
+    private ProductCatalogCache catalogCache = new ProductCatalogCache(new SimpleMeterRegistry(), 100, 100,
+            Duration.ofMinutes(1));
+
+    @Mock
+    private ProductCatalogIndex catalogIndex;
+
     @InjectMocks
     private ProductService productService;
 
@@ -92,7 +109,7 @@ class ProductServiceTest {
                 .willReturn(productPage);
         given(productMapper.toResponse(product)).willReturn(productResponse);
 
-        PagedResponse<ProductResponse> result = productService.getAllProducts(null, null, null, null, false, pageable);
+        PagedResponse<ProductResponse> result = productService.getAllProducts(null, null, null, null, false, pageable, true);
 
         assertThat(result.content()).hasSize(1);
         assertThat(result.content().getFirst()).isEqualTo(productResponse);
@@ -100,6 +117,39 @@ class ProductServiceTest {
         assertThat(result.pageSize()).isEqualTo(10);
     }
 
+    @Test
+    @DisplayName("Lister les produits : Sans comptage, la réponse n'a pas de totaux")
+    void getAllProductsWithoutCount() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Slice<Product> productSlice = new SliceImpl<>(Collections.singletonList(product), pageable, true);
+
+        given(productRepository.findSliceWithFilters(any(), any(), any(), any(), any(), eq(pageable)))
+                .willReturn(productSlice);
+        given(productMapper.toResponse(product)).willReturn(productResponse);
+
+        PagedResponse<ProductResponse> result = productService.getAllProducts(null, null, null, null, false, pageable, false);
+
+        assertThat(result.content()).containsExactly(productResponse);
+        assertThat(result.totalElements()).isNull();
+        assertThat(result.totalPages()).isNull();
+        assertThat(result.last()).isFalse();
+        verify(productRepository, never()).findWithFilters(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Lister les produits : L'index en mémoire évite la requête")
+    void getAllProductsFromIndex() {
+        Pageable pageable = PageRequest.of(0, 10);
+        PagedResponse<ProductResponse> indexed = new PagedResponse<>(List.of(productResponse), 0, 10, 1L, 1, true);
+        given(catalogIndex.find(any(), eq(pageable), eq(true))).willReturn(Optional.of(indexed));
+
+        PagedResponse<ProductResponse> result = productService.getAllProducts("café", null, null, null, true,
+                pageable, true);
+
+        assertThat(result).isEqualTo(indexed);
+        verifyNoInteractions(productRepository);
+    }
+
     @Test
     @DisplayName("Récupérer par ID : Succès")
     void getProductByIdSuccess() {
@@ -109,6 +159,31 @@ class ProductServiceTest {
         assertThat(result).isEqualTo(productResponse);
     }
 
+    @Test
+    @DisplayName("Récupérer par ID : Le second appel est servi par le cache")
+    void getProductByIdIsCached() {
+        given(productRepository.findById(productId)).willReturn(Optional.of(product));
+        given(productMapper.toResponse(product)).willReturn(productResponse);
+
+        productService.getProductById(productId);
+        productService.getProductById(productId);
+
+        verify(productRepository, times(1)).findById(productId);
+    }
+
+    @Test
+    @DisplayName("Récupérer par ID : La modification du produit invalide le cache")
+    void updateProductEvictsCachedProduct() {
+        given(productRepository.findById(productId)).willReturn(Optional.of(product));
+        given(productMapper.toResponse(product)).willReturn(productResponse);
+        productService.getProductById(productId);
+
+        productService.updateProduct(productRequest, productId);
+        productService.getProductById(productId);
+
+        verify(productRepository, times(3)).findById(productId);
+    }
+
     @Test
     @DisplayName("Récupérer par ID : Échec (non trouvé)")
     void getProductByIdFail() {
@@ -142,15 +217,15 @@ class ProductServiceTest {
     @Test
     @DisplayName("Supprimer un produit : Succès")
     void deleteProductSuccess() {
-        given(productRepository.existsById(productId)).willReturn(true);
+        given(productRepository.findById(productId)).willReturn(Optional.of(product));
         productService.deleteProduct(productId);
-        verify(productRepository).deleteById(productId);
+        verify(productRepository).delete(product);
     }
 
     @Test
     @DisplayName("Supprimer un produit : Échec (non trouvé)")
     void deleteProductFail() {
-        given(productRepository.existsById(productId)).willReturn(false);
+        given(productRepository.findById(productId)).willReturn(Optional.empty());
         assertThatThrownBy(() -> productService.deleteProduct(productId))
                 .isInstanceOf(ProductNotFoundException.class);
     }
@@ -159,31 +234,42 @@ class ProductServiceTest {
     @DisplayName("Mettre à jour le stock : Succès")
     void updateStockSuccess() {
         int newQuantity = 50;
-        given(productRepository.findById(productId)).willReturn(Optional.of(product));
-        given(productRepository.save(product)).willReturn(product);
+        product.setQuantity(newQuantity);
+        given(inventoryService.setStock(productId, newQuantity)).willReturn(product);
         given(productMapper.toResponse(product)).willReturn(new ProductResponse(productId, "Café Noir",
                 new BigDecimal("2.50"), "Description", "url", Category.ENTREE, newQuantity, true));
 
-        productService.updateStock(productId, newQuantity);
+        ProductResponse result = productService.updateStock(productId, newQuantity);
 
-        assertThat(product.getQuantity()).isEqualTo(newQuantity);
-        assertThat(product.isAvailable()).isTrue();
-        verify(productRepository).save(product);
+        assertThat(result.quantity()).isEqualTo(newQuantity);
+        assertThat(result.available()).isTrue();
+        verify(inventoryService).setStock(productId, newQuantity);
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
     @DisplayName("Mettre à jour le stock : Succès (épuisé)")
     void updateStockOutOfStock() {
         int newQuantity = 0;
-        given(productRepository.findById(productId)).willReturn(Optional.of(product));
-        given(productRepository.save(product)).willReturn(product);
+        product.setQuantity(newQuantity);
+        product.setAvailable(false);
+        given(inventoryService.setStock(productId, newQuantity)).willReturn(product);
         given(productMapper.toResponse(product)).willReturn(new ProductResponse(productId, "Café Noir",
                 new BigDecimal("2.50"), "Description", "url", Category.ENTREE, newQuantity, false));
 
-        productService.updateStock(productId, newQuantity);
+        ProductResponse result = productService.updateStock(productId, newQuantity);
 
-        assertThat(product.getQuantity()).isZero();
-        assertThat(product.isAvailable()).isFalse();
-        verify(productRepository).save(product);
+        assertThat(result.quantity()).isZero();
+        assertThat(result.available()).isFalse();
+        verify(inventoryService).setStock(productId, newQuantity);
+    }
+
+    @Test
+    @DisplayName("Mettre à jour le stock : Échec (non trouvé)")
+    void updateStockNotFound() {
+        given(inventoryService.setStock(productId, 5)).willThrow(new ProductNotFoundException(productId));
+
+        assertThatThrownBy(() -> productService.updateStock(productId, 5))
+                .isInstanceOf(ProductNotFoundException.class);
     }
 }
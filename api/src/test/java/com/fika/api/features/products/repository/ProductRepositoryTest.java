@@ -1,6 +1,9 @@
 package com.fika.api.features.products.repository;
 
+import com.fika.api.features.products.ProductCatalogCache.CatalogFilter;
+import com.fika.api.features.products.ProductCatalogIndex;
 import com.fika.api.features.products.ProductRepository;
+import com.fika.api.features.products.dto.ProductResponse;
 import com.fika.api.features.products.model.Category;
 import com.fika.api.features.products.model.Product;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,13 +14,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import com.fika.api.features.orders.repository.OrderRepository;
 import com.fika.api.features.orders.repository.OrderItemRepository;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -111,4 +118,69 @@ class ProductRepositoryTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getName()).isEqualTo("Sandwich Jambon");
     }
+
+    @Test
+    @DisplayName("Filter : La variante Slice détecte la page suivante sans comptage")
+    void findSliceWithFilters() {
+        Slice<Product> first = productRepository.findSliceWithFilters(null, null, null, null, true,
+                PageRequest.of(0, 3));
+        Slice<Product> second = productRepository.findSliceWithFilters(null, null, null, null, true,
+                PageRequest.of(1, 3));
+
+        assertThat(first).isNotInstanceOf(Page.class);
+        assertThat(first.getContent()).hasSize(3);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Stock : Décrémentation conditionnelle en une seule requête")
+    void decrementStockIsConditional() {
+        Product cafe = productRepository.findWithFilters("%caf%", null, null, null, null, PageRequest.of(0, 1))
+                .getContent().get(0);
+        Product cookie = productRepository.findWithFilters("%cookie%", null, null, null, null, PageRequest.of(0, 1))
+                .getContent().get(0);
+
+        int updated = productRepository.decrementStock(Map.of(cafe.getId(), 100, cookie.getId(), 60));
+
+        assertThat(updated).isEqualTo(1);
+        Product drainedCafe = productRepository.findById(cafe.getId()).orElseThrow();
+        assertThat(drainedCafe.getQuantity()).isZero();
+        assertThat(drainedCafe.isAvailable()).isFalse();
+        assertThat(productRepository.findById(cookie.getId()).orElseThrow().getQuantity()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Index : Mêmes pages et mêmes totaux que la requête JPQL")
+    void catalogIndexMatchesJpql() {
+        ProductCatalogIndex index = new ProductCatalogIndex(productRepository, true, Duration.ofMinutes(5));
+        index.reload();
+        List<CatalogFilter> filters = List.of(
+                new CatalogFilter(null, null, null, null, null),
+                new CatalogFilter("CAF", null, null, null, null),
+                new CatalogFilter(null, Category.PLAT, new BigDecimal("5.00"), new BigDecimal("7.00"), null),
+                new CatalogFilter(null, null, new BigDecimal("1.999"), null, true),
+                new CatalogFilter("a", Category.ENTREE, null, new BigDecimal("3"), false));
+        List<Pageable> pages = List.of(
+                PageRequest.of(0, 2, Sort.by("price")),
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "price")),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "quantity")));
+
+        for (CatalogFilter filter : filters) {
+            for (Pageable pageable : pages) {
+                String name = filter.name() != null ? "%" + filter.name() + "%" : null;
+                Page<Product> expected = productRepository.findWithFilters(name, filter.category(),
+                        filter.minPrice(), filter.maxPrice(), filter.onlyAvailable(), pageable);
+
+                var actual = index.find(filter, pageable, true).orElseThrow();
+
+                assertThat(actual.content()).extracting(ProductResponse::id)
+                        .as("%s %s", filter, pageable)
+                        .containsExactlyElementsOf(expected.map(Product::getId).getContent());
+                assertThat(actual.totalElements()).isEqualTo(expected.getTotalElements());
+                assertThat(actual.last()).isEqualTo(expected.isLast());
+            }
+        }
+    }
 }
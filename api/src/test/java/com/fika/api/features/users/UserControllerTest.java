@@ -56,6 +56,9 @@ class UserControllerTest {
     @MockitoBean
     private com.fika.api.core.config.RateLimitFilter rateLimitFilter;
 
+    @MockitoBean
+    private com.fika.api.core.config.LoadSheddingFilter loadSheddingFilter;
+
     @MockitoBean
     private com.fika.api.core.exceptions.JwtExceptionHandler jwtExceptionHandler;
 
@@ -111,7 +114,7 @@ class UserControllerTest {
     void getAllUsers() throws Exception {
         Page<UserResponse> userPage = new PageImpl<>(List.of(userResponse));
         PagedResponse<UserResponse> pagedResponse = PagedResponse.of(userPage);
-        given(userService.getAllUsers(any(Pageable.class))).willReturn(pagedResponse);
+        given(userService.getAllUsers(any(Pageable.class), anyBoolean())).willReturn(pagedResponse);
 
         mockMvc.perform(get("/api/v1/users"))
                 .andExpect(status().isOk())
@@ -18,6 +18,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
@@ -74,7 +75,7 @@ class UserServiceTest {
         given(userRepository.findAll(pageable)).willReturn(userPage);
         given(userMapper.toResponse(user)).willReturn(userResponse);
 
-        PagedResponse<UserResponse> result = userService.getAllUsers(pageable);
+        PagedResponse<UserResponse> result = userService.getAllUsers(pageable, true);
 
         assertThat(result.content()).hasSize(1);
         assertThat(result.content().get(0)).isEqualTo(userResponse);
@@ -82,6 +83,21 @@ class UserServiceTest {
         then(userRepository).should().findAll(pageable);
     }
 
+    @Test
+    @DisplayName("GetAll : Sans comptage, la page n'expose pas de total")
+    void getAllUsersWithoutCount() {
+        Pageable pageable = PageRequest.of(0, 10);
+        given(userRepository.findSliceBy(pageable)).willReturn(new SliceImpl<>(List.of(user), pageable, false));
+        given(userMapper.toResponse(user)).willReturn(userResponse);
+
+        PagedResponse<UserResponse> result = userService.getAllUsers(pageable, false);
+
+        assertThat(result.content()).containsExactly(userResponse);
+        assertThat(result.totalElements()).isNull();
+        assertThat(result.last()).isTrue();
+        then(userRepository).should(never()).findAll(pageable);
+    }
+
     @Test
     @DisplayName("GetOne : Succès si l'utilisateur existe")
     void getUserByIdSuccess() {